@@ -0,0 +1,112 @@
+/**
+ * @author Elijah Johnson
+ * @description Measures how much memory the cpu move generator
+ * allocates for each dictionary state it explores. The search reuses
+ * its buffers so the only allocation should be the fixed setup of
+ * each call, which comes out to about zero bytes per node
+ */
+
+package scrabble.bench;
+
+import scrabble.*;
+import scrabble.Dictionary;
+import scrabble.player.MoveGenerator;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+
+public class AllocationBenchmark {
+    private final static String LETTER_DIS
+            = "/default_letter_distributions.txt";
+    //Runs before measuring so the jit has compiled the search
+    private final static int WARMUP_RUNS = 20;
+    private final static int MEASURED_RUNS = 50;
+    //The smallest object is 16 bytes, so a search that allocates
+    //as it explores comes out well above this
+    private final static double MAX_BYTES_PER_NODE = 1.0;
+
+    /**
+     * Main method, runs the benchmark on every board in a file
+     * @param args the dictionary file, the board file in the command
+     *             line solver format and optionally -gaddag
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3
+                || (args.length == 3 && !args[2].equals("-gaddag"))) {
+            System.out.println("Usage: java AllocationBenchmark "
+                    + "[DICT FILE] [BOARD FILE] [-gaddag]");
+            return;
+        }
+        com.sun.management.ThreadMXBean threads
+                = (com.sun.management.ThreadMXBean)
+                ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            System.out.println("This jvm can not measure allocations");
+            return;
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+        DictionaryFactory.DictionaryType type = (args.length == 3
+                ? DictionaryFactory.DictionaryType.GADDAG
+                : DictionaryFactory.DictionaryType.PACKED_DAWG);
+        Dictionary dict = DictionaryFactory.loadDict(new File(args[0]), type);
+        TileManager manager = new TileManager();
+        try (BufferedReader letters = new BufferedReader(new InputStreamReader(
+                AllocationBenchmark.class.getResourceAsStream(LETTER_DIS)))) {
+            manager.initialize(letters);
+        }
+
+        boolean passed = true;
+        Scanner in = new Scanner(new File(args[1]));
+        long thread = Thread.currentThread().getId();
+        while (in.hasNext()) {
+            Board board = new Board();
+            if (!board.initialize(in, manager)) {
+                System.out.println("Board file is incorrect");
+                return;
+            }
+            String line = in.nextLine().toUpperCase();
+            List<Tile> tiles = new ArrayList<>();
+            for (int i = 0; i < line.length(); i++) {
+                tiles.add(new Tile(line.charAt(i),
+                        manager.getTileValue(line.charAt(i))));
+            }
+            Tray tray = new Tray();
+            tray.setTiles(tiles);
+            MoveGenerator generator = MoveGenerator.create(dict, tray);
+            for (int i = 0; i < WARMUP_RUNS; i++) {
+                search(generator, board);
+            }
+            long nodes = 0;
+            long before = threads.getThreadAllocatedBytes(thread);
+            for (int i = 0; i < MEASURED_RUNS; i++) {
+                nodes += search(generator, board);
+            }
+            long bytes = threads.getThreadAllocatedBytes(thread) - before;
+            double perNode = (nodes == 0 ? 0 : (double) bytes / nodes);
+            System.out.printf("%-10s %10d nodes %10d bytes %8.4f bytes/node%n",
+                    line, nodes / MEASURED_RUNS, bytes / MEASURED_RUNS,
+                    perNode);
+            if (perNode > MAX_BYTES_PER_NODE) {
+                passed = false;
+            }
+        }
+        if (!passed) {
+            System.out.println("The move generator allocates while searching");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Generates every move across and down the board
+     * @param generator the generator to run
+     * @param board the board to generate on
+     * @return how many nodes were explored
+     */
+    private static long search(MoveGenerator generator, Board board) {
+        generator.reset();
+        generator.calcMoves(board.getView(Board.ACROSS));
+        generator.calcMoves(board.getView(Board.DOWN));
+        return generator.getNodesExplored();
+    }
+}
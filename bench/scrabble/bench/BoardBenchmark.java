@@ -0,0 +1,109 @@
+/**
+ * @author Elijah Johnson
+ * @description JMH benchmark of the board work done for every turn,
+ * generating the cross checks of a position from nothing and scoring
+ * the legal moves of a rack
+ */
+
+package scrabble.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import scrabble.*;
+import scrabble.Dictionary;
+import scrabble.player.Move;
+import scrabble.player.MoveGenerator;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+@State(Scope.Thread)
+public class BoardBenchmark {
+    @Param({"empty", "mid", "crowded"})
+    public String stage;
+
+    private Dictionary dict;
+    private Board board;
+    private Board fresh;
+    //The legal moves of the rack in the coordinates of their views
+    private BoardView[] views;
+    private char[][] words;
+    private long[] blanks;
+    private int[] rows;
+    private int[] cols;
+    private int next;
+
+    /**
+     * Builds the dictionary and finds every legal move of the
+     * two blank rack of the board
+     * @throws IOException if the word list or corpus can not be read
+     */
+    @Setup
+    public void setUp() throws IOException {
+        dict = Corpus.build(DictionaryFactory.DictionaryType.PACKED_DAWG,
+                Corpus.words());
+        TileManager manager = Corpus.manager();
+        Corpus.Puzzle puzzle = Corpus.get(manager, stage, 2);
+        board = puzzle.getBoard();
+        Tray tray = new Tray();
+        tray.setTiles(puzzle.getTray(manager));
+        List<Move> moves = new ArrayList<>();
+        MoveGenerator generator = MoveGenerator.create(dict, tray);
+        generator.setMoveConsumer(moves::add);
+        generator.calcMoves(board.getView(Board.ACROSS));
+        generator.calcMoves(board.getView(Board.DOWN));
+        int n = moves.size();
+        views = new BoardView[n];
+        words = new char[n][];
+        blanks = new long[n];
+        rows = new int[n];
+        cols = new int[n];
+        for (int i = 0; i < n; i++) {
+            Move move = moves.get(i);
+            views[i] = board.getView(move.getOrientation());
+            boolean down = views[i].isDown();
+            words[i] = move.getWord().toUpperCase().toCharArray();
+            blanks[i] = move.getBlanks();
+            rows[i] = (down ? move.getCol() : move.getRow());
+            cols[i] = (down ? move.getRow() : move.getCol());
+        }
+    }
+
+    /**
+     * Copies the board so its cross checks have to be made again
+     */
+    @Setup(Level.Invocation)
+    public void copyBoard() {
+        fresh = new Board(board);
+    }
+
+    /**
+     * Generates the cross checks of both orientations
+     * @param hole takes the planes so they are not thrown away
+     */
+    @Benchmark
+    public void generateCrossChecks(Blackhole hole) {
+        hole.consume(fresh.getView(Board.ACROSS).generateCrossChecks(dict));
+        hole.consume(fresh.getView(Board.DOWN).generateCrossChecks(dict));
+    }
+
+    /**
+     * Scores the next legal move
+     * @return the score so it is not thrown away
+     */
+    @Benchmark
+    public int getValue() {
+        if (++next >= words.length) {
+            next = 0;
+        }
+        return views[next].getValue(words[next], 0, words[next].length,
+                blanks[next], rows[next], cols[next]);
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * @author Elijah Johnson
+ * @description Checks that the move cache keeps boards of different
+ * sizes and premium squares apart. Empty boards all have the same
+ * tile hash, so empty boards of every layout are solved with the same
+ * rack through one cache, twice each so the second pass is answered
+ * from the cache, and every move has to match a search without it
+ */
+
+package scrabble.bench;
+
+import scrabble.*;
+import scrabble.Dictionary;
+import scrabble.cache.MoveCache;
+import scrabble.player.CPUPlayer;
+
+import java.io.*;
+import java.util.*;
+
+public class CacheLayoutCheck {
+    private final static long CACHE_BYTES = 1 << 20;
+    private final static String[] RACKS = {"ZAX", "CAT"};
+
+    /**
+     * Main method, runs the check
+     * @param args the dictionary file
+     * @throws IOException if the dictionary can not be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.out.println("Usage: java CacheLayoutCheck [DICT FILE]");
+            return;
+        }
+        Dictionary dict = DictionaryFactory.loadDict(new File(args[0]));
+        TileManager manager = Corpus.manager();
+        List<String> layouts = new ArrayList<>();
+        layouts.add(readLayout());
+        layouts.add(emptyLayout(7, ".."));
+        layouts.add(emptyLayout(5, ".."));
+        layouts.add(emptyLayout(5, "3."));
+        MoveCache cache = new MoveCache(CACHE_BYTES);
+        boolean passed = true;
+        for (int pass = 0; pass < 2; pass++) {
+            for (String layout : layouts) {
+                for (String rack : RACKS) {
+                    int cached = solve(dict, manager, layout, rack, cache);
+                    int fresh = solve(dict, manager, layout, rack, null);
+                    if (cached != fresh) {
+                        System.out.println("Size " + layout.split("\n")[0]
+                                + " rack " + rack + " scored " + cached
+                                + " from the cache and " + fresh
+                                + " from a search");
+                        passed = false;
+                    }
+                }
+            }
+        }
+        System.out.println("Move cache: " + cache);
+        if (!passed) {
+            System.out.println("The move cache mixed up board layouts");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Solves an empty board
+     * @param dict the dictionary
+     * @param manager the tile manager with the tile values
+     * @param layout the board in the command line solver format
+     * @param rack the letters of the tray
+     * @param cache the cache to use, null to always search
+     * @return the score of the move played
+     */
+    private static int solve(Dictionary dict, TileManager manager,
+                             String layout, String rack, MoveCache cache) {
+        Board board = new Board();
+        if (!board.initialize(new Scanner(layout), manager)) {
+            throw new IllegalStateException("Layout is incorrect");
+        }
+        List<Tile> tiles = new ArrayList<>();
+        for (int i = 0; i < rack.length(); i++) {
+            tiles.add(new Tile(rack.charAt(i),
+                    manager.getTileValue(rack.charAt(i))));
+        }
+        CPUPlayer cpu = new CPUPlayer(manager, board, tiles);
+        cpu.setMoveCache(cache);
+        cpu.takeTurn(dict);
+        return cpu.getLastWordPlayedScore();
+    }
+
+    /**
+     * Reads the default board
+     * @return the board in the command line solver format
+     * @throws IOException if it can not be read
+     */
+    private static String readLayout() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        try (BufferedReader br = Corpus.resource("/default_board.txt")) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                sb.append(line).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Makes an empty board with a premium square row through the middle
+     * @param size the size of the board
+     * @param middle the square the middle row is made of
+     * @return the board in the command line solver format
+     */
+    private static String emptyLayout(int size, String middle) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(size).append('\n');
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                sb.append(j == 0 ? "" : " ")
+                        .append(i == size / 2 && j != size / 2
+                                ? middle : "..");
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
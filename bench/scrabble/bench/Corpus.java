@@ -0,0 +1,181 @@
+/**
+ * @author Elijah Johnson
+ * @description The positions the benchmarks are run on, read from a
+ * file in the command line solver format. The default corpus is made
+ * by CorpusBuilder and holds an empty, a mid game and a crowded board,
+ * each with a one blank and a two blank rack
+ */
+
+package scrabble.bench;
+
+import scrabble.*;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+
+public class Corpus {
+    /**
+     * Where the benchmarks look for their files, relative to the
+     * root of the repository
+     */
+    public static final String POSITIONS = "bench/positions.txt";
+    public static final String WORDS = "resources/sowpods.txt";
+
+    /**
+     * The stages of a game the corpus has a board for, in file order
+     */
+    public static final String[] STAGES = {"empty", "mid", "crowded"};
+
+    //Racks the corpus has for every board
+    private final static int RACKS_PER_BOARD = 2;
+    private final static String LETTER_DIS
+            = "/default_letter_distributions.txt";
+
+    /**
+     * A board and the tray of the player to move
+     */
+    public static class Puzzle {
+        private final Board board;
+        private final String rack;
+
+        /**
+         * Create a puzzle
+         * @param board the board
+         * @param rack the letters of the tray, '*' for blanks
+         */
+        Puzzle(Board board, String rack) {
+            this.board = board;
+            this.rack = rack;
+        }
+
+        /**
+         * Gets the board of the puzzle, callers that play on it
+         * should play on a copy
+         * @return the board
+         */
+        public Board getBoard() {
+            return board;
+        }
+
+        /**
+         * Gets the tiles of the tray
+         * @param manager the tile manager with the tile values
+         * @return new tiles for the rack
+         */
+        public List<Tile> getTray(TileManager manager) {
+            List<Tile> tiles = new ArrayList<>();
+            for (int i = 0; i < rack.length(); i++) {
+                char c = rack.charAt(i);
+                tiles.add(new Tile(c, manager.getTileValue(c)));
+            }
+            return tiles;
+        }
+    }
+
+    /**
+     * Only has static methods
+     */
+    private Corpus() {
+    }
+
+    /**
+     * Makes a tile manager with a full bag of the default tiles
+     * @return the tile manager
+     */
+    public static TileManager manager() {
+        TileManager manager = new TileManager();
+        try (BufferedReader letters = resource(LETTER_DIS)) {
+            manager.initialize(letters);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return manager;
+    }
+
+    /**
+     * Opens one of the resource files
+     * @param name the name of the resource
+     * @return a reader for the resource
+     */
+    public static BufferedReader resource(String name) {
+        return new BufferedReader(new InputStreamReader(
+                Corpus.class.getResourceAsStream(name)));
+    }
+
+    /**
+     * Reads every puzzle of a file
+     * @param file the file in the command line solver format
+     * @param manager the tile manager the boards score with
+     * @return the puzzles in file order
+     * @throws IOException if the file can not be read or is incorrect
+     */
+    public static List<Puzzle> read(File file, TileManager manager)
+            throws IOException {
+        List<Puzzle> puzzles = new ArrayList<>();
+        try (Scanner in = new Scanner(file)) {
+            while (in.hasNext()) {
+                Board board = new Board();
+                if (!board.initialize(in, manager)) {
+                    throw new IOException("Board file is incorrect");
+                }
+                puzzles.add(new Puzzle(board, in.nextLine().toUpperCase()));
+            }
+        }
+        return puzzles;
+    }
+
+    /**
+     * Gets the puzzle of the default corpus for a stage and rack
+     * @param manager the tile manager the board scores with
+     * @param stage one of STAGES
+     * @param blanks how many blanks the rack has, 1 or 2
+     * @return the puzzle
+     * @throws IOException if the corpus can not be read
+     */
+    public static Puzzle get(TileManager manager, String stage, int blanks)
+            throws IOException {
+        int index = -1;
+        for (int i = 0; i < STAGES.length; i++) {
+            if (STAGES[i].equals(stage)) {
+                index = i;
+            }
+        }
+        if (index == -1 || blanks < 1 || blanks > RACKS_PER_BOARD) {
+            throw new IllegalArgumentException("No puzzle for " + stage
+                    + " with " + blanks + " blanks");
+        }
+        return read(new File(POSITIONS), manager)
+                .get(index * RACKS_PER_BOARD + blanks - 1);
+    }
+
+    /**
+     * Reads the word list the dictionaries are built from
+     * @return the whole word list
+     * @throws IOException if it can not be read
+     */
+    public static String words() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        try (BufferedReader br = new BufferedReader(new FileReader(WORDS))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                sb.append(line).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Builds a dictionary from the word list
+     * @param type the kind of dictionary
+     * @param words the word list
+     * @return the dictionary
+     */
+    public static Dictionary build(DictionaryFactory.DictionaryType type,
+                                   String words) {
+        Dictionary dict = DictionaryFactory.createDict(type);
+        dict.insert(new BufferedReader(new StringReader(words)));
+        return dict;
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * @author Elijah Johnson
+ * @description Writes the positions the benchmarks run on. A game is
+ * played from a shuffled bag with a fixed seed by always playing the
+ * highest score, and the board is saved at the start, in the middle
+ * and once it is crowded. The blanks are kept out of the game so every
+ * saved board can get a one blank and a two blank rack, the racks the
+ * search is slowest on
+ */
+
+package scrabble.bench;
+
+import scrabble.*;
+import scrabble.Dictionary;
+import scrabble.player.Move;
+import scrabble.player.MoveGenerator;
+
+import java.io.*;
+import java.util.*;
+
+public class CorpusBuilder {
+    private final static long SEED = 351;
+    private final static String DEFAULT_BOARD = "/default_board.txt";
+    private final static int RACK_SIZE = 7;
+    //How many moves are played before each board is saved
+    private final static int[] SAVE_AFTER = {0, 8, 18};
+
+    /**
+     * Main method, writes the corpus
+     * @param args the dictionary file and the file to write
+     * @throws IOException if a file can not be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.out.println("Usage: java CorpusBuilder [DICT FILE] "
+                    + "[OUTPUT FILE]");
+            return;
+        }
+        Dictionary dict = MoveGenerator.searchable(
+                DictionaryFactory.loadDict(new File(args[0])));
+        TileManager manager = Corpus.manager();
+        Board board = new Board();
+        if (!board.initialize(Corpus.resource(DEFAULT_BOARD), manager)) {
+            System.out.println("Could not read the default board");
+            return;
+        }
+        //A bag that is the same every run, blanks only go in racks
+        List<Tile> bag = new ArrayList<>();
+        for (Tile t : manager.getUnseen(board, new ArrayList<>())) {
+            if (!t.isBlank()) {
+                bag.add(t);
+            }
+        }
+        Collections.shuffle(bag, new Random(SEED));
+        Deque<Tile> draws = new ArrayDeque<>(bag);
+        List<Tile> rack = new ArrayList<>();
+        int played = 0;
+        try (PrintWriter out = new PrintWriter(new FileWriter(args[1]))) {
+            for (int save : SAVE_AFTER) {
+                while (played < save) {
+                    refill(rack, draws, RACK_SIZE);
+                    if (!playHighest(dict, board, rack)) {
+                        System.out.println("Ran out of moves after "
+                                + played);
+                        return;
+                    }
+                    played++;
+                }
+                //The racks take their letters from the front of the bag
+                Iterator<Tile> next = draws.iterator();
+                StringBuilder letters = new StringBuilder();
+                while (letters.length() < RACK_SIZE - 1 && next.hasNext()) {
+                    letters.append(next.next().getCharacter());
+                }
+                for (int blanks = 1; blanks <= 2; blanks++) {
+                    out.println(board.getSize());
+                    out.println(board);
+                    out.println((blanks == 1 ? "*" : "**") + letters
+                            .substring(0, RACK_SIZE - blanks).toLowerCase());
+                }
+            }
+        }
+        System.out.println("Saved boards after " + Arrays.toString(SAVE_AFTER)
+                + " moves");
+    }
+
+    /**
+     * Draws tiles until a rack is full or the bag is empty
+     * @param rack the rack to fill
+     * @param draws the bag in draw order
+     * @param size how many tiles a full rack has
+     */
+    private static void refill(List<Tile> rack, Deque<Tile> draws, int size) {
+        while (rack.size() < size && !draws.isEmpty()) {
+            rack.add(draws.poll());
+        }
+    }
+
+    /**
+     * Plays the highest scoring move of a rack and takes its
+     * tiles out of the rack
+     * @param dict the dictionary to find moves in
+     * @param board the board to play on
+     * @param rack the tiles to play from
+     * @return false if there is no move
+     */
+    private static boolean playHighest(Dictionary dict, Board board,
+                                       List<Tile> rack) {
+        Tray tray = new Tray();
+        tray.setTiles(rack);
+        MoveGenerator generator = MoveGenerator.create(dict, tray);
+        generator.calcMoves(board.getView(Board.ACROSS));
+        generator.calcMoves(board.getView(Board.DOWN));
+        if (!generator.hasMove()) {
+            return false;
+        }
+        Move move = generator.getHighest();
+        List<Tile> tiles = move.pickTiles(rack);
+        //Playing the word takes the tiles out of the list it is given
+        for (Tile t : tiles) {
+            rack.remove(t);
+        }
+        board.playWord(move.getWord(), tiles, move.getStartPos(),
+                move.getEndPos());
+        return true;
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * @author Elijah Johnson
+ * @description JMH benchmark of looking words up in every kind of
+ * dictionary, half of the lookups are words and half are the same
+ * words backwards which mostly are not
+ */
+
+package scrabble.bench;
+
+import org.openjdk.jmh.annotations.*;
+import scrabble.DictNode;
+import scrabble.Dictionary;
+import scrabble.DictionaryFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+@State(Scope.Thread)
+public class DictionaryBenchmark {
+    //Lookups cycle through this many strings
+    private final static int LOOKUPS = 1 << 16;
+    private final static long SEED = 351;
+
+    @Param({"TRIE", "DAWG", "PACKED_DAWG", "GADDAG"})
+    public String type;
+
+    private Dictionary dict;
+    private String[] lookups;
+    private int next;
+
+    /**
+     * Builds the dictionary and picks the strings to look up
+     * @throws IOException if the word list can not be read
+     */
+    @Setup
+    public void setUp() throws IOException {
+        String words = Corpus.words();
+        dict = Corpus.build(DictionaryFactory.DictionaryType.valueOf(type),
+                words);
+        List<String> all = new ArrayList<>();
+        for (String word : words.split("\\s+")) {
+            if (!word.isEmpty()) {
+                all.add(word.toUpperCase());
+            }
+        }
+        Collections.shuffle(all, new Random(SEED));
+        lookups = new String[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            String word = all.get(i % all.size());
+            lookups[i] = (i % 2 == 0 ? word
+                    : new StringBuilder(word).reverse().toString());
+        }
+    }
+
+    /**
+     * Gets the next string to look up
+     * @return the string
+     */
+    private String nextLookup() {
+        next = (next + 1) & (LOOKUPS - 1);
+        return lookups[next];
+    }
+
+    /**
+     * Checks if a string is a word
+     * @return the answer so the lookup is not thrown away
+     */
+    @Benchmark
+    public boolean search() {
+        return dict.search(nextLookup());
+    }
+
+    /**
+     * Walks the nodes of a string one letter at a time from the root
+     * @return the last node reached so the walk is not thrown away
+     */
+    @Benchmark
+    public DictNode transition() {
+        String s = nextLookup();
+        DictNode node = dict.getRootNode();
+        for (int i = 0; i < s.length() && node != null; i++) {
+            node = node.transition(s.charAt(i));
+        }
+        return node;
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * @author Elijah Johnson
+ * @description JMH benchmark of building the dictionaries from the
+ * word list. Every build is timed on its own since one takes seconds
+ */
+
+package scrabble.bench;
+
+import org.openjdk.jmh.annotations.*;
+import scrabble.dawg.Dawg;
+import scrabble.trie.Trie;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+@State(Scope.Benchmark)
+public class DictionaryBuildBenchmark {
+    private String words;
+
+    /**
+     * Reads the word list once so only building is timed
+     * @throws IOException if the word list can not be read
+     */
+    @Setup
+    public void setUp() throws IOException {
+        words = Corpus.words();
+    }
+
+    /**
+     * Builds a dawg, it is minimized as the words go in
+     * @return the dawg so the build is not thrown away
+     */
+    @Benchmark
+    public Dawg dawgInsert() {
+        Dawg dawg = new Dawg();
+        dawg.insert(new BufferedReader(new StringReader(words)));
+        return dawg;
+    }
+
+    /**
+     * Builds a trie
+     * @return the trie so the build is not thrown away
+     */
+    @Benchmark
+    public Trie trieInsert() {
+        Trie trie = new Trie();
+        trie.insert(new BufferedReader(new StringReader(words)));
+        return trie;
+    }
+}
@@ -0,0 +1,193 @@
+/**
+ * @author Elijah Johnson
+ * @description Measures how long the endgame solver takes when both
+ * players hold seven tiles. The positions come from seeded games where
+ * both players play the highest score until the bag has seven tiles or
+ * less, the tiles left in it are put aside so the bag is empty. Every
+ * position is solved once so the jit has compiled the search, then
+ * solved again and timed
+ */
+
+package scrabble.bench;
+
+import scrabble.*;
+import scrabble.Dictionary;
+import scrabble.endgame.EndgameResult;
+import scrabble.endgame.EndgameSolver;
+import scrabble.player.Move;
+import scrabble.player.MoveGenerator;
+
+import java.io.*;
+import java.time.Duration;
+import java.util.*;
+
+public class EndgameBenchmark {
+    private final static String DEFAULT_BOARD = "/default_board.txt";
+    private final static int RACK_SIZE = 7;
+    private final static int DEFAULT_POSITIONS = 20;
+    private final static long DEFAULT_BUDGET = 1000;
+    //Games the position of a seed is looked for in before giving up
+    private final static int MAX_SEEDS = 1000;
+
+    /**
+     * A board where the bag is empty and the racks of both players
+     */
+    private static class Endgame {
+        private final long seed;
+        private final Board board;
+        private final List<Tile> tray;
+        private final List<Tile> opponent;
+
+        /**
+         * Create an endgame
+         * @param seed the seed of the game it came from
+         * @param board the board
+         * @param tray the tiles of the player to move
+         * @param opponent the tiles of the other player
+         */
+        Endgame(long seed, Board board, List<Tile> tray,
+                List<Tile> opponent) {
+            this.seed = seed;
+            this.board = board;
+            this.tray = tray;
+            this.opponent = opponent;
+        }
+    }
+
+    /**
+     * Main method, runs the benchmark
+     * @param args the dictionary file, and optionally how many
+     *             positions to solve and the budget of each in ms
+     * @throws IOException if the dictionary can not be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 3) {
+            System.out.println("Usage: java EndgameBenchmark "
+                    + "[DICT FILE] [Positions] [Budget ms]");
+            return;
+        }
+        Dictionary dict = MoveGenerator.searchable(
+                DictionaryFactory.loadDict(new File(args[0])));
+        int count = (args.length > 1 ? Integer.parseInt(args[1])
+                : DEFAULT_POSITIONS);
+        Duration budget = Duration.ofMillis(args.length > 2
+                ? Long.parseLong(args[2]) : DEFAULT_BUDGET);
+        String layout = readLayout();
+        List<Endgame> endgames = new ArrayList<>();
+        for (long seed = 0; endgames.size() < count && seed < MAX_SEEDS;
+             seed++) {
+            Endgame endgame = play(dict, layout, seed);
+            if (endgame != null) {
+                endgames.add(endgame);
+            }
+        }
+
+        EndgameSolver solver = new EndgameSolver(dict);
+        for (Endgame endgame : endgames) {
+            solver.solve(endgame.board, endgame.tray, endgame.opponent,
+                    budget);
+        }
+        List<Long> times = new ArrayList<>();
+        int[] depths = new int[endgames.size()];
+        int exact = 0;
+        for (int i = 0; i < endgames.size(); i++) {
+            Endgame endgame = endgames.get(i);
+            long start = System.nanoTime();
+            EndgameResult result = solver.solve(endgame.board, endgame.tray,
+                    endgame.opponent, budget);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            times.add(millis);
+            depths[i] = result.getDepth();
+            if (result.isExact()) {
+                exact++;
+            }
+            System.out.println("Seed " + endgame.seed + ": "
+                    + letters(endgame.tray) + " vs "
+                    + letters(endgame.opponent) + " " + result
+                    + " in " + millis + "ms");
+        }
+        Collections.sort(times);
+        Arrays.sort(depths);
+        System.out.println("Solved " + exact + " of " + endgames.size()
+                + " to the end of the game within " + budget.toMillis()
+                + "ms, median " + times.get(times.size() / 2)
+                + "ms, slowest " + times.get(times.size() - 1)
+                + "ms, median depth " + depths[depths.length / 2]
+                + " turns");
+    }
+
+    /**
+     * Plays a game with the highest score until the bag has no more
+     * than a rack left in it
+     * @param dict the dictionary to generate words from
+     * @param layout the default board
+     * @param seed the seed to draw tiles with
+     * @return the endgame, null if a player could not move first or
+     * a player ends up with less than a full rack
+     */
+    private static Endgame play(Dictionary dict, String layout, long seed) {
+        TileManager manager = Corpus.manager();
+        manager.setRandom(new Random(seed));
+        Board board = new Board();
+        if (!board.initialize(new BufferedReader(new StringReader(layout)),
+                manager)) {
+            throw new IllegalStateException("Default board is incorrect");
+        }
+        Tray[] trays = {new Tray(), new Tray()};
+        trays[0].setTiles(manager.drawTray(RACK_SIZE));
+        trays[1].setTiles(manager.drawTray(RACK_SIZE));
+        int player = 0;
+        while (manager.size() > RACK_SIZE) {
+            Tray tray = trays[player];
+            MoveGenerator generator = MoveGenerator.create(dict, tray);
+            generator.calcMoves(board.getView(Board.ACROSS));
+            generator.calcMoves(board.getView(Board.DOWN));
+            if (!generator.hasMove()) {
+                return null;
+            }
+            Move move = generator.getHighest();
+            List<Tile> played = move.pickTiles(tray.getTiles());
+            for (Tile t : played) {
+                tray.getTiles().removeIf(other -> other == t);
+            }
+            board.playWord(move.getWord(), new ArrayList<>(played),
+                    move.getStartPos(), move.getEndPos());
+            tray.redrawToSeven(manager);
+            player = 1 - player;
+        }
+        if (trays[0].size() != RACK_SIZE || trays[1].size() != RACK_SIZE) {
+            return null;
+        }
+        return new Endgame(seed, board, trays[player].getTiles(),
+                trays[1 - player].getTiles());
+    }
+
+    /**
+     * Gets the letters of a rack
+     * @param tiles the tiles
+     * @return the letters, '*' for blanks
+     */
+    private static String letters(List<Tile> tiles) {
+        StringBuilder sb = new StringBuilder();
+        for (Tile t : tiles) {
+            sb.append(t.isBlank() ? '*' : t.getCharacter());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Reads the default board
+     * @return the board in the command line solver format
+     * @throws IOException if it can not be read
+     */
+    private static String readLayout() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        try (BufferedReader br = Corpus.resource(DEFAULT_BOARD)) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                sb.append(line).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+}
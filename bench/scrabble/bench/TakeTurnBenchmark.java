@@ -0,0 +1,74 @@
+/**
+ * @author Elijah Johnson
+ * @description JMH benchmark of a whole cpu turn, finding and playing
+ * the best move, on the empty, mid game and crowded boards of the
+ * corpus with one and two blanks in the rack, with and without
+ * cutting anchors by their bounds
+ */
+
+package scrabble.bench;
+
+import org.openjdk.jmh.annotations.*;
+import scrabble.*;
+import scrabble.Dictionary;
+import scrabble.player.CPUPlayer;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+@State(Scope.Thread)
+public class TakeTurnBenchmark {
+    @Param({"empty", "mid", "crowded"})
+    public String stage;
+
+    @Param({"1", "2"})
+    public int blanks;
+
+    @Param({"PACKED_DAWG", "GADDAG"})
+    public String type;
+
+    @Param({"false", "true"})
+    public boolean prune;
+
+    private Dictionary dict;
+    private Corpus.Puzzle puzzle;
+    private CPUPlayer cpu;
+
+    /**
+     * Builds the dictionary and reads the puzzle
+     * @throws IOException if the word list or corpus can not be read
+     */
+    @Setup
+    public void setUp() throws IOException {
+        dict = Corpus.build(DictionaryFactory.DictionaryType.valueOf(type),
+                Corpus.words());
+        puzzle = Corpus.get(Corpus.manager(), stage, blanks);
+    }
+
+    /**
+     * Sets up a new player on a copy of the board, the turn
+     * plays its move on the board and draws from the bag
+     */
+    @Setup(Level.Invocation)
+    public void newPlayer() {
+        TileManager manager = Corpus.manager();
+        cpu = new CPUPlayer(manager, new Board(puzzle.getBoard()),
+                puzzle.getTray(manager));
+        cpu.setPruning(prune);
+    }
+
+    /**
+     * Takes a turn
+     * @return the score of the move so it is not thrown away
+     */
+    @Benchmark
+    public int takeTurn() {
+        cpu.takeTurn(dict);
+        return cpu.getLastWordPlayedScore();
+    }
+}
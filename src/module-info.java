@@ -5,7 +5,15 @@ module Scrabble {
     opens scrabble to javafx.fxml;
 
     exports scrabble.trie;
+    exports scrabble.cache;
     exports scrabble.dawg;
+    exports scrabble.endgame;
+    exports scrabble.engine;
+    exports scrabble.gaddag;
+    exports scrabble.leave;
+    exports scrabble.metrics;
+    exports scrabble.opening;
     exports scrabble.player;
+    exports scrabble.sim;
     exports scrabble;
 }
\ No newline at end of file
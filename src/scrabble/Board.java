@@ -7,28 +7,64 @@
 
 package scrabble;
 
-import javafx.scene.control.ChoiceDialog;
 import javafx.scene.layout.GridPane;
-import javafx.scene.layout.HBox;
-import javafx.scene.layout.Pane;
+import scrabble.metrics.Metrics;
+import scrabble.player.Move;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.util.*;
 
 public class Board {
+    /**
+     * Cross check mask of a square with no tiles above or below,
+     * bit i is set when 'A' + i can be played there
+     */
+    public static final int ALL_LETTERS = (1 << 26) - 1;
+
+    /**
+     * The orientations of the board, down moves are generated as
+     * across moves on the column major view
+     */
+    public static final int ACROSS = 0;
+    public static final int DOWN = 1;
+
+    /**
+     * The biggest board that can be read, a move keeps a bit
+     * for each of its letters in a long
+     */
+    public static final int MAX_SIZE = 64;
+
     private int size;
     private BoardSquare[][] tiles;
+    //The row major and column major views of the same squares
+    private BoardSquare[][][] squares;
+    private BoardView[] views;
     private boolean isEmpty;
-    private boolean isTransposed;
     private TileManager tileManager;
-    private Map<Position, Integer> crossSum;
-    private Set<Position> potentialAnchors;
+    //Move generation state kept between turns, indexed by orientation
+    //and then by row * size + col of that orientation's view
+    private int[][] crossChecks;
+    private int[][] crossSums;
+    private List<Set<Position>> anchors;
+    private boolean[][] anchorFlags;
+    private boolean anchorsValid;
+    //The sets of positions are only made from the flags when asked for
+    private boolean anchorSetsValid;
+    //Values of the letters A to Z for scoring without the tile manager
+    private int[] letterValues;
+    //Squares whose cross check is out of date and the dictionary
+    //the rest were checked with
+    private BitSet[] dirty;
+    private Dictionary[] crossCheckDicts;
     private Map<Tile, Position> overridden;
+    //Moves made with makeMove that can still be taken back
+    private Deque<Undo> undoStack;
+    //Zobrist hash of the played tiles
+    private long hash;
 
-    //GUI
-    private boolean initGui;
-    private GridPane board;
+    //GUI, null unless the board is shown
+    private BoardDisplay display;
 
     /**
      * Default values
@@ -38,9 +74,42 @@ public class Board {
         tiles = null;
         isEmpty = true;
         tileManager = null;
-        crossSum = new HashMap<>();
-        isTransposed = false;
-        initGui = false;
+        anchors = new ArrayList<>();
+        anchors.add(new HashSet<>());
+        anchors.add(new HashSet<>());
+        display = null;
+        overridden = new HashMap<>();
+        undoStack = new ArrayDeque<>();
+        hash = 0;
+    }
+
+    /**
+     * Copy a board without its display. The squares are copied so
+     * either board can be played on without changing the other, and
+     * the move generation state is copied so it is not worked out again
+     * @param other the board to copy
+     */
+    public Board(Board other) {
+        this();
+        size = other.size;
+        isEmpty = other.isEmpty;
+        hash = other.hash;
+        tileManager = other.tileManager;
+        tiles = new BoardSquare[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                tiles[i][j] = new BoardSquare(other.tiles[i][j]);
+            }
+        }
+        resetGenerationState();
+        for (int o = ACROSS; o <= DOWN; o++) {
+            crossChecks[o] = other.crossChecks[o].clone();
+            crossSums[o] = other.crossSums[o].clone();
+            anchorFlags[o] = other.anchorFlags[o].clone();
+            dirty[o] = (BitSet) other.dirty[o].clone();
+            crossCheckDicts[o] = other.crossCheckDicts[o];
+        }
+        anchorsValid = other.anchorsValid;
     }
 
     /**
@@ -50,11 +119,8 @@ public class Board {
      */
     public Board(GridPane board) {
         this();
-        this.board = board;
-        isTransposed = false;
         //Tell it to do the rest of the gui stuff
-        initGui = true;
-        overridden = new HashMap<>();
+        display = new BoardDisplay(this, board);
     }
 
     /**
@@ -67,6 +133,7 @@ public class Board {
     public boolean initialize(BufferedReader br, TileManager tileManager) {
         this.tileManager = tileManager;
         isEmpty = true;
+        hash = 0;
         overridden.clear();
         try {
             String line;
@@ -74,6 +141,10 @@ public class Board {
             //First line is size of board
             if (line != null) {
                 size = Integer.parseInt(line);
+                if (size < 1 || size > MAX_SIZE) {
+                    System.out.println("Board size must be 1 to " + MAX_SIZE);
+                    return false;
+                }
                 tiles = new BoardSquare[size][size];
             } else {
                 System.out.println("Need a size of the board");
@@ -90,9 +161,10 @@ public class Board {
             System.out.println("Could not open the board file");
             return false;
         }
+        resetGenerationState();
         //Initialize the gui if it is needed
-        if (initGui) {
-            initializeDisplay();
+        if (display != null) {
+            display.show();
         }
 
         return true;
@@ -139,6 +211,7 @@ public class Board {
                 isEmpty = false;
                 tiles[i][j] = new BoardSquare(new Tile(s.charAt(0),
                         score));
+                hash ^= Zobrist.square(i * size + j, s.charAt(0), score == 0);
                 j++;
             }
         }
@@ -152,9 +225,15 @@ public class Board {
      * @return true if it was able to initialize, otherwise false
      */
     public boolean initialize(Scanner in, TileManager manager) {
+        long start = Metrics.start();
         this.tileManager = manager;
+        isEmpty = true;
+        hash = 0;
         size = in.nextInt();
         in.nextLine();
+        if (size < 1 || size > MAX_SIZE) {
+            return false;
+        }
         tiles = new BoardSquare[size][size];
         String line;
         //Read in line by line up to size
@@ -164,26 +243,55 @@ public class Board {
                 return false;
             }
         }
-
+        resetGenerationState();
+        Metrics.stop(Metrics.Phase.PARSE, start);
         return true;
     }
 
     /**
-     * Initialize the display of the board for the gui
+     * Builds the column major view of the squares and throws away
+     * the cross checks, cross sums and anchors, they are all worked
+     * out again the next time they are needed
      */
-    private void initializeDisplay() {
-        board.getChildren().clear();
+    private void resetGenerationState() {
+        BoardSquare[][] columns = new BoardSquare[size][size];
         for (int i = 0; i < size; i++) {
             for (int j = 0; j < size; j++) {
-                //Get displays for each BoardSquare
-                Pane p = tiles[i][j].getDisplay();
-                GridPane.setRowIndex(p, i);
-                GridPane.setColumnIndex(p, j);
-                board.getChildren().add(p);
+                columns[j][i] = tiles[i][j];
             }
         }
-        //Add them all to the board
-        board.addEventHandler(DropEvent.DROP_EVENT, this::dropHandler);
+        squares = new BoardSquare[][][] {tiles, columns};
+        views = new BoardView[] {new BoardView(this, ACROSS, tiles),
+                new BoardView(this, DOWN, columns)};
+        crossChecks = new int[2][size * size];
+        crossSums = new int[2][size * size];
+        anchorFlags = new boolean[2][size * size];
+        letterValues = new int[26];
+        for (char c = 'A'; c <= 'Z'; c++) {
+            letterValues[c - 'A'] = tileManager.getTileValue(c);
+        }
+        dirty = new BitSet[] {new BitSet(size * size), new BitSet(size * size)};
+        crossCheckDicts = new Dictionary[2];
+        anchorsValid = false;
+    }
+
+    /**
+     * Gets a view of the board for generating moves in one
+     * direction. The down view is the board with rows and columns
+     * switched, so down moves are made as across moves on it
+     * @param orientation ACROSS or DOWN
+     * @return the view for the orientation
+     */
+    public BoardView getView(int orientation) {
+        return views[orientation];
+    }
+
+    /**
+     * Gets the tile manager used to score the board
+     * @return the tile manager
+     */
+    public TileManager getTileManager() {
+        return tileManager;
     }
 
     /**
@@ -205,6 +313,15 @@ public class Board {
         return tiles[row][col].isEmpty();
     }
 
+    /**
+     * Check if no word has been played yet, the only anchor
+     * is then the middle square
+     * @return true if the board has no tiles
+     */
+    public boolean isEmpty() {
+        return isEmpty;
+    }
+
     /**
      * Get the tile at the row and col
      * @param row the row of the board
@@ -227,6 +344,8 @@ public class Board {
                             Position end) {
         //Check if the word will be played across or down
         boolean across = (start.getRow() == end.getRow());
+        boolean wasEmpty = isEmpty;
+        List<Position> played = new ArrayList<>();
         int j;
         Position current = new Position(start);
         //Walk through the word one char at a time
@@ -249,7 +368,7 @@ public class Board {
                         if(tiles.get(j).getCharacter() == word.charAt(i)
                                 || tiles.get(j).isBlank()) {
                             toPlay = tiles.get(j);
-                            if (initGui) {
+                            if (display != null) {
                                 toPlay.unHide();
                                 toPlay.changeBlankText(word.charAt(i));
                             }
@@ -267,13 +386,11 @@ public class Board {
                 int col = current.getCol();
                 //Play tile
                 this.tiles[row][col].playTile(toPlay);
-                if (initGui) {
-                    Pane p = this.tiles[row][col].getDisplay();
-                    GridPane.setColumnIndex(p, col);
-                    GridPane.setRowIndex(p, row);
-                    if (!board.getChildren().contains(p)) {
-                        board.getChildren().set(row * size + col, p);
-                    }
+                hash ^= Zobrist.square(row * size + col, toPlay.getCharacter(),
+                        toPlay.isBlank());
+                played.add(new Position(row, col));
+                if (display != null) {
+                    display.showSquare(row, col);
                 }
                 //If it is across play
                 if (across) {
@@ -295,11 +412,16 @@ public class Board {
             }
         }
         isEmpty = false;
+        if (wasEmpty) {
+            //The middle square stops being the only anchor
+            anchorsValid = false;
+        }
+        squaresChanged(played, null);
         if (ScrabbleGui.DEBUG_PRINT) {
             System.out.println(this);
         }
 
-        if (initGui) {
+        if (display != null) {
             overridden.clear();
         }
         //Played successfully
@@ -307,29 +429,310 @@ public class Board {
     }
 
     /**
-     * Get the squares that can be played off of,
-     * the anchor squares
-     * @return the set of positions that a play can be started from
+     * Plays a move so it can be taken back with unmakeMove. New tiles
+     * are made for the letters it places, blanks are worth nothing
+     * @param move the move to play, it has to be legal on this board
      */
-    public Set<Position> getPotentialAnchorSquares() {
-        potentialAnchors = new HashSet<>();
-        //If it is empty the only anchor is the middle square
-        if (isEmpty) {
-            potentialAnchors.add(new Position(size / 2, size / 2));
-            return potentialAnchors;
+    public void makeMove(Move move) {
+        int count = Long.bitCount(move.getPlaced());
+        Undo undo = new Undo(count, isEmpty, hash, crossCheckDicts);
+        List<Position> played = new ArrayList<>(count);
+        int across = (move.getOrientation() == ACROSS ? 1 : 0);
+        for (int i = 0; i < move.getLength(); i++) {
+            if (!move.isPlaced(i)) {
+                continue;
+            }
+            int row = move.getRow() + i * (1 - across);
+            int col = move.getCol() + i * across;
+            BoardSquare square = tiles[row][col];
+            char c = move.getWord().charAt(i);
+            int n = played.size();
+            undo.squares[n] = row * size + col;
+            undo.wordMultipliers[n] = square.getWordMultiplier();
+            undo.letterMultipliers[n] = square.getLetterMultiplier();
+            square.playTile(new Tile(c, move.isBlank(i) ? 0
+                    : letterValues[c - 'A']));
+            hash ^= Zobrist.square(row * size + col, c, move.isBlank(i));
+            played.add(new Position(row, col));
+        }
+        undoStack.push(undo);
+        isEmpty = false;
+        if (undo.wasEmpty) {
+            //The middle square stops being the only anchor
+            anchorsValid = false;
+        }
+        squaresChanged(played, undo);
+    }
+
+    /**
+     * Takes back the last move played with makeMove. The squares get
+     * their multipliers back, and the cross checks the move made out
+     * of date get the values they had before it so they are not
+     * checked against the dictionary again
+     */
+    public void unmakeMove() {
+        Undo undo = undoStack.pop();
+        List<Position> removed = new ArrayList<>(undo.squares.length);
+        for (int i = 0; i < undo.squares.length; i++) {
+            int row = undo.squares[i] / size;
+            int col = undo.squares[i] % size;
+            tiles[row][col].removeTile(undo.wordMultipliers[i],
+                    undo.letterMultipliers[i]);
+            removed.add(new Position(row, col));
+        }
+        isEmpty = undo.wasEmpty;
+        hash = undo.hash;
+        if (undo.wasEmpty) {
+            //Only the middle square is an anchor again
+            anchorsValid = false;
+        }
+        if (restoreCrossChecks(undo)) {
+            for (Position p : removed) {
+                updateAnchors(p.getRow(), p.getCol());
+            }
+        } else {
+            squaresChanged(removed, null);
+        }
+    }
+
+    /**
+     * Puts back the cross checks a move made out of date
+     * @param undo the record of the move
+     * @return false if they were checked with another dictionary
+     * since, then nothing is put back
+     */
+    private boolean restoreCrossChecks(Undo undo) {
+        if (crossCheckDicts[ACROSS] != undo.dicts[ACROSS]
+                || crossCheckDicts[DOWN] != undo.dicts[DOWN]) {
+            return false;
         }
-        //Loop through all of the tiles and check
-        //if any adjacent squares are filled
+        int area = size * size;
+        for (int i = 0; i < undo.cached; i++) {
+            int orientation = undo.cachedSquares[i] / area;
+            int index = undo.cachedSquares[i] % area;
+            crossChecks[orientation][index] = undo.cachedChecks[i];
+            crossSums[orientation][index] = undo.cachedSums[i];
+            dirty[orientation].set(index, undo.cachedDirty[i]);
+        }
+        return true;
+    }
+
+    /**
+     * Gets the Zobrist hash of the tiles on the board, boards with
+     * the same tiles on the same squares hash the same
+     * @return the hash, 0 for an empty board
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Gets the Zobrist hash of the board and a rack together
+     * @param rack the rack of the player to move
+     * @return the hash of both
+     */
+    public long getHash(Rack rack) {
+        return hash ^ rack.getHash();
+    }
+
+    /**
+     * Gets a hash of what scores a move on this board, the premium
+     * squares and the tile values. Squares lose their premium once a
+     * tile is on them so only empty boards hash the same as the layout
+     * @return the hash of the layout
+     */
+    public long getLayoutHash() {
+        long layout = size;
         for (int i = 0; i < size; i++) {
             for (int j = 0; j < size; j++) {
-                if (anyAdjacentFilled(i, j)) {
-                    //Add to set if a play can be started here
-                    potentialAnchors.add(new Position(i, j));
+                layout = layout * 31 + tiles[i][j].getWordMultiplier();
+                layout = layout * 31 + tiles[i][j].getLetterMultiplier();
+            }
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            layout = layout * 31 + tileManager.getTileValue(c);
+        }
+        return layout;
+    }
+
+    /**
+     * Get the squares that can be played off of,
+     * the anchor squares. They are kept up to date as words are
+     * played so this does not scan the board, and the sets are only
+     * made again when an anchor changed since they were last made
+     * @param orientation the orientation the positions are for
+     * @return the set of positions that a play can be started from,
+     * it is read only
+     */
+    synchronized Set<Position> getPotentialAnchorSquares(int orientation) {
+        if (!anchorsValid) {
+            long start = Metrics.start();
+            findAnchorSquares();
+            Metrics.stop(Metrics.Phase.ANCHORS, start);
+        }
+        if (!anchorSetsValid) {
+            for (int o = ACROSS; o <= DOWN; o++) {
+                anchors.get(o).clear();
+                for (int i = 0; i < size * size; i++) {
+                    if (anchorFlags[o][i]) {
+                        anchors.get(o).add(new Position(i / size, i % size));
+                    }
+                }
+            }
+            anchorSetsValid = true;
+        }
+        return Collections.unmodifiableSet(anchors.get(orientation));
+    }
+
+    /**
+     * Scans the whole board for anchor squares for both orientations
+     */
+    private void findAnchorSquares() {
+        Arrays.fill(anchorFlags[ACROSS], false);
+        Arrays.fill(anchorFlags[DOWN], false);
+        anchorSetsValid = false;
+        //If it is empty the only anchor is the middle square
+        if (isEmpty) {
+            setAnchor(size / 2, size / 2, true);
+        } else {
+            //Loop through all of the tiles and check
+            //if any adjacent squares are filled
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < size; j++) {
+                    if (anyAdjacentFilled(i, j)) {
+                        //Add to set if a play can be started here
+                        setAnchor(i, j, true);
+                    }
                 }
             }
         }
-        //Return the set
-        return potentialAnchors;
+        anchorsValid = true;
+    }
+
+    /**
+     * Checks again if a single square is an anchor
+     * @param row the row of the square
+     * @param col the col of the square
+     */
+    private void updateAnchor(int row, int col) {
+        if (row < 0 || row >= size || col < 0 || col >= size) {
+            return;
+        }
+        setAnchor(row, col, anyAdjacentFilled(row, col));
+    }
+
+    /**
+     * Sets if a square is an anchor in both orientations
+     * @param row the row of the square
+     * @param col the col of the square
+     * @param anchor whether it is an anchor
+     */
+    private void setAnchor(int row, int col, boolean anchor) {
+        anchorFlags[ACROSS][row * size + col] = anchor;
+        anchorFlags[DOWN][col * size + row] = anchor;
+        anchorSetsValid = false;
+    }
+
+    /**
+     * Check if a square is an anchor without making a position
+     * @param orientation the orientation row and col are in
+     * @param row the row of the view
+     * @param col the col of the view
+     * @return true if a play can be started there
+     */
+    boolean isAnchor(int orientation, int row, int col) {
+        if (!anchorsValid) {
+            getPotentialAnchorSquares(orientation);
+        }
+        return anchorFlags[orientation][row * size + col];
+    }
+
+    /**
+     * Updates the state kept for move generation after squares have
+     * been filled or emptied. Only the ends of the runs of tiles
+     * through those squares get new cross checks, and only the
+     * squares and their neighbours can change anchors
+     * @param changed the squares that were filled or emptied
+     * @param undo where to save the cross checks made out of date,
+     *             null if they are not going to be put back
+     */
+    private void squaresChanged(List<Position> changed, Undo undo) {
+        for (Position p : changed) {
+            int row = p.getRow();
+            int col = p.getCol();
+            markDirty(ACROSS, row, col, undo);
+            markDirty(DOWN, row, col, undo);
+            //The squares past the ends of the run down the column
+            //are checked for moves across
+            int i = row - 1;
+            while (i >= 0 && !isEmpty(i, col)) {
+                i--;
+            }
+            if (i >= 0) {
+                markDirty(ACROSS, i, col, undo);
+            }
+            i = row + 1;
+            while (i < size && !isEmpty(i, col)) {
+                i++;
+            }
+            if (i < size) {
+                markDirty(ACROSS, i, col, undo);
+            }
+            //The squares past the ends of the run along the row
+            //are checked for moves down
+            i = col - 1;
+            while (i >= 0 && !isEmpty(row, i)) {
+                i--;
+            }
+            if (i >= 0) {
+                markDirty(DOWN, row, i, undo);
+            }
+            i = col + 1;
+            while (i < size && !isEmpty(row, i)) {
+                i++;
+            }
+            if (i < size) {
+                markDirty(DOWN, row, i, undo);
+            }
+            updateAnchors(row, col);
+        }
+    }
+
+    /**
+     * Checks again if a square and its neighbours are anchors
+     * after the square was filled or emptied
+     * @param row the row of the square
+     * @param col the col of the square
+     */
+    private void updateAnchors(int row, int col) {
+        if (anchorsValid) {
+            updateAnchor(row, col);
+            updateAnchor(row - 1, col);
+            updateAnchor(row + 1, col);
+            updateAnchor(row, col - 1);
+            updateAnchor(row, col + 1);
+        }
+    }
+
+    /**
+     * Marks the cross check of a square as out of date
+     * @param orientation the orientation the cross check is for
+     * @param row the row of the square
+     * @param col the col of the square
+     * @param undo where to save the cross check first, null to not
+     */
+    private void markDirty(int orientation, int row, int col, Undo undo) {
+        int index = (orientation == ACROSS ? row * size + col
+                : col * size + row);
+        if (undo != null) {
+            //Nothing checks it again before the move is done
+            //so this is still the value from before the move
+            undo.save(orientation * size * size + index,
+                    crossChecks[orientation][index],
+                    crossSums[orientation][index],
+                    dirty[orientation].get(index));
+        }
+        dirty[orientation].set(index);
     }
 
     /**
@@ -373,106 +776,50 @@ public class Board {
     }
 
     /**
-     * Adds a set of valid characters to the cross check set
-     * that can be played at row and col on the board
-     * @param crossCheck the Map of squares on the board to sets of valid
-     *                   characters
-     * @param row the current row we are cross checking
-     * @param col the current col we are cross checking
-     * @param dict the dictionary of valid words
-     * @param prefix whether we are looking at prefix or suffix
-     * @return the value of the cross check letters
-     */
-    private int addToCrossCheck(Map<Integer, Set<Character>> crossCheck,
-                                int row,
-                                int col,
-                                Dictionary dict,
-                                boolean prefix) {
-        //Build prefix or suffix based on if prefix is true
-        String string = (prefix ? buildPrefixString(row, col)
-                : buildSuffixString(row, col));
-        StringBuilder actual = new StringBuilder();
-        //Keep two strings, one with actual letters one with * as blanks
-        if (string.contains("*")) {
-            if (prefix) {
-                for (int i = 0; i < string.length(); i++) {
-                    if (string.charAt(i) == '*') {
-                        actual.append(tiles[row - (i + 1)][col]
-                                .getTileCharacter());
-                    } else {
-                        actual.append(string.charAt(i));
-                    }
-                }
-            } else {
-                for (int i = 0; i < string.length(); i++) {
-                    if (string.charAt(i) == '*') {
-                        actual.append(tiles[row + (i + 1)][col]
-                                .getTileCharacter());
-                    } else {
-                        actual.append(string.charAt(i));
-                    }
-                }
-            }
-        } else {
-            actual = new StringBuilder(string);
-        }
-
-        Set<Character> c = new HashSet<>();
-        //Check all the letters in the alphabet
-        for (char alphabet = 'A'; alphabet <= 'Z'; alphabet++) {
-            //if the string + alphabet or alphabet + string is
-            //in the dict add it to the set of valid letters
-            if (prefix) {
-                if (dict.search(actual.toString() + alphabet)) {
-                    c.add(alphabet);
-                }
-            } else {
-                if (dict.search(alphabet + actual.toString())) {
-                    c.add(alphabet);
-                }
-            }
-        }
-        //Add it to the map, calculate the square number from col
-        //row and size
-        crossCheck.put(row * size + col, c);
-        //Return the value of the letters that are prefixed or suffixed
-        return tileManager.getValue(string);
+     * Gets the bit for a letter in a cross check mask
+     * @param c the letter from A to Z
+     * @return the mask with only the bit for c set
+     */
+    public static int letterBit(char c) {
+        return 1 << (c - 'A');
     }
 
     /**
-     * Generates a map of square numbers to set of characters
-     * that represent valid characters for that square when
-     * making a move across
+     * Gets the cross check plane of an orientation, one mask per
+     * square indexed by row * size + col of its view, bit i of a mask
+     * is set if 'A' + i is a valid character for that square when
+     * making a move along the rows of the view.
+     * The plane is kept between calls and only squares changed by
+     * played words are checked again, unless dict is a different
+     * dictionary than last time
      * @param dict the dictionary of valid words
-     * @return the set of map of squares to sets of characters that
-     * represent valid plays for that square
+     * @param current the orientation to get the plane of
+     * @return the cross check plane, squares with nothing above or
+     * below are ALL_LETTERS. It is owned by the board
      */
-    public Map<Integer, Set<Character>> generateCrossChecks(Dictionary dict) {
-        //Reset cross sums to be recalculated
-        this.crossSum.clear();
-        Map<Integer, Set<Character>> crossCheckMap = new HashMap<>();
-        if (isEmpty) {
-            //No cross checks can be generated
-            return crossCheckMap;
+    synchronized int[] generateCrossChecks(Dictionary dict, int current) {
+        long start = Metrics.start();
+        if (crossCheckDicts[current] != dict) {
+            //Every square needs to be checked with the new dictionary
+            crossCheckDicts[current] = dict;
+            dirty[current].set(0, size * size);
         }
-        int crossSum;
-        //Loop through the whole board
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                //Check the tile to see if a cross check needs to be
-                //generated. Calculates crossSum at the same time
-                crossSum = checkTiles(dict, crossCheckMap, i, j);
-                if (crossSum != -1) {
-                    //Add the cross sum for this position to the cross sum map
-                    this.crossSum.put(new Position(i, j), crossSum);
-                }
-            }
+        int[] crossCheckMap = crossChecks[current];
+        BitSet toCheck = dirty[current];
+        for (int i = toCheck.nextSetBit(0); i >= 0; i = toCheck.nextSetBit(i + 1)) {
+            //Check the tile to see if a cross check needs to be
+            //generated. Calculates crossSum at the same time
+            int crossSum = checkTiles(dict, squares[current], crossCheckMap,
+                    i / size, i % size);
+            crossSums[current][i] = Math.max(crossSum, 0);
         }
+        toCheck.clear();
 
         if (ScrabbleGui.DEBUG_PRINT) {
-            System.out.println(this.crossSum);
+            System.out.println(Arrays.toString(crossSums[current]));
         }
-        //Return the map
+        Metrics.stop(Metrics.Phase.CROSS_CHECKS, start);
+        //Return the plane
         return crossCheckMap;
     }
 
@@ -480,118 +827,191 @@ public class Board {
      * Check if we should add to the cross check
      * for this position
      * @param dict the dictionary of valid words
-     * @param crossCheckMap the map of cross checks to add to if needed
+     * @param view the squares of the orientation being checked
+     * @param crossCheckMap the cross check plane to add to if needed
      * @param row the current row we are on
      * @param col the current col we are on
      * @return the cross sum value if the cross check was added
      * otherwise -1
      */
     private int checkTiles(Dictionary dict,
-                           Map<Integer, Set<Character>> crossCheckMap,
+                           BoardSquare[][] view,
+                           int[] crossCheckMap,
                            int row,
                            int col) {
-        //If there is a tile above and below
-        if (isBelow(row, col) && isAbove(row, col) && isEmpty(row, col)) {
-            //Get prefix and suffix
-            String prefix = buildPrefixString(row, col);
-            String suffix = buildSuffixString(row, col);
-            Set<Character> c = new HashSet<>();
-            //Check all the letters of the alphabet
-            for (char alphabet = 'A'; alphabet <= 'Z'; alphabet++) {
-                if (dict.search(prefix + alphabet + suffix)) {
-                    c.add(alphabet);
-                }
-            }
-            //Add to the cross check map
-            crossCheckMap.put(row * size + col, c);
-            //Return the value of prefix and suffix
-            int prefixValue = tileManager.getValue(prefix);
-            return prefixValue + tileManager.getValue(suffix);
+        //Only empty squares with a tile above or below are checked
+        if (!isBelow(view, row, col) && !isAbove(view, row, col)) {
+            crossCheckMap[row * size + col] = ALL_LETTERS;
+            return -1;
         }
-        else if (isBelow(row, col) && isEmpty(row, col)) {
-            //Add to the cross check for the prefix
-            return addToCrossCheck(crossCheckMap, row, col, dict, true);
+        //The dictionary walks the prefix once and tries each
+        //letter leaving it with the suffix
+        crossCheckMap[row * size + col] = dict.crossCheck(
+                buildPrefixString(view, row, col),
+                buildSuffixString(view, row, col));
+        //Return the value of prefix and suffix
+        return getColumnValue(view, row, col);
+    }
+
+    /**
+     * Gets the value of the tiles above and below a square
+     * that are connected to it, blanks are worth nothing
+     * @param view the squares of the orientation
+     * @param row the row of the square
+     * @param col the col of the square
+     * @return the sum of the tile scores
+     */
+    private int getColumnValue(BoardSquare[][] view, int row, int col) {
+        int value = 0;
+        for (int i = row - 1; i >= 0 && !view[i][col].isEmpty(); i--) {
+            value += view[i][col].getTile().getScore();
         }
-        else if (isAbove(row, col) && isEmpty(row, col)) {
-            //Add to the cross check for the suffix
-            return addToCrossCheck(crossCheckMap, row, col, dict, false);
+        for (int i = row + 1; i < size && !view[i][col].isEmpty(); i++) {
+            value += view[i][col].getTile().getScore();
         }
-        return -1;
+        return value;
     }
 
     /**
-     * Gets the value of a move based on a position
+     * Gets the value of a move based on a position, the cross checks
+     * of the orientation need to have been generated
      * @param word the word that is being evaluated
      * @param move the list of tiles that represents the move
-     * @param start the start position for the move
+     * @param start the start position for the move in the view
+     * @param orientation the orientation of the move
      * @return the value of the move
      */
-    public int getValue(String word, List<Tile> move, Position start) {
+    int getValue(String word, List<Tile> move, Position start,
+                 int orientation) {
+        BoardSquare[][] view = squares[orientation];
         List<Tile> moveCopy = new ArrayList<>(move);
-        int sum = 0;
-        int crossSum = 0;
-        int currentCrossSum = 0;
+        long blanks = 0;
         int j;
-        int wordMultiplier = 1;
-        Position current = new Position(start);
-        //Loop through word
+        //Work out which letters of the word are played with blanks
         for (int i = 0; i < word.length(); i++) {
+            if (!view[start.getRow()][start.getCol() + i].isEmpty()) {
+                continue;
+            }
             Tile currentTile = null;
             //Get the tile that is the letter of the current word
             //Remove it from the copy of move
-            if (tiles[current.getRow()][current.getCol()].isEmpty()) {
+            for (j = 0; j < moveCopy.size(); j++) {
+                if (moveCopy.get(j).getCharacter() == word.charAt(i)) {
+                    currentTile = moveCopy.get(j);
+                    break;
+                }
+            }
+            //If we didnt find one look for blanks
+            if (currentTile == null) {
                 for (j = 0; j < moveCopy.size(); j++) {
-                    if (moveCopy.get(j).getCharacter() == word.charAt(i)) {
+                    if (moveCopy.get(j).isBlank()) {
                         currentTile = moveCopy.get(j);
                         break;
                     }
                 }
-                if (j < moveCopy.size()) {
-                    moveCopy.remove(j);
-                }
-                //If we didnt find one look for blanks
-                if (currentTile == null) {
-                    for (j = 0; j < moveCopy.size(); j++) {
-                        if (moveCopy.get(j).isBlank()) {
-                            currentTile = moveCopy.get(j);
-                            break;
-                        }
-                    }
-                    if (j < moveCopy.size()) {
-                        moveCopy.remove(j);
-                    }
-                }
-                int letterMult = tiles[current.getRow()][current.getCol()]
-                        .getLetterMultiplier();
-                int wordMult = tiles[current.getRow()][current.getCol()]
-                        .getWordMultiplier();
+            }
+            if (j < moveCopy.size()) {
+                moveCopy.remove(j);
+            }
+            if (currentTile != null && currentTile.isBlank()) {
+                blanks |= 1L << i;
+            }
+        }
+        return getValue(word, blanks, start, orientation);
+    }
+
+    /**
+     * Gets the value of a move based on a position, the cross checks
+     * of the orientation need to have been generated
+     * @param word the word that is being evaluated
+     * @param blanks bit i is set if the i'th letter of the word is
+     *               played with a blank
+     * @param start the start position for the move in the view
+     * @param orientation the orientation of the move
+     * @return the value of the move
+     */
+    int getValue(String word, long blanks, Position start, int orientation) {
+        return getValue(word.toCharArray(), 0, word.length(), blanks,
+                start.getRow(), start.getCol(), orientation);
+    }
+
+    /**
+     * Gets the cross sums of an orientation, the value of the tiles
+     * above and below each square or 0 if there are none. The cross
+     * checks of the orientation need to have been generated
+     * @param orientation the orientation to get the sums of
+     * @return the sums indexed by row * size + col of the view, they
+     * are owned by the board
+     */
+    int[] getCrossSums(int orientation) {
+        return crossSums[orientation];
+    }
+
+    /**
+     * Gets what a letter is worth when it is not a blank
+     * @param c the letter from A to Z
+     * @return the value of the letter
+     */
+    int getLetterValue(char c) {
+        return letterValues[c - 'A'];
+    }
+
+    /**
+     * Gets the value of a move without creating any objects, the
+     * cross checks of the orientation need to have been generated
+     * @param word the buffer holding the word
+     * @param offset the index of the first letter in word
+     * @param length the length of the word
+     * @param blanks bit i is set if letter offset + i is played
+     *               with a blank
+     * @param row the row of the move in the view
+     * @param col the col of the first letter in the view
+     * @param orientation the orientation of the move
+     * @return the value of the move
+     */
+    int getValue(char[] word, int offset, int length, long blanks,
+                 int row, int col, int orientation) {
+        BoardSquare[] line = squares[orientation][row];
+        boolean[] anchorLine = anchorFlags[orientation];
+        int[] crossSumLine = crossSums[orientation];
+        int sum = 0;
+        int crossSum = 0;
+        int currentCrossSum;
+        int placed = 0;
+        int wordMultiplier = 1;
+        //Loop through word
+        for (int i = 0; i < length; i++) {
+            BoardSquare square = line[col + i];
+            int index = row * size + col + i;
+            if (square.isEmpty()) {
+                //Blanks are worth nothing
+                int score = ((blanks & (1L << i)) != 0 ? 0
+                        : letterValues[word[offset + i] - 'A']);
+                int letterMult = square.getLetterMultiplier();
+                int wordMult = square.getWordMultiplier();
                 //Add the score from pos
-                currentCrossSum = getScoreFromPos(current);
+                currentCrossSum = crossSumLine[index];
                 if (currentCrossSum != 0) {
-                    currentCrossSum += currentTile.getScore()
-                            * letterMult;
+                    currentCrossSum += score * letterMult;
                 }
                 //Get the word multiplier
                 wordMultiplier *= wordMult;
                 //Get the letter score multiplied by letter multiplier
-                sum += currentTile.getScore() * letterMult;
-                if (potentialAnchors.contains(current) && wordMult > 1) {
+                sum += score * letterMult;
+                if (anchorLine[index] && wordMult > 1) {
                     sum += currentCrossSum;
                 } else {
                     crossSum += currentCrossSum;
                 }
-                //Increment current
-                current = new Position(current.getRow(), current.getCol() + 1);
+                placed++;
             } else {
-                sum += tiles[current.getRow()][current.getCol()]
-                        .getTile().getScore();
-                current = new Position(current.getRow(), current.getCol() + 1);
+                sum += square.getTile().getScore();
             }
         }
         //Return the sum * the word multiplier
         //Bonus 50 points for playing all 7
         sum *= wordMultiplier;
-        if (move.size() == 7) {
+        if (placed == 7) {
             sum += 50;
         }
         sum += crossSum;
@@ -600,39 +1020,34 @@ public class Board {
 
     /**
      * Builds a string representing the prefix of a word
+     * @param view the squares of the orientation
      * @param startingRow the row to start looking for the prefix
      * @param col the col to look for the prefix
      * @return the string representing all of the tiles above the starting row
      */
-    private String buildPrefixString(int startingRow, int col) {
+    private String buildPrefixString(BoardSquare[][] view, int startingRow, int col) {
         int row = startingRow - 1;
         StringBuilder sb = new StringBuilder();
-        while (row >= 0 && !tiles[row][col].isEmpty()) {
-            if (tiles[row][col].getTile().isBlank()) {
-                sb.insert(0, '*');
-            } else {
-                sb.insert(0, tiles[row][col].getTileCharacter());
-            }
+        while (row >= 0 && !view[row][col].isEmpty()) {
+            sb.append(view[row][col].getTileCharacter());
             row--;
         }
+        sb.reverse();
         return sb.toString();
     }
 
     /**
      * Builds a string representing the suffix of a word
+     * @param view the squares of the orientation
      * @param startingRow the row to start looking for the suffix
      * @param col the col to look for the suffix
      * @return the string representing all of the tiles below the starting row
      */
-    private String buildSuffixString(int startingRow, int col) {
+    private String buildSuffixString(BoardSquare[][] view, int startingRow, int col) {
         int row = startingRow + 1;
         StringBuilder sb = new StringBuilder();
-        while (row <= size - 1 && !tiles[row][col].isEmpty()) {
-            if (tiles[row][col].getTile().isBlank()) {
-                sb.append('*');
-            } else {
-                sb.append(tiles[row][col].getTileCharacter());
-            }
+        while (row <= size - 1 && !view[row][col].isEmpty()) {
+            sb.append(view[row][col].getTileCharacter());
             row++;
         }
         return sb.toString();
@@ -640,14 +1055,15 @@ public class Board {
 
     /**
      * Check if the row and col is below a tile
+     * @param view the squares of the orientation
      * @param row the row we are in
      * @param col the col we are int
      * @return true if the tile above row col is not empty
      * otherwise false
      */
-    private boolean isBelow(int row, int col) {
-        if (row > 0 && tiles[row][col].isEmpty()) {
-            return !tiles[row - 1][col].isEmpty();
+    private boolean isBelow(BoardSquare[][] view, int row, int col) {
+        if (row > 0 && view[row][col].isEmpty()) {
+            return !view[row - 1][col].isEmpty();
         }
 
         return false;
@@ -655,51 +1071,20 @@ public class Board {
 
     /**
      * Check if the row and col is above a tile/filled square
+     * @param view the squares of the orientation
      * @param row the row we are in
      * @param col the col we are in
      * @return true if the tile below row col is not empty
      * otherwise false
      */
-    private boolean isAbove(int row, int col) {
-        if (row < size - 1 && tiles[row][col].isEmpty()) {
-            return !tiles[row + 1][col].isEmpty();
+    private boolean isAbove(BoardSquare[][] view, int row, int col) {
+        if (row < size - 1 && view[row][col].isEmpty()) {
+            return !view[row + 1][col].isEmpty();
         }
 
         return false;
     }
 
-    /**
-     * Transpose the board, used for generating moves for the cpu
-     */
-    public void transpose() {
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < i; j++) {
-                BoardSquare temp = tiles[i][j];
-                tiles[i][j] = tiles[j][i];
-                tiles[j][i] = temp;
-            }
-        }
-
-        isTransposed = !isTransposed;
-    }
-
-    /**
-     * Check if the board is transposed
-     * @return whether or not the board is transposed
-     */
-    public boolean isTransposed() {
-        return isTransposed;
-    }
-
-    /**
-     * Gets a cross sum value from a position
-     * @param pos the position to get the cross sum of
-     * @return 0 or the value in the cross sum map mapped to pos
-     */
-    private int getScoreFromPos(Position pos) {
-        return crossSum.getOrDefault(pos, 0);
-    }
-
     /**
      * Display the board as a string
      * @return the tiles to string
@@ -731,10 +1116,9 @@ public class Board {
                     //Un place the tile
                     tiles[i][j].unPlaceTile();
                     //Reset display
-                    Pane p = this.tiles[i][j].getDisplay();
-                    GridPane.setColumnIndex(p, pos.getCol());
-                    GridPane.setRowIndex(p, pos.getRow());
-                    board.getChildren().set(i * size + j, p);
+                    if (display != null) {
+                        display.showSquare(i, j);
+                    }
                     //Reset blank to blank
                     if (t.isBlank()) {
                         t.setCharacter('*');
@@ -746,88 +1130,84 @@ public class Board {
     }
 
     /**
-     * Handles a custom dropEvent,
-     * dropEvents get fired from tiles when they are dropped on
-     * the board
-     * @param dropEvent the drop event that was fired
+     * Gets the tiles placed on the board in the gui but not played yet
+     * @return the square each placed tile is on
      */
-    private void dropHandler(DropEvent dropEvent) {
-        Position pos = dropEvent.getPos();
-        Tile t = dropEvent.getTile();
-        //Check if the position is already
-        //occupied
-        if (overridden.containsValue(pos)
-                && !dropEvent.isReset()) {
-            return;
-        }
+    Map<Tile, Position> getPlaced() {
+        return overridden;
+    }
 
-        //Check if position is possible
-        if (pos != null && (pos.getCol() < 0
-                || pos.getRow() > size - 1
-                || pos.getRow() < 0
-                || pos.getCol() > size - 1)) {
-            return;
+    /**
+     * Gets a square of the board
+     * @param row the row of the square
+     * @param col the col of the square
+     * @return the square
+     */
+    BoardSquare getSquare(int row, int col) {
+        return tiles[row][col];
+    }
+
+    /**
+     * What makeMove changed, so unmakeMove can put it back
+     */
+    private static class Undo {
+        //row * size + col of each square a tile was played on
+        private final int[] squares;
+        private final int[] wordMultipliers;
+        private final int[] letterMultipliers;
+        private final boolean wasEmpty;
+        private final long hash;
+        //The cross checks the move made out of date as they were,
+        //by orientation * size * size + the index in the view, and
+        //the dictionaries they were checked with
+        private final Dictionary[] dicts;
+        private int[] cachedSquares;
+        private int[] cachedChecks;
+        private int[] cachedSums;
+        private boolean[] cachedDirty;
+        private int cached;
+
+        /**
+         * Create a record for a move
+         * @param count how many tiles the move places
+         * @param wasEmpty if the board was empty before the move
+         * @param hash the hash of the board before the move
+         * @param dicts the dictionaries of the cross checks
+         */
+        Undo(int count, boolean wasEmpty, long hash, Dictionary[] dicts) {
+            squares = new int[count];
+            wordMultipliers = new int[count];
+            letterMultipliers = new int[count];
+            this.wasEmpty = wasEmpty;
+            this.hash = hash;
+            this.dicts = dicts.clone();
+            //Each tile makes at most six cross checks out of date
+            int capacity = 6 * count;
+            cachedSquares = new int[capacity];
+            cachedChecks = new int[capacity];
+            cachedSums = new int[capacity];
+            cachedDirty = new boolean[capacity];
+            cached = 0;
         }
 
-        //Check if the tile was already played
-        if (overridden.containsKey(t)) {
-            if (pos == null) {
-                pos = overridden.get(t);
-            }
-            //Reset the old position of the tile
-            Position oldPos = overridden.get(t);
-            tiles[oldPos.getRow()][oldPos.getCol()].unPlaceTile();
-            //Reset display at old pos
-            Pane p = tiles[oldPos.getRow()][oldPos.getCol()].getDisplay();
-            GridPane.setColumnIndex(p, oldPos.getCol());
-            GridPane.setRowIndex(p, oldPos.getRow());
-            board.getChildren().set(oldPos.getRow() * size + oldPos.getCol(), p);
-            if (!isEmpty(pos.getRow(), pos.getCol())) {
-                //Add back to the player hand if the position is not empty
-                ((HBox) board.getParent().getChildrenUnmodifiable().get(2))
-                        .getChildren().add(t.getDisplay());
-            }
-            //Remove from map
-            overridden.remove(t);
-            //Reset blank
-            if (pos.equals(oldPos)) {
-                if (t.isBlank()) {
-                    t.setCharacter('*');
-                    t.changeBlankText('*');
-                }
-                return;
-            }
-        }
-        //Check to make sure the position is empty
-        if (pos != null && isEmpty(pos.getRow(), pos.getCol())
-                && t != null) {
-            //If a blank is being dropped
-            //Show option dialog for the letter it should be
-            if (t.isBlank()) {
-                Set<Character> alphabet = new HashSet<>();
-                for (char start = 'A'; start <= 'Z'; start++) {
-                    alphabet.add(start);
+        /**
+         * Saves a cross check unless it was already saved
+         * @param square the orientation and index of the square
+         * @param check the cross check mask
+         * @param sum the cross sum
+         * @param dirty if it was already out of date
+         */
+        void save(int square, int check, int sum, boolean dirty) {
+            for (int i = 0; i < cached; i++) {
+                if (cachedSquares[i] == square) {
+                    return;
                 }
-                ChoiceDialog<Character> dialog =
-                        new ChoiceDialog<>('A', alphabet);
-                dialog.setTitle("Blank Letter Choice");
-                dialog.setHeaderText("Blank Letter Choice");
-                dialog.setContentText("Choose your letter: ");
-                Optional<Character> result = dialog.showAndWait();
-                //Set the blank to the character
-                result.ifPresent(letter -> {
-                    t.setCharacter(letter);
-                    t.changeBlankText(letter);
-                });
-            }
-            //Add to the overridden map
-            overridden.put(dropEvent.getTile(), pos);
-            //Temporarily place tile
-            tiles[pos.getRow()][pos.getCol()].placeTile(dropEvent.getTile());
-            Pane p = this.tiles[pos.getRow()][pos.getCol()].getDisplay();
-            GridPane.setColumnIndex(p, pos.getCol());
-            GridPane.setRowIndex(p, pos.getRow());
-            board.getChildren().set(pos.getRow() * size + pos.getCol(), p);
+            }
+            cachedSquares[cached] = square;
+            cachedChecks[cached] = check;
+            cachedSums[cached] = sum;
+            cachedDirty[cached] = dirty;
+            cached++;
         }
     }
 }
@@ -0,0 +1,190 @@
+/**
+ * @author Elijah Johnson
+ * @description The display of a board in the gui, shows the squares on
+ * a grid and handles tiles being dropped on it. Only the gui makes one,
+ * boards without one never load any JavaFX classes
+ */
+
+package scrabble;
+
+import javafx.scene.control.ChoiceDialog;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.shape.StrokeType;
+
+import java.util.*;
+
+class BoardDisplay {
+    private final Board board;
+    private final GridPane grid;
+    //What each square shows when there is no tile on it
+    private Pane[][] empty;
+
+    /**
+     * Create the display of a board on a grid
+     * @param board the board to display
+     * @param grid the grid pane representing the board
+     */
+    BoardDisplay(Board board, GridPane grid) {
+        this.board = board;
+        this.grid = grid;
+        grid.addEventHandler(DropEvent.DROP_EVENT, this::dropHandler);
+    }
+
+    /**
+     * Shows every square of the board, called after
+     * the board is initialized
+     */
+    void show() {
+        int size = board.getSize();
+        grid.getChildren().clear();
+        empty = new Pane[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                empty[i][j] = emptySquare(board.getSquare(i, j));
+                //Get displays for each BoardSquare
+                Pane p = squarePane(i, j);
+                GridPane.setRowIndex(p, i);
+                GridPane.setColumnIndex(p, j);
+                grid.getChildren().add(p);
+            }
+        }
+    }
+
+    /**
+     * Shows what is on a square now, its tile or its multiplier
+     * @param row the row of the square
+     * @param col the col of the square
+     */
+    void showSquare(int row, int col) {
+        Pane p = squarePane(row, col);
+        GridPane.setColumnIndex(p, col);
+        GridPane.setRowIndex(p, row);
+        if (!grid.getChildren().contains(p)) {
+            grid.getChildren().set(row * board.getSize() + col, p);
+        }
+    }
+
+    /**
+     * Gets the pane a square is shown with
+     * @param row the row of the square
+     * @param col the col of the square
+     * @return the display of its tile or its empty pane
+     */
+    private Pane squarePane(int row, int col) {
+        Tile t = board.getSquare(row, col).getTile();
+        return (t == null ? empty[row][col] : t.getDisplay());
+    }
+
+    /**
+     * Creates the display of a square with no tile
+     * @param square the square to display
+     * @return the pane colored by the multiplier of the square
+     */
+    private static Pane emptySquare(BoardSquare square) {
+        int wordMultiplier = square.getWordMultiplier();
+        int letterMultiplier = square.getLetterMultiplier();
+        Pane pane = new Pane();
+        //Size of square
+        Rectangle rect = new Rectangle(50, 50);
+        rect.setStrokeType(StrokeType.INSIDE);
+        rect.setStroke(Color.BLACK);
+        //Color based on multiplier
+        if (wordMultiplier == 1 && letterMultiplier == 1) {
+            rect.setFill(Color.WHITE);
+        } else if (wordMultiplier > 1) {
+            rect.setFill((wordMultiplier == 2) ? Color.PINK : Color.RED);
+        } else if (letterMultiplier > 1) {
+            rect.setFill((letterMultiplier == 2) ? Color.LIGHTBLUE : Color.DARKBLUE);
+        }
+        //Add to pane
+        pane.getChildren().add(rect);
+        return pane;
+    }
+
+    /**
+     * Handles a custom dropEvent,
+     * dropEvents get fired from tiles when they are dropped on
+     * the board
+     * @param dropEvent the drop event that was fired
+     */
+    private void dropHandler(DropEvent dropEvent) {
+        Map<Tile, Position> overridden = board.getPlaced();
+        int size = board.getSize();
+        Position pos = dropEvent.getPos();
+        Tile t = dropEvent.getTile();
+        //Check if the position is already
+        //occupied
+        if (overridden.containsValue(pos)
+                && !dropEvent.isReset()) {
+            return;
+        }
+
+        //Check if position is possible
+        if (pos != null && (pos.getCol() < 0
+                || pos.getRow() > size - 1
+                || pos.getRow() < 0
+                || pos.getCol() > size - 1)) {
+            return;
+        }
+
+        //Check if the tile was already played
+        if (overridden.containsKey(t)) {
+            if (pos == null) {
+                pos = overridden.get(t);
+            }
+            //Reset the old position of the tile
+            Position oldPos = overridden.get(t);
+            board.getSquare(oldPos.getRow(), oldPos.getCol()).unPlaceTile();
+            //Reset display at old pos
+            showSquare(oldPos.getRow(), oldPos.getCol());
+            if (!board.isEmpty(pos.getRow(), pos.getCol())) {
+                //Add back to the player hand if the position is not empty
+                ((HBox) grid.getParent().getChildrenUnmodifiable().get(2))
+                        .getChildren().add(t.getDisplay());
+            }
+            //Remove from map
+            overridden.remove(t);
+            //Reset blank
+            if (pos.equals(oldPos)) {
+                if (t.isBlank()) {
+                    t.setCharacter('*');
+                    t.changeBlankText('*');
+                }
+                return;
+            }
+        }
+        //Check to make sure the position is empty
+        if (pos != null && board.isEmpty(pos.getRow(), pos.getCol())
+                && t != null) {
+            //If a blank is being dropped
+            //Show option dialog for the letter it should be
+            if (t.isBlank()) {
+                Set<Character> alphabet = new HashSet<>();
+                for (char start = 'A'; start <= 'Z'; start++) {
+                    alphabet.add(start);
+                }
+                ChoiceDialog<Character> dialog =
+                        new ChoiceDialog<>('A', alphabet);
+                dialog.setTitle("Blank Letter Choice");
+                dialog.setHeaderText("Blank Letter Choice");
+                dialog.setContentText("Choose your letter: ");
+                Optional<Character> result = dialog.showAndWait();
+                //Set the blank to the character
+                result.ifPresent(letter -> {
+                    t.setCharacter(letter);
+                    t.changeBlankText(letter);
+                });
+            }
+            //Add to the overridden map
+            overridden.put(dropEvent.getTile(), pos);
+            //Temporarily place tile
+            board.getSquare(pos.getRow(), pos.getCol())
+                    .placeTile(dropEvent.getTile());
+            showSquare(pos.getRow(), pos.getCol());
+        }
+    }
+}
@@ -6,20 +6,12 @@
 
 package scrabble;
 
-import javafx.scene.layout.Pane;
-import javafx.scene.paint.Color;
-import javafx.scene.shape.Rectangle;
-import javafx.scene.shape.StrokeType;
-
 public class BoardSquare {
     private int wordMultiplier;
     private int letterMultiplier;
     private Tile tile;
     private boolean placed;
 
-    //GUI
-    private Pane pane;
-    private Pane oldPane;
     /**
      * Default square not tile
      * and multipliers set to one
@@ -28,47 +20,18 @@ public class BoardSquare {
         wordMultiplier = 1;
         letterMultiplier = 1;
         tile = null;
-        pane = null;
         placed = false;
     }
 
     /**
-     * Creates a new display for a board square if it doesnt
-     * exist
-     */
-    private void createDisplay() {
-        if (tile == null) {
-            pane = new Pane();
-            //Size of square
-            Rectangle rect = new Rectangle(50, 50);
-            rect.setStrokeType(StrokeType.INSIDE);
-            rect.setStroke(Color.BLACK);
-            //Color based on multiplier
-            if (wordMultiplier == 1 && letterMultiplier == 1) {
-                rect.setFill(Color.WHITE);
-            } else if (wordMultiplier > 1) {
-                rect.setFill((wordMultiplier == 2) ? Color.PINK : Color.RED);
-            } else if (letterMultiplier > 1) {
-                rect.setFill((letterMultiplier == 2) ? Color.LIGHTBLUE : Color.DARKBLUE);
-            }
-            //Add to pane
-            pane.getChildren().add(rect);
-        }
-        else {
-            pane = tile.getDisplay();
-        }
-    }
-
-    /**
-     * Gets a display if it exists
-     * otherwise creates a new display
-     * @return the pane representing the display
+     * Copy a square, the tile is shared
+     * @param other the square to copy
      */
-    public Pane getDisplay() {
-        if (pane == null) {
-            createDisplay();
-        }
-        return pane;
+    public BoardSquare(BoardSquare other) {
+        wordMultiplier = other.wordMultiplier;
+        letterMultiplier = other.letterMultiplier;
+        tile = other.tile;
+        placed = other.placed;
     }
 
     /**
@@ -128,9 +91,20 @@ public class BoardSquare {
         this.letterMultiplier = 1;
         placed = true;
         t.unHide();
-        if (pane != null) {
-            this.pane = t.getDisplay();
-        }
+    }
+
+    /**
+     * Takes a played tile back off of the square
+     * @param wordMultiplier the word multiplier the square had
+     *                       before the tile was played
+     * @param letterMultiplier the letter multiplier the square had
+     *                         before the tile was played
+     */
+    public void removeTile(int wordMultiplier, int letterMultiplier) {
+        this.tile = null;
+        this.wordMultiplier = wordMultiplier;
+        this.letterMultiplier = letterMultiplier;
+        placed = false;
     }
 
     /**
@@ -139,10 +113,6 @@ public class BoardSquare {
      */
     public void placeTile(Tile t) {
         this.tile = t;
-        if (pane != null) {
-            this.oldPane = pane;
-            this.pane = t.getDisplay();
-        }
     }
 
     /**
@@ -150,8 +120,6 @@ public class BoardSquare {
      */
     public void unPlaceTile() {
         this.tile = null;
-        pane = oldPane;
-        oldPane = null;
     }
 
 
@@ -0,0 +1,206 @@
+/**
+ * @author Elijah Johnson
+ * @description A read only view of the board in one orientation.
+ * The down view has rows and columns switched so every move is
+ * generated as an across move, without changing the board
+ */
+
+package scrabble;
+
+import java.util.List;
+import java.util.Set;
+
+public class BoardView {
+    private final Board board;
+    private final int orientation;
+    private final BoardSquare[][] squares;
+
+    /**
+     * Create a view of the squares of a board
+     * @param board the board being viewed
+     * @param orientation Board.ACROSS or Board.DOWN
+     * @param squares the squares of the board in the order of the view
+     */
+    BoardView(Board board, int orientation, BoardSquare[][] squares) {
+        this.board = board;
+        this.orientation = orientation;
+        this.squares = squares;
+    }
+
+    /**
+     * Get the board this is a view of
+     * @return the board
+     */
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Get the orientation of the view
+     * @return Board.ACROSS or Board.DOWN
+     */
+    public int getOrientation() {
+        return orientation;
+    }
+
+    /**
+     * Check if the view is of the columns of the board
+     * @return true if rows of this view are columns of the board
+     */
+    public boolean isDown() {
+        return orientation == Board.DOWN;
+    }
+
+    /**
+     * Get the size of the board
+     * @return the size of the board
+     */
+    public int getSize() {
+        return board.getSize();
+    }
+
+    /**
+     * Check if a square of the view is empty
+     * @param row the row of the view
+     * @param col the col of the view
+     * @return if the square at row col is empty
+     */
+    public boolean isEmpty(int row, int col) {
+        return squares[row][col].isEmpty();
+    }
+
+    /**
+     * Get the tile on a square of the view
+     * @param row the row of the view
+     * @param col the col of the view
+     * @return null if it is empty or the tile if it isnt
+     */
+    public Tile getTile(int row, int col) {
+        return squares[row][col].getTile();
+    }
+
+    /**
+     * Gets the cross check plane for moves along the rows of this view
+     * @param dict the dictionary of valid words
+     * @return the cross check plane indexed by row * size + col
+     */
+    public int[] generateCrossChecks(Dictionary dict) {
+        return board.generateCrossChecks(dict, orientation);
+    }
+
+    /**
+     * Gets the cross sums for moves along the rows of this view, the
+     * cross checks need to have been generated
+     * @return the sums indexed by row * size + col, 0 for squares
+     * with nothing above or below
+     */
+    public int[] getCrossSums() {
+        return board.getCrossSums(orientation);
+    }
+
+    /**
+     * Gets the letter multiplier of a square of the view
+     * @param row the row of the view
+     * @param col the col of the view
+     * @return the multiplier, 1 once a tile is on the square
+     */
+    public int getLetterMultiplier(int row, int col) {
+        return squares[row][col].getLetterMultiplier();
+    }
+
+    /**
+     * Gets the word multiplier of a square of the view
+     * @param row the row of the view
+     * @param col the col of the view
+     * @return the multiplier, 1 once a tile is on the square
+     */
+    public int getWordMultiplier(int row, int col) {
+        return squares[row][col].getWordMultiplier();
+    }
+
+    /**
+     * Gets what a letter is worth when it is not a blank
+     * @param c the letter from A to Z
+     * @return the value of the letter
+     */
+    public int getLetterValue(char c) {
+        return board.getLetterValue(c);
+    }
+
+    /**
+     * Gets the anchor squares in the coordinates of this view
+     * @return the read only set of anchors
+     */
+    public Set<Position> getPotentialAnchorSquares() {
+        return board.getPotentialAnchorSquares(orientation);
+    }
+
+    /**
+     * Gets the value of a move along a row of this view
+     * @param word the word that is being evaluated
+     * @param move the list of tiles that represents the move
+     * @param start the start position for the move in this view
+     * @return the value of the move
+     */
+    public int getValue(String word, List<Tile> move, Position start) {
+        return board.getValue(word, move, start, orientation);
+    }
+
+    /**
+     * Gets the value of a move along a row of this view
+     * @param word the word that is being evaluated
+     * @param blanks bit i is set if the i'th letter of the word
+     *               is played with a blank
+     * @param start the start position for the move in this view
+     * @return the value of the move
+     */
+    public int getValue(String word, long blanks, Position start) {
+        return board.getValue(word, blanks, start, orientation);
+    }
+
+    /**
+     * Gets the value of a move along a row of this view without
+     * creating any objects
+     * @param word the buffer holding the word
+     * @param offset the index of the first letter in word
+     * @param length the length of the word
+     * @param blanks bit i is set if letter offset + i is played
+     *               with a blank
+     * @param row the row of the move
+     * @param col the col of the first letter
+     * @return the value of the move
+     */
+    public int getValue(char[] word, int offset, int length, long blanks,
+                        int row, int col) {
+        return board.getValue(word, offset, length, blanks, row, col,
+                orientation);
+    }
+
+    /**
+     * Check if a square of this view is an anchor
+     * @param row the row of the view
+     * @param col the col of the view
+     * @return true if a play can be started there
+     */
+    public boolean isAnchor(int row, int col) {
+        return board.isAnchor(orientation, row, col);
+    }
+
+    /**
+     * Converts a position on the board to a position of this view
+     * @param pos the position on the board
+     * @return the same square in the coordinates of this view
+     */
+    public Position fromBoard(Position pos) {
+        return (isDown() ? pos.transposed() : new Position(pos));
+    }
+
+    /**
+     * Converts a position of this view to a position on the board
+     * @param pos the position in this view
+     * @return the same square in board coordinates
+     */
+    public Position toBoard(Position pos) {
+        return (isDown() ? pos.transposed() : new Position(pos));
+    }
+}
@@ -6,33 +6,52 @@
 
 package scrabble;
 
+import scrabble.cache.MoveCache;
+import scrabble.leave.LeaveTable;
+import scrabble.metrics.Metrics;
+import scrabble.opening.OpeningBook;
 import scrabble.player.CPUPlayer;
 import scrabble.player.Player;
+import scrabble.sim.Simulator;
 
 
 import java.io.*;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Scanner;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
 
 public class CommandLineSolver {
     private Player cpuPlayer;
     private Dictionary dict;
     private Board board;
     private TileManager manager;
-    private final static String LETTER_DIS
+    //The pool cpu moves are generated on, null to use one thread
+    private ForkJoinPool pool;
+    //Values of kept tiles, null to play the highest score
+    private LeaveTable leaves;
+    //Simulates the best candidates when set
+    private Simulator simulator;
+    //How long a turn can take, null for no limit
+    private Duration budget;
+    //Moves of positions already solved, null to always search
+    private MoveCache cache;
+    //First moves on an empty board, null to search them
+    private OpeningBook book;
+    //Cuts searches by their score bounds when set
+    private boolean prune;
+    private final static long CACHE_BYTES = 16L << 20;
+    //How many puzzles per batch thread can be solved ahead of the
+    //one being written
+    private final static int BATCH_WINDOW = 4;
+    final static String LETTER_DIS
             = "/default_letter_distributions.txt";
 
     /**
      * Create a command line solver
-     * @param br the buffered reader representing the
-     *           dictionary
+     * @param dict the dictionary to find words in
      */
-    public CommandLineSolver(BufferedReader br) {
-        System.out.println("Initializing dictionary");
-        dict = DictionaryFactory.createDict(
-                DictionaryFactory.DictionaryType.DAWG);
-        dict.insert(br);
+    public CommandLineSolver(Dictionary dict) {
+        this.dict = dict;
         board = new Board();
         cpuPlayer = null;
         manager = new TileManager();
@@ -43,7 +62,6 @@ public class CommandLineSolver {
         manager.initialize(letters);
         try {
             letters.close();
-            br.close();
         } catch (IOException e) {
             System.out.println("Could not close files");
         }
@@ -52,21 +70,161 @@ public class CommandLineSolver {
     /**
      * Main method, runs the command line solver
      * @param args the command line args, need to have at least one
-     *             for the dictionary file
+     *             for the dictionary file, -gaddag can follow it to
+     *             generate moves with a gaddag, -parallel to
+     *             generate moves on every core and -leaves followed
+     *             by a leave table file to play the highest equity,
+     *             -sim simulates the best moves before playing one,
+     *             -budget followed by milliseconds plays the best
+     *             move found in that time, -cache remembers the
+     *             moves of positions that were already solved and
+     *             -book followed by an opening book file looks up
+     *             first moves instead of searching, -prune cuts
+     *             anchors that can not beat the best move so far and
+     *             -batch solves every puzzle on stdin at once on
+     *             -threads followed by a count threads, every core
+     *             by default. -serve followed by a port answers
+     *             puzzles sent to that port on localhost instead and
+     *             -metrics prints how long each phase took at the end
      */
     public static void main(String[] args) {
-        if (args.length != 1) {
-            System.out.println("Usage: java CommandLineSolver [DICT FILE]");
+        boolean gaddag = false;
+        boolean parallel = false;
+        boolean sim = false;
+        boolean cache = false;
+        boolean prune = false;
+        boolean batch = false;
+        int port = -1;
+        boolean metrics = false;
+        int threads = Runtime.getRuntime().availableProcessors();
+        String leaveFile = null;
+        String bookFile = null;
+        Duration budget = null;
+        boolean valid = args.length >= 1;
+        for (int i = 1; i < args.length && valid; i++) {
+            if (args[i].equals("-gaddag")) {
+                gaddag = true;
+            } else if (args[i].equals("-parallel")) {
+                parallel = true;
+            } else if (args[i].equals("-sim")) {
+                sim = true;
+            } else if (args[i].equals("-cache")) {
+                cache = true;
+            } else if (args[i].equals("-prune")) {
+                prune = true;
+            } else if (args[i].equals("-batch")) {
+                batch = true;
+            } else if (args[i].equals("-metrics")) {
+                metrics = true;
+            } else if (args[i].equals("-serve") && i + 1 < args.length) {
+                try {
+                    port = Integer.parseInt(args[++i]);
+                    valid = port >= 0 && port <= 0xFFFF;
+                } catch (NumberFormatException e) {
+                    valid = false;
+                }
+            } else if (args[i].equals("-threads") && i + 1 < args.length) {
+                try {
+                    threads = Integer.parseInt(args[++i]);
+                    valid = threads > 0;
+                } catch (NumberFormatException e) {
+                    valid = false;
+                }
+            } else if (args[i].equals("-leaves") && i + 1 < args.length) {
+                leaveFile = args[++i];
+            } else if (args[i].equals("-book") && i + 1 < args.length) {
+                bookFile = args[++i];
+            } else if (args[i].equals("-budget") && i + 1 < args.length) {
+                try {
+                    budget = Duration.ofMillis(Long.parseLong(args[++i]));
+                } catch (NumberFormatException e) {
+                    valid = false;
+                }
+            } else {
+                valid = false;
+            }
+        }
+        if (!valid) {
+            System.out.println("Usage: java CommandLineSolver [DICT FILE] "
+                    + "[-gaddag] [-parallel] [-leaves LEAVE FILE] [-sim] "
+                    + "[-budget MS] [-cache] [-book BOOK FILE] [-prune] "
+                    + "[-batch] [-threads COUNT] [-serve PORT] [-metrics]");
             return;
         }
+        DictionaryFactory.DictionaryType type = (gaddag
+                ? DictionaryFactory.DictionaryType.GADDAG
+                : DictionaryFactory.DictionaryType.PACKED_DAWG);
         CommandLineSolver commandLineSolver;
         try {
-            //Read the dict file
+            //Read the dict file, compiled dictionaries are mapped
+            System.out.println("Initializing dictionary");
             commandLineSolver = new CommandLineSolver(
-                    new BufferedReader(
-                            new FileReader(new File(args[0]))));
+                    DictionaryFactory.loadDict(new File(args[0]), type));
         } catch (IOException e) {
-            System.out.println("Could not read dictionary file");
+            System.out.println("Could not read dictionary file: "
+                    + e.getMessage());
+            return;
+        }
+        commandLineSolver.budget = budget;
+        commandLineSolver.prune = prune;
+        if (cache) {
+            commandLineSolver.cache = new MoveCache(CACHE_BYTES);
+        }
+        if (parallel) {
+            commandLineSolver.pool = ForkJoinPool.commonPool();
+        }
+        if (leaveFile != null) {
+            try {
+                commandLineSolver.leaves = new LeaveTable(
+                        new File(leaveFile).toPath());
+            } catch (IOException e) {
+                System.out.println("Could not read leave table file");
+                return;
+            }
+        }
+        if (bookFile != null) {
+            try {
+                commandLineSolver.book = new OpeningBook(
+                        new File(bookFile).toPath(), commandLineSolver.dict,
+                        commandLineSolver.leaves != null);
+            } catch (IOException e) {
+                System.out.println("Could not read opening book file: "
+                        + e.getMessage());
+                return;
+            }
+        }
+        if (sim) {
+            commandLineSolver.simulator = new Simulator(commandLineSolver.dict,
+                    parallel ? commandLineSolver.pool
+                            : new ForkJoinPool(1));
+            commandLineSolver.simulator.setLeaveTable(
+                    commandLineSolver.leaves);
+        }
+        Metrics.enable(metrics);
+        if (port >= 0) {
+            try {
+                SolverServer server = new SolverServer(commandLineSolver,
+                        port);
+                System.out.println("Listening on localhost:"
+                        + server.getPort());
+                server.serve();
+            } catch (IOException e) {
+                System.out.println("Could not listen on port " + port);
+            }
+            return;
+        }
+        if (batch) {
+            long start = System.nanoTime();
+            try {
+                int count = commandLineSolver.solveBatch(new BufferedReader(
+                        new InputStreamReader(System.in)), System.out,
+                        threads);
+                System.out.println("Solved " + count + " puzzles in "
+                        + millisSince(start) + "ms");
+            } catch (IOException e) {
+                System.out.println("Could not read puzzles");
+            }
+            commandLineSolver.printStats();
             return;
         }
         //Create new scanner
@@ -74,17 +232,39 @@ public class CommandLineSolver {
         //Read until EOF
         while (in.hasNext()) {
             System.out.println("Enter board and tray");
-            long start = System.currentTimeMillis();
+            long start = System.nanoTime();
             //Find the best move
             if (!commandLineSolver.findBest(in)) {
                 System.out.println("Could not find best, " +
                         "board file is incorrect");
             } else {
-                long end = System.currentTimeMillis();
                 System.out.println("Time to find move: "
-                        + (end - start) + "ms");
+                        + millisSince(start) + "ms");
             }
         }
+        commandLineSolver.printStats();
+    }
+
+    /**
+     * Gets the time since a reading of System.nanoTime
+     * @param start the reading
+     * @return the whole milliseconds since then
+     */
+    private static long millisSince(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    /**
+     * Prints the counts of the move cache and the timings of every
+     * phase when they are being kept
+     */
+    private void printStats() {
+        if (cache != null) {
+            System.out.println("Move cache: " + cache);
+        }
+        if (Metrics.isEnabled()) {
+            Metrics.dump(System.out);
+        }
     }
 
     /**
@@ -98,24 +278,191 @@ public class CommandLineSolver {
         if (!board.initialize(in, manager)) {
             return false;
         }
-        String lastLine = in.nextLine();
-        lastLine = lastLine.toUpperCase();
+        CPUPlayer cpu = play(board, manager, in.nextLine());
+        cpuPlayer = cpu;
+        System.out.print(result(board, cpu));
+        return true;
+    }
+
+    /**
+     * Has a cpu player take its turn with the options of the solver
+     * @param board the board to play on
+     * @param manager the tile manager of the board
+     * @param line the line with the letters of the tray
+     * @return the player after it took its turn
+     */
+    CPUPlayer play(Board board, TileManager manager, String line) {
+        line = line.toUpperCase();
         List<Tile> tray = new ArrayList<>();
         //Read tray characters
-        for (int i = 0; i < lastLine.length(); i++) {
-            tray.add(new Tile(lastLine.charAt(i),
-                    manager.getTileValue(lastLine.charAt(i))));
+        for (int i = 0; i < line.length(); i++) {
+            tray.add(new Tile(line.charAt(i),
+                    manager.getTileValue(line.charAt(i))));
         }
         //Create cpu player
-        cpuPlayer = new CPUPlayer(manager, board, tray);
+        CPUPlayer cpu = new CPUPlayer(manager, board, tray);
+        cpu.setPool(pool);
+        cpu.setLeaveTable(leaves);
+        cpu.setSimulator(simulator);
+        cpu.setMoveCache(cache);
+        cpu.setOpeningBook(book);
+        cpu.setPruning(prune);
         //Make the cpu take its turn
-        cpuPlayer.takeTurn(dict);
-        System.out.println(board);
+        cpu.takeTurn(dict, budget);
+        return cpu;
+    }
+
+    /**
+     * Displays the board after a turn and the word played
+     * @param board the board the turn was played on
+     * @param cpu the player that took the turn
+     * @return the lines to print
+     */
+    private String result(Board board, CPUPlayer cpu) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(board).append(System.lineSeparator());
         //print out the board word played and score received
-        System.out.println("Word score: " +
-                cpuPlayer.getLastWordPlayedScore());
-        System.out.println("Word played: " +
-                cpuPlayer.getLastWordPlayed());
-        return true;
+        sb.append("Word score: ").append(cpu.getLastWordPlayedScore())
+                .append(System.lineSeparator());
+        sb.append("Word played: ").append(cpu.getLastWordPlayed())
+                .append(System.lineSeparator());
+        if (prune) {
+            sb.append("Nodes searched: ").append(cpu.getNodesExplored())
+                    .append(", anchors searched: ")
+                    .append(cpu.getAnchorsSearched())
+                    .append(", cut: ").append(cpu.getAnchorsCut())
+                    .append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Solves every puzzle of a stream on a pool of threads and prints
+     * the results in the order the puzzles were read. Every thread has
+     * its own board and a full bag for each puzzle, the dictionary,
+     * leaves, opening book and cache are shared
+     * @param in where to read the puzzles from, each is a size, the rows
+     *           of the board and a tray like the puzzles on stdin
+     * @param out where to print the results
+     * @param threads how many puzzles to solve at once
+     * @return how many puzzles were read
+     * @throws IOException if the puzzles could not be read
+     */
+    public int solveBatch(BufferedReader in, PrintStream out, int threads)
+            throws IOException {
+        String letters = readResource(LETTER_DIS);
+        ThreadLocal<Board> boards = ThreadLocal.withInitial(Board::new);
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        ArrayDeque<Future<String>> pending = new ArrayDeque<>();
+        int count = 0;
+        try {
+            String puzzle;
+            while ((puzzle = readPuzzle(in)) != null) {
+                String text = puzzle;
+                pending.add(workers.submit(
+                        () -> solvePuzzle(text, boards.get(), letters)));
+                count++;
+                //Keep only a few puzzles ahead of the output
+                if (pending.size() >= threads * BATCH_WINDOW) {
+                    out.print(await(pending.poll()));
+                }
+            }
+            while (!pending.isEmpty()) {
+                out.print(await(pending.poll()));
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+        return count;
+    }
+
+    /**
+     * Solves one puzzle of a batch
+     * @param puzzle the lines of the puzzle
+     * @param board the board of the current thread
+     * @param letters the letter distribution the bag is filled from
+     * @return the lines to print
+     */
+    private String solvePuzzle(String puzzle, Board board, String letters) {
+        TileManager manager = new TileManager();
+        manager.initialize(new BufferedReader(new StringReader(letters)));
+        Scanner in = new Scanner(puzzle);
+        try {
+            if (board.initialize(in, manager)) {
+                return result(board, play(board, manager, in.nextLine()));
+            }
+        } catch (NoSuchElementException e) {
+            //The puzzle ended early or the size was not a number
+        }
+        return "Could not find best, board file is incorrect"
+                + System.lineSeparator();
+    }
+
+    /**
+     * Waits for the result of a puzzle
+     * @param result the puzzle being solved
+     * @return the lines to print
+     */
+    private static String await(Future<String> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "Interrupted while solving" + System.lineSeparator();
+        } catch (ExecutionException e) {
+            return "Could not solve puzzle: " + e.getCause()
+                    + System.lineSeparator();
+        }
+    }
+
+    /**
+     * Reads the lines of the next puzzle, the size line, that many
+     * rows and the tray. Blank lines before a puzzle are skipped
+     * @param in where to read from
+     * @return the puzzle or null at the end of the stream
+     * @throws IOException if the stream could not be read
+     */
+    static String readPuzzle(BufferedReader in) throws IOException {
+        String line;
+        do {
+            line = in.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.trim().isEmpty());
+        StringBuilder sb = new StringBuilder(line).append('\n');
+        int size;
+        try {
+            size = Integer.parseInt(line.trim());
+        } catch (NumberFormatException e) {
+            //Solving it reports it as incorrect
+            return sb.toString();
+        }
+        //Do not read the rest of the input as one huge board
+        if (size < 1 || size > Board.MAX_SIZE) {
+            return sb.toString();
+        }
+        for (int i = 0; i <= size && (line = in.readLine()) != null; i++) {
+            sb.append(line).append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Reads a whole resource file
+     * @param name the name of the resource
+     * @return the text of the resource
+     * @throws IOException if it could not be read
+     */
+    static String readResource(String name) throws IOException {
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(
+                CommandLineSolver.class.getResourceAsStream(name)))) {
+            StringBuilder sb = new StringBuilder();
+            String line;
+            while ((line = br.readLine()) != null) {
+                sb.append(line).append('\n');
+            }
+            return sb.toString();
+        }
     }
 }
\ No newline at end of file
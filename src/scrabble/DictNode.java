@@ -23,6 +23,16 @@ abstract public class DictNode {
         isWord = false;
     }
 
+    /**
+     * Creates a new dict node without a node map, used by
+     * nodes that work out their transitions on demand
+     * @param isWord whether stopping at this node creates a word
+     */
+    protected DictNode(boolean isWord) {
+        characterNodeMap = null;
+        this.isWord = isWord;
+    }
+
     /**
      * Get the node reached by transitioning from this node
      * to some other node by c
@@ -47,6 +57,21 @@ abstract public class DictNode {
         return characterNodeMap;
     }
 
+    /**
+     * Get the letters that have a transition out of this node
+     * as a bit mask, bit 0 is 'A' and bit 25 is 'Z'
+     * @return the mask of letters leaving this node
+     */
+    public int getChildMask() {
+        int mask = 0;
+        for (char c : characterNodeMap.keySet()) {
+            if (c >= 'A' && c <= 'Z') {
+                mask |= 1 << (c - 'A');
+            }
+        }
+        return mask;
+    }
+
     /**
      * Set if this node represents a word
      * @param word true if this node represents
@@ -26,6 +26,33 @@ public abstract class Dictionary {
      */
     abstract public void insert(BufferedReader br);
 
+    /**
+     * Finds the letters that make a word when placed between
+     * prefix and suffix. The prefix is walked once and only the
+     * children of the node it reaches are tried with the suffix
+     * @param prefix the letters before the square
+     * @param suffix the letters after the square
+     * @return the mask of valid letters, bit i is 'A' + i
+     */
+    public int crossCheck(String prefix, String suffix) {
+        DictNode n = root.transition(prefix);
+        if (n == null) {
+            return 0;
+        }
+        int mask = 0;
+        int childMask = n.getChildMask();
+        for (char c = 'A'; childMask != 0; c++, childMask >>>= 1) {
+            if ((childMask & 1) == 0) {
+                continue;
+            }
+            DictNode end = n.transition(c).transition(suffix);
+            if (end != null && end.isWord()) {
+                mask |= 1 << (c - 'A');
+            }
+        }
+        return mask;
+    }
+
     /**
      * Get the root node of the dictionary
      * @return root
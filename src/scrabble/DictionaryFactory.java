@@ -6,14 +6,23 @@
 package scrabble;
 
 import scrabble.dawg.Dawg;
+import scrabble.dawg.DawgCompiler;
+import scrabble.dawg.MappedDawg;
+import scrabble.dawg.PackedDawg;
+import scrabble.gaddag.Gaddag;
 import scrabble.trie.Trie;
 
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+
 public class DictionaryFactory {
     /**
      * Types of possible dictionaries
      */
     public enum DictionaryType {
-        DAWG, TRIE
+        DAWG, TRIE, PACKED_DAWG, GADDAG
     }
 
     /**
@@ -27,8 +36,52 @@ public class DictionaryFactory {
                 return new Dawg();
             case TRIE:
                 return new Trie();
+            case PACKED_DAWG:
+                return new PackedDawg();
+            case GADDAG:
+                return new Gaddag();
         }
 
         return new Dawg();
     }
+
+    /**
+     * Loads a dictionary from a file, files compiled with DawgCompiler
+     * are memory mapped, anything else is read as a word list
+     * and built into a packed dawg
+     * @param file the dictionary file
+     * @return the loaded dictionary
+     * @throws IOException if the file could not be read
+     */
+    public static Dictionary loadDict(File file) throws IOException {
+        return loadDict(file, DictionaryType.PACKED_DAWG);
+    }
+
+    /**
+     * Loads a dictionary from a file, files compiled with DawgCompiler
+     * are memory mapped, anything else is read as a word list
+     * and built into a dictionary of type type
+     * @param file the dictionary file
+     * @param type the type of dictionary to build from a word list,
+     *             a compiled file can only be loaded as a dawg
+     * @return the loaded dictionary
+     * @throws IOException if the file could not be read or is
+     * compiled and another type was asked for
+     */
+    public static Dictionary loadDict(File file, DictionaryType type)
+            throws IOException {
+        if (DawgCompiler.isCompiled(file)) {
+            //Compiled files only hold a dawg, do not hide a gaddag or
+            //trie that was asked for behind one
+            if (type != DictionaryType.PACKED_DAWG
+                    && type != DictionaryType.DAWG) {
+                throw new IOException(file.getName() + " is a compiled "
+                        + "dawg, it can not be loaded as a " + type);
+            }
+            return new MappedDawg(file.toPath());
+        }
+        Dictionary dict = createDict(type);
+        dict.insert(new BufferedReader(new FileReader(file)));
+        return dict;
+    }
 }
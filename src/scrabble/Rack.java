@@ -0,0 +1,162 @@
+/**
+ * @author Elijah Johnson
+ * @description Counts of the letters in a players hand for move
+ * generation. Taking a letter and putting it back are constant time
+ * and blanks are counted instead of changing the blank tile
+ */
+
+package scrabble;
+
+import java.util.List;
+
+public class Rack {
+    /**
+     * Index of the blank count, letters are 0 for A to 25 for Z
+     */
+    public static final int BLANK = 26;
+
+    private final int[] counts;
+    private int letterMask;
+    private int size;
+    //Zobrist hash of the counts, kept up to date by take and put
+    private long hash;
+
+    /**
+     * Create an empty rack
+     */
+    public Rack() {
+        counts = new int[BLANK + 1];
+        letterMask = 0;
+        size = 0;
+        hash = 0;
+    }
+
+    /**
+     * Create a rack holding the letters of some tiles
+     * @param tiles the tiles in the hand
+     */
+    public Rack(List<Tile> tiles) {
+        this();
+        setTiles(tiles);
+    }
+
+    /**
+     * Replace what is in the rack with the letters of some tiles
+     * @param tiles the tiles in the hand
+     */
+    public void setTiles(List<Tile> tiles) {
+        for (int i = 0; i <= BLANK; i++) {
+            counts[i] = 0;
+        }
+        letterMask = 0;
+        size = 0;
+        hash = 0;
+        for (Tile t : tiles) {
+            put(t.isBlank() ? BLANK : t.getCharacter() - 'A');
+        }
+    }
+
+    /**
+     * Get how many of a letter are in the rack
+     * @param index the letter 0 to 25 or BLANK
+     * @return the count
+     */
+    public int getCount(int index) {
+        return counts[index];
+    }
+
+    /**
+     * Get how many blanks are in the rack
+     * @return the count of blanks
+     */
+    public int getBlanks() {
+        return counts[BLANK];
+    }
+
+    /**
+     * Get the letters that have at least one real tile
+     * @return the mask of letters, bit i is 'A' + i
+     */
+    public int getLetterMask() {
+        return letterMask;
+    }
+
+    /**
+     * Get the letters that can be played, a blank can be any letter
+     * @return the mask of playable letters, bit i is 'A' + i
+     */
+    public int getPlayableMask() {
+        return (counts[BLANK] > 0 ? Board.ALL_LETTERS : letterMask);
+    }
+
+    /**
+     * Get how many tiles are in the rack
+     * @return the number of tiles
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Check if the rack has nothing left
+     * @return true if there are no tiles
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Takes a letter out of the rack, a real tile is used if there is
+     * one otherwise a blank is used. The letter has to be playable
+     * @param letter the letter 0 to 25
+     * @return the index that was taken, letter or BLANK, pass it to
+     * put to undo the take
+     */
+    public int take(int letter) {
+        int index = (counts[letter] > 0 ? letter : BLANK);
+        hash ^= Zobrist.rack(index, counts[index])
+                ^ Zobrist.rack(index, counts[index] - 1);
+        if (--counts[index] == 0 && index != BLANK) {
+            letterMask &= ~(1 << index);
+        }
+        size--;
+        return index;
+    }
+
+    /**
+     * Puts a letter or blank back in the rack
+     * @param index the letter 0 to 25 or BLANK
+     */
+    public void put(int index) {
+        hash ^= Zobrist.rack(index, counts[index])
+                ^ Zobrist.rack(index, counts[index] + 1);
+        if (counts[index]++ == 0 && index != BLANK) {
+            letterMask |= 1 << index;
+        }
+        size++;
+    }
+
+    /**
+     * Gets the Zobrist hash of the rack, racks with the same
+     * counts hash the same
+     * @return the hash, 0 for an empty rack
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Display the rack as letters with * for blanks
+     * @return the letters in the rack in order
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i <= BLANK; i++) {
+            for (int j = 0; j < counts[i]; j++) {
+                sb.append(i == BLANK ? '*' : (char) ('A' + i));
+            }
+        }
+        return sb.toString();
+    }
+}
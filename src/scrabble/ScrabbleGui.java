@@ -16,13 +16,19 @@ import javafx.scene.control.Alert;
 import javafx.scene.control.ButtonType;
 import javafx.scene.layout.Region;
 import javafx.stage.Stage;
+import scrabble.dawg.DawgCompiler;
+import scrabble.dawg.MappedDawg;
+import scrabble.endgame.EndgameSolver;
+import scrabble.opening.OpeningBook;
 import scrabble.player.CPUPlayer;
 import scrabble.player.Player;
 import scrabble.player.UserPlayer;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.time.Duration;
 
 public class ScrabbleGui extends Application {
     private Player currentPlayer;
@@ -30,10 +36,15 @@ public class ScrabbleGui extends Application {
     private Board board;
     private ScrabbleDisplay controller;
     private Dictionary dict;
+    private OpeningBook book;
     public final static boolean DEBUG_PRINT = false;
     private final static String LETTER_DIS
             = "/default_letter_distributions.txt";
     private final static String DEFAULT_BOARD = "/default_board.txt";
+    private final static String COMPILED_DICT = "sowpods.dawg";
+    private final static String OPENING_BOOK = "opening.book";
+    //How long the computer can think in one frame
+    private final static Duration TURN_BUDGET = Duration.ofMillis(500);
 
     /**
      * Basic constructor, initializes all to null
@@ -44,6 +55,7 @@ public class ScrabbleGui extends Application {
         board = null;
         controller = null;
         dict = null;
+        book = null;
     }
 
     /**
@@ -65,6 +77,8 @@ public class ScrabbleGui extends Application {
         controller.setupForUserPlayer(userPlayer, dict);
         CPUPlayer cpuPlayer1 =
                 new CPUPlayer(tileManager, board, controller.getComputerHand());
+        cpuPlayer1.setEndgameSolver(new EndgameSolver(dict));
+        cpuPlayer1.setOpeningBook(book);
 
         //Get the first player based off of who draws the letter closes to A
         while (currentPlayer == null) {
@@ -93,7 +107,7 @@ public class ScrabbleGui extends Application {
                     start = now;
                 }
                 //Have the current player take their turn
-                if (currentPlayer.takeTurn(dict) == 0) {
+                if (currentPlayer.takeTurn(dict, TURN_BUDGET) == 0) {
                     //The game is over
                     if (currentPlayer.isHandEmpty()) {
                         controller.updateScore(currentPlayer.getLastWordPlayedScore(), currentPlayer);
@@ -188,11 +202,34 @@ public class ScrabbleGui extends Application {
         primaryStage.setResizable(false);
         primaryStage.setTitle("Scrabble");
         primaryStage.setScene(scene);
-        //Create dictionary
-        dict = DictionaryFactory.createDict(DictionaryFactory.DictionaryType.DAWG);
-        dict.insert(new BufferedReader(
-                new InputStreamReader(
-                        getClass().getResourceAsStream("/sowpods.txt"))));
+        //Create dictionary, use the compiled one if it is there
+        File compiled = new File(COMPILED_DICT);
+        dict = null;
+        if (DawgCompiler.isCompiled(compiled)) {
+            try {
+                dict = new MappedDawg(compiled.toPath());
+            } catch (IOException e) {
+                System.out.println("Could not map " + COMPILED_DICT);
+            }
+        }
+        if (dict == null) {
+            dict = DictionaryFactory.createDict(DictionaryFactory.DictionaryType.PACKED_DAWG);
+            dict.insert(new BufferedReader(
+                    new InputStreamReader(
+                            getClass().getResourceAsStream("/sowpods.txt"))));
+        }
+        //Look up first moves if a book was built
+        File opening = new File(OPENING_BOOK);
+        book = null;
+        if (opening.exists()) {
+            try {
+                //The cpu plays the highest score
+                book = new OpeningBook(opening.toPath(), dict, false);
+            } catch (IOException e) {
+                System.out.println("Could not map " + OPENING_BOOK + ": "
+                        + e.getMessage());
+            }
+        }
         tileManager = new TileManager();
         board = new Board(controller.getBoard());
         //play the game
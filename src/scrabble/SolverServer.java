@@ -0,0 +1,162 @@
+/**
+ * @author Elijah Johnson
+ * @description Answers board and tray requests over a socket so the
+ * dictionary is only loaded once for any number of requests. Requests
+ * are written in the same format as the puzzles the command line
+ * solver reads from stdin and every connection is served on a thread
+ * of its own. The socket only listens on the loopback address
+ */
+
+package scrabble;
+
+import scrabble.player.CPUPlayer;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Scanner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SolverServer {
+    //How many connections can wait to be accepted
+    private final static int BACKLOG = 64;
+    private final static long NANOS_PER_MICRO = 1000;
+
+    private final CommandLineSolver solver;
+    private final String letters;
+    private final ServerSocket socket;
+    private final ExecutorService connections;
+    private final ThreadLocal<Board> boards;
+    private final AtomicLong requests;
+
+    /**
+     * Create a server for a solver, it listens once this returns
+     * @param solver the solver with the dictionary and options to use
+     * @param port the port to listen on, 0 for any free port
+     * @throws IOException if the port could not be bound
+     */
+    public SolverServer(CommandLineSolver solver, int port)
+            throws IOException {
+        this.solver = solver;
+        letters = CommandLineSolver.readResource(
+                CommandLineSolver.LETTER_DIS);
+        socket = new ServerSocket(port, BACKLOG,
+                InetAddress.getLoopbackAddress());
+        connections = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "solver-connection");
+            thread.setDaemon(true);
+            return thread;
+        });
+        boards = ThreadLocal.withInitial(Board::new);
+        requests = new AtomicLong();
+    }
+
+    /**
+     * Gets the port the server listens on
+     * @return the local port
+     */
+    public int getPort() {
+        return socket.getLocalPort();
+    }
+
+    /**
+     * Gets how many requests have been answered
+     * @return the number of requests
+     */
+    public long getRequests() {
+        return requests.get();
+    }
+
+    /**
+     * Accepts connections until the server is closed, every
+     * connection is handed to its own thread
+     */
+    public void serve() {
+        while (!socket.isClosed()) {
+            try {
+                Socket client = socket.accept();
+                connections.execute(() -> handle(client));
+            } catch (IOException e) {
+                if (!socket.isClosed()) {
+                    System.out.println("Could not accept connection");
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops accepting connections, requests being solved still finish
+     */
+    public void close() {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            System.out.println("Could not close server socket");
+        }
+        connections.shutdown();
+    }
+
+    /**
+     * Answers every request of a connection until the client
+     * stops sending
+     * @param client the connection
+     */
+    private void handle(Socket client) {
+        try (Socket s = client;
+             BufferedReader in = new BufferedReader(new InputStreamReader(
+                     s.getInputStream()));
+             PrintWriter out = new PrintWriter(new BufferedWriter(
+                     new OutputStreamWriter(s.getOutputStream())))) {
+            String puzzle;
+            while ((puzzle = CommandLineSolver.readPuzzle(in)) != null) {
+                out.print(answer(puzzle));
+                out.flush();
+            }
+        } catch (IOException e) {
+            System.out.println("Lost connection to client");
+        }
+    }
+
+    /**
+     * Solves one request on the board of the current thread
+     * @param puzzle the lines of the request, a size, the rows of the
+     *               board and a tray
+     * @return the move, its score and how long each part took, ended
+     * by an empty line
+     */
+    private String answer(String puzzle) {
+        long start = System.nanoTime();
+        Board board = boards.get();
+        TileManager manager = new TileManager();
+        manager.initialize(new BufferedReader(new StringReader(letters)));
+        Scanner in = new Scanner(puzzle);
+        String nl = System.lineSeparator();
+        String incorrect = "Could not find best, board file is incorrect"
+                + nl + nl;
+        long parsed;
+        long solved;
+        CPUPlayer cpu;
+        //A bad request is answered and the connection keeps going
+        try {
+            if (!board.initialize(in, manager)) {
+                return incorrect;
+            }
+            String tray = in.nextLine();
+            parsed = System.nanoTime();
+            cpu = solver.play(board, manager, tray);
+            solved = System.nanoTime();
+        } catch (RuntimeException e) {
+            return incorrect;
+        }
+        requests.incrementAndGet();
+        return "Word played: " + cpu.getLastWordPlayed() + nl
+                + "Word score: " + cpu.getLastWordPlayedScore() + nl
+                + "Latency: parse=" + (parsed - start) / NANOS_PER_MICRO
+                + "us solve=" + (solved - parsed) / NANOS_PER_MICRO
+                + "us total=" + (System.nanoTime() - start) / NANOS_PER_MICRO
+                + "us" + nl + nl;
+    }
+}
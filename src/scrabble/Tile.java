@@ -1,7 +1,7 @@
 /**
  * @author Elijah Johnson
- * @description The tile class, handles displaying itself
- * and getting score if the tile is played
+ * @description The tile class, handles getting score if the
+ * tile is played and makes its display once it is shown
  */
 
 package scrabble;
@@ -9,12 +9,6 @@ package scrabble;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Pane;
-import javafx.scene.paint.Color;
-import javafx.scene.shape.Rectangle;
-import javafx.scene.shape.StrokeType;
-import javafx.scene.text.Font;
-import javafx.scene.text.Text;
-import javafx.scene.text.TextAlignment;
 
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -24,8 +18,8 @@ public class Tile {
     private int score;
     private boolean hidden;
 
-    //GUI
-    private Pane tile;
+    //GUI, only made once the tile is shown
+    private TileDisplay display;
 
     /**
      * Create a tile with the given character and score
@@ -35,31 +29,7 @@ public class Tile {
     public Tile(char character, int score) {
         this.character = character;
         this.score = score;
-        tile = null;
-    }
-
-    /**
-     * Create a new display element if it is null
-     */
-    private void createDisplay() {
-        tile = new Pane();
-        //Tile size is 50x50
-        Rectangle rect = new Rectangle(50, 50);
-        rect.setStroke(Color.BLACK);
-        rect.setStrokeType(StrokeType.INSIDE);
-        //Good looking tile color
-        rect.setFill(Color.BURLYWOOD);
-        tile.getChildren().add(rect);
-        //Arbitrary sized text that looks good
-        Text text = new Text(15, 32, character + "");
-        text.setFont(new Font(25));
-        text.setTextAlignment(TextAlignment.CENTER);
-        tile.getChildren().add(text);
-        //Display the score to the user
-        text = new Text(35, 40, Integer.toString(score));
-        text.setFont(new Font(10));
-        text.setTextAlignment(TextAlignment.CENTER);
-        tile.getChildren().add(text);
+        display = null;
     }
 
     /**
@@ -77,11 +47,10 @@ public class Tile {
      * @param c the character to display
      */
     public void changeBlankText(char c) {
-        //Make a blank tile display the correct character
-        Text text = new Text(15, 32, c + "");
-        text.setFont(new Font(25));
-        text.setTextAlignment(TextAlignment.CENTER);
-        tile.getChildren().set(1, text);
+        //Nothing to change if the tile was never shown
+        if (display != null) {
+            display.setLetter(c);
+        }
     }
 
 
@@ -99,87 +68,23 @@ public class Tile {
                                BiConsumer<Tile, Position> droppedCallBack,
                                Consumer<Tile> returnedCallback) {
         //Make sure display is made
-        if (tile == null) {
-            createDisplay();
+        if (display == null) {
+            display = new TileDisplay(this);
         }
-        //Start drag on drag detected
-        tile.setOnDragDetected(mouseEvent -> {
-            if (mouseEvent.isPrimaryButtonDown()) {
-                tile.startFullDrag();
-                //Make sure it is front of everything else
-                tile.setViewOrder(-2);
-            }
-            mouseEvent.consume();
-        });
-
-        //Reset tile if it is right clicked
-        tile.setOnMousePressed(mouseEvent -> {
-            if (mouseEvent.isSecondaryButtonDown()) {
-                double sceneY = mouseEvent.getSceneY() - 50;
-                double sceneX = mouseEvent.getSceneX() - 25;
-                //Get the position with respect to the board
-                Position pos =
-                        new Position(
-                                (int)Math.floor(sceneY / 50),
-                                (int)Math.round(sceneX / 50));
-                DropEvent drop = new DropEvent(pos, this, true);
-                //Fire a drop event, that is really a reset
-                board.fireEvent(drop);
-                if (!hand.getChildren().contains(tile)) {
-                    hand.getChildren().add(tile);
-                }
-                //Call returned callback
-                returnedCallback.accept(this);
-                tile.setTranslateY(0);
-                tile.setTranslateX(0);
-                tile.setViewOrder(0);
-            }
-            mouseEvent.consume();
-        });
-
-        //Make tile follow mouse when it is dragged
-        tile.setOnMouseDragged(mouseEvent -> {
-            if (mouseEvent.isPrimaryButtonDown()) {
-                tile.setTranslateX(mouseEvent.getX() + tile.getTranslateX() - 25);
-                tile.setTranslateY(mouseEvent.getY() + tile.getTranslateY() - 25);
-            }
-            mouseEvent.consume();
-        });
-
-        //When they let go of the drag
-        tile.setOnMouseDragReleased(mouseDragEvent -> {
-            double sceneY = mouseDragEvent.getSceneY() - 50;
-            double sceneX = mouseDragEvent.getSceneX() - 25;
-            //Get position with respect to board
-            Position pos =
-                    new Position(
-                            (int)Math.floor(sceneY / 50),
-                            (int)Math.round(sceneX / 50));
-            DropEvent drop = new DropEvent(pos, this, false);
-            //Fire dropevent to board
-            board.fireEvent(drop);
-            tile.setTranslateY(0);
-            tile.setTranslateX(0);
-            tile.setViewOrder(0);
-            //Call dropped if the tile is now on the board
-            if (!tile.getParent().equals(hand)) {
-                droppedCallBack.accept(this, pos);
-            }
-            mouseDragEvent.consume();
-        });
-
+        display.setDragAndDrop(hand, board, droppedCallBack,
+                returnedCallback);
     }
 
     /**
      * Get the pane representing the display of the tile
      * or create one if needed
-     * @return the tile member variable
+     * @return the pane of the display
      */
     public Pane getDisplay() {
-        if (tile == null) {
-            createDisplay();
+        if (display == null) {
+            display = new TileDisplay(this);
         }
-        return tile;
+        return display.getPane();
     }
 
     /**
@@ -188,8 +93,8 @@ public class Tile {
      *                   current display
      */
     public void getDisplay(boolean newDisplay) {
-        if (newDisplay || tile == null) {
-            createDisplay();
+        if (newDisplay || display == null) {
+            display = new TileDisplay(this);
         }
     }
 
@@ -213,12 +118,12 @@ public class Tile {
      * Hides a tile from being displayed
      */
     public void hide() {
-        if (tile == null) {
-            createDisplay();
+        if (display == null) {
+            display = new TileDisplay(this);
         }
         if (!hidden) {
             hidden = true;
-            tile.getChildren().remove(1, 3);
+            display.hideText();
         }
     }
 
@@ -228,7 +133,7 @@ public class Tile {
     public void unHide() {
         if (hidden) {
             hidden = false;
-            createDisplay();
+            display = new TileDisplay(this);
         }
     }
 
@@ -271,7 +176,7 @@ public class Tile {
         if (!(obj instanceof Tile)) return false;
         Tile other = (Tile)obj;
         //Make sure all values equal
-        return (this.tile == other.tile
+        return (this.display == other.display
                 && this.character == other.character
                 && this.score == other.score);
     }
@@ -0,0 +1,159 @@
+/**
+ * @author Elijah Johnson
+ * @description The display of a tile in the gui. A tile only makes one
+ * when it is shown, so tiles used by the solver and headless games
+ * never load any JavaFX classes
+ */
+
+package scrabble;
+
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.shape.StrokeType;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+import javafx.scene.text.TextAlignment;
+
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+class TileDisplay {
+    private final Tile owner;
+    private final Pane pane;
+
+    /**
+     * Create the display of a tile showing its letter and score
+     * @param owner the tile being displayed
+     */
+    TileDisplay(Tile owner) {
+        this.owner = owner;
+        pane = new Pane();
+        //Tile size is 50x50
+        Rectangle rect = new Rectangle(50, 50);
+        rect.setStroke(Color.BLACK);
+        rect.setStrokeType(StrokeType.INSIDE);
+        //Good looking tile color
+        rect.setFill(Color.BURLYWOOD);
+        pane.getChildren().add(rect);
+        //Arbitrary sized text that looks good
+        Text text = new Text(15, 32, owner.getCharacter() + "");
+        text.setFont(new Font(25));
+        text.setTextAlignment(TextAlignment.CENTER);
+        pane.getChildren().add(text);
+        //Display the score to the user
+        text = new Text(35, 40, Integer.toString(owner.getScore()));
+        text.setFont(new Font(10));
+        text.setTextAlignment(TextAlignment.CENTER);
+        pane.getChildren().add(text);
+    }
+
+    /**
+     * Gets the pane the tile is drawn on
+     * @return the pane
+     */
+    Pane getPane() {
+        return pane;
+    }
+
+    /**
+     * Shows a different letter, used on blank tiles
+     * @param c the character to display
+     */
+    void setLetter(char c) {
+        Text text = new Text(15, 32, c + "");
+        text.setFont(new Font(25));
+        text.setTextAlignment(TextAlignment.CENTER);
+        pane.getChildren().set(1, text);
+    }
+
+    /**
+     * Takes the letter and score off of the tile
+     */
+    void hideText() {
+        pane.getChildren().remove(1, 3);
+    }
+
+    /**
+     * Sets up drag and drop listeners for the tile
+     * @param hand the HBox of the hand that the tile is in
+     * @param board the GridPane that represents the board
+     * @param droppedCallBack A Callback function to send the dropped
+     *                        tile and the position the tile was dropped at
+     * @param returnedCallback A Callback function to send the returned
+     *                         tile if the tile was returned
+     */
+    void setDragAndDrop(HBox hand,
+                        GridPane board,
+                        BiConsumer<Tile, Position> droppedCallBack,
+                        Consumer<Tile> returnedCallback) {
+        //Start drag on drag detected
+        pane.setOnDragDetected(mouseEvent -> {
+            if (mouseEvent.isPrimaryButtonDown()) {
+                pane.startFullDrag();
+                //Make sure it is front of everything else
+                pane.setViewOrder(-2);
+            }
+            mouseEvent.consume();
+        });
+
+        //Reset tile if it is right clicked
+        pane.setOnMousePressed(mouseEvent -> {
+            if (mouseEvent.isSecondaryButtonDown()) {
+                double sceneY = mouseEvent.getSceneY() - 50;
+                double sceneX = mouseEvent.getSceneX() - 25;
+                //Get the position with respect to the board
+                Position pos =
+                        new Position(
+                                (int)Math.floor(sceneY / 50),
+                                (int)Math.round(sceneX / 50));
+                DropEvent drop = new DropEvent(pos, owner, true);
+                //Fire a drop event, that is really a reset
+                board.fireEvent(drop);
+                if (!hand.getChildren().contains(pane)) {
+                    hand.getChildren().add(pane);
+                }
+                //Call returned callback
+                returnedCallback.accept(owner);
+                pane.setTranslateY(0);
+                pane.setTranslateX(0);
+                pane.setViewOrder(0);
+            }
+            mouseEvent.consume();
+        });
+
+        //Make tile follow mouse when it is dragged
+        pane.setOnMouseDragged(mouseEvent -> {
+            if (mouseEvent.isPrimaryButtonDown()) {
+                pane.setTranslateX(mouseEvent.getX() + pane.getTranslateX() - 25);
+                pane.setTranslateY(mouseEvent.getY() + pane.getTranslateY() - 25);
+            }
+            mouseEvent.consume();
+        });
+
+        //When they let go of the drag
+        pane.setOnMouseDragReleased(mouseDragEvent -> {
+            double sceneY = mouseDragEvent.getSceneY() - 50;
+            double sceneX = mouseDragEvent.getSceneX() - 25;
+            //Get position with respect to board
+            Position pos =
+                    new Position(
+                            (int)Math.floor(sceneY / 50),
+                            (int)Math.round(sceneX / 50));
+            DropEvent drop = new DropEvent(pos, owner, false);
+            //Fire dropevent to board
+            board.fireEvent(drop);
+            pane.setTranslateY(0);
+            pane.setTranslateX(0);
+            pane.setViewOrder(0);
+            //Call dropped if the tile is now on the board
+            if (!pane.getParent().equals(hand)) {
+                droppedCallBack.accept(owner, pos);
+            }
+            mouseDragEvent.consume();
+        });
+
+    }
+}
@@ -14,6 +14,7 @@ public class TileManager {
     private List<Tile> bag;
     private Map<Character, Integer> valueMap;
     private Map<Character, Integer> countMap;
+    private Random random;
 
     /**
      * Initialize all values to new instances
@@ -22,6 +23,16 @@ public class TileManager {
         bag = new ArrayList<>();
         valueMap = new HashMap<>();
         countMap = new HashMap<>();
+        random = new Random();
+    }
+
+    /**
+     * Draw tiles with a different source of randomness, a seeded
+     * one makes the same draws every time
+     * @param random the random to draw with
+     */
+    public void setRandom(Random random) {
+        this.random = random;
     }
 
     /**
@@ -116,15 +127,22 @@ public class TileManager {
         return bag.isEmpty();
     }
 
+    /**
+     * Gets how many tiles are left in the bag
+     * @return bag.size()
+     */
+    public int size() {
+        return bag.size();
+    }
+
     /**
      * Draw one random tile from the bag
      * @return the random tile from the bag
      */
     public Tile drawOne() {
-        Random r = new Random();
         Tile toGet = null;
         if (bag.size() > 0) {
-            int next = r.nextInt(bag.size());
+            int next = random.nextInt(bag.size());
             toGet = bag.get(next);
             bag.remove(next);
         }
@@ -143,6 +161,39 @@ public class TileManager {
         return newTray;
     }
 
+    /**
+     * Gets the tiles a player can not see, every tile of the letter
+     * distribution that is not on the board or in their tray. That is
+     * the bag plus the tiles of the other player
+     * @param board the board being played on
+     * @param tray the tiles of the player looking
+     * @return new tiles for every unseen tile
+     */
+    public List<Tile> getUnseen(Board board, List<Tile> tray) {
+        Map<Character, Integer> left = new HashMap<>(countMap);
+        for (int i = 0; i < board.getSize(); i++) {
+            for (int j = 0; j < board.getSize(); j++) {
+                if (!board.isEmpty(i, j)) {
+                    Tile t = board.getTile(i, j);
+                    left.merge(t.isBlank() ? '*' : t.getCharacter(), -1,
+                            Integer::sum);
+                }
+            }
+        }
+        for (Tile t : tray) {
+            left.merge(t.isBlank() ? '*' : t.getCharacter(), -1,
+                    Integer::sum);
+        }
+        List<Tile> unseen = new ArrayList<>();
+        for (Map.Entry<Character, Integer> entry : left.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                unseen.add(new Tile(entry.getKey(),
+                        valueMap.getOrDefault(entry.getKey(), 0)));
+            }
+        }
+        return unseen;
+    }
+
     /**
      * Puts a tile back in the bag
      * @param t the tile to be put back in the bag
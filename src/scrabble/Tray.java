@@ -111,7 +111,15 @@ public class Tray {
      * @param toRemove the tiles to remove from the list
      */
     public void removeAll(List<Tile> toRemove) {
-        tiles.removeAll(toRemove);
+        //Tiles with the same letter are equal, remove these ones
+        for (Tile t : toRemove) {
+            for (int i = 0; i < tiles.size(); i++) {
+                if (tiles.get(i) == t) {
+                    tiles.remove(i);
+                    break;
+                }
+            }
+        }
     }
 
     /**
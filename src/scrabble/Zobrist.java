@@ -0,0 +1,69 @@
+/**
+ * @author Elijah Johnson
+ * @description Random keys for hashing positions. The hash of a
+ * position is the xor of the keys of every tile on the board and every
+ * count of a tile in a rack, so playing or taking back a tile changes
+ * the hash with one xor instead of hashing the whole position again
+ */
+
+package scrabble;
+
+public final class Zobrist {
+    /**
+     * Counts of one kind of tile in a rack past this share keys,
+     * a rack of seven never gets there
+     */
+    public static final int MAX_COUNT = 16;
+
+    private final static long SEED = 0x5CABB1E5DA11A5L;
+    //Keys of a count of each kind of tile, count 0 is 0 so an
+    //empty rack hashes to 0
+    private final static long[] RACK_KEYS;
+
+    static {
+        RACK_KEYS = new long[(Rack.BLANK + 1) * MAX_COUNT];
+        for (int i = 0; i < RACK_KEYS.length; i++) {
+            RACK_KEYS[i] = (i % MAX_COUNT == 0 ? 0 : mix(~SEED + i));
+        }
+    }
+
+    /**
+     * Only has static keys
+     */
+    private Zobrist() {
+    }
+
+    /**
+     * Gets the key of a tile on a square, it is worked out so boards
+     * of any size have keys
+     * @param index row * size + col of the square
+     * @param c the letter on the tile from A to Z
+     * @param blank true if the tile is a blank
+     * @return the key
+     */
+    public static long square(int index, char c, boolean blank) {
+        return mix(SEED + 64L * index + 2 * (c - 'A') + (blank ? 1 : 0));
+    }
+
+    /**
+     * Gets the key of a rack holding some of a kind of tile
+     * @param kind the letter 0 to 25 or Rack.BLANK
+     * @param count how many of the tile the rack holds
+     * @return the key, 0 when the count is 0
+     */
+    public static long rack(int kind, int count) {
+        return RACK_KEYS[kind * MAX_COUNT + (count & (MAX_COUNT - 1))];
+    }
+
+    /**
+     * Scrambles a number so nearby numbers give unrelated keys,
+     * the finalizer of SplitMix64
+     * @param z the number
+     * @return the scrambled number
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,398 @@
+/**
+ * @author Elijah Johnson
+ * @description Remembers the move picked for a position so asking
+ * again does not search again. Positions are keyed by the hash of the
+ * tiles on the board, the layout hash of its size, premium squares and
+ * tile values, and the rack with its tiles sorted. The cache is split into
+ * stripes that lock on their own so threads rarely wait on each other,
+ * and every stripe is a segmented LRU: new moves go in a probation
+ * segment and only moves that are asked for again move up to the
+ * protected one, so a burst of positions seen once can not push out
+ * the positions that keep coming back
+ */
+
+package scrabble.cache;
+
+import scrabble.Board;
+import scrabble.Rack;
+import scrabble.Tile;
+import scrabble.player.Move;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+public class MoveCache {
+    /**
+     * How many stripes the cache is split into, a power of two
+     */
+    private final static int STRIPES = 16;
+    //Share of a stripe's weight that moves hit more than once can use
+    private final static double PROTECTED_SHARE = 0.8;
+    //Rough size in bytes of an entry besides its strings
+    private final static int ENTRY_BYTES = 160;
+
+    private final Stripe[] stripes;
+    private final long maxWeight;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder puts;
+    private final LongAdder evictions;
+
+    /**
+     * Create a cache that holds moves up to a weight
+     * @param maxWeight the most bytes the entries can take up roughly
+     */
+    public MoveCache(long maxWeight) {
+        this.maxWeight = maxWeight;
+        stripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(maxWeight / STRIPES);
+        }
+        hits = new LongAdder();
+        misses = new LongAdder();
+        puts = new LongAdder();
+        evictions = new LongAdder();
+    }
+
+    /**
+     * Makes the key of a position
+     * @param board the board, its hash covers every tile on it and its
+     *              layout hash covers the squares they score on
+     * @param tray the tiles of the player to move in any order
+     * @param equity true if moves are picked by equity, moves picked
+     *               by score alone are kept apart
+     * @return the key
+     */
+    public static Key key(Board board, List<Tile> tray, boolean equity) {
+        return new Key(board.getHash(), board.getLayoutHash(),
+                new Rack(tray).toString(), equity);
+    }
+
+    /**
+     * Gets the move kept for a position, a second hit protects it
+     * @param key the key of the position
+     * @return the move or null if the position is not kept
+     */
+    public Move get(Key key) {
+        Move move = stripeFor(key).get(key);
+        if (move == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return move;
+    }
+
+    /**
+     * Keeps the move picked for a position, the least recently used
+     * moves are dropped when the cache is too heavy
+     * @param key the key of the position
+     * @param move the move, only moves from a finished search belong here
+     */
+    public void put(Key key, Move move) {
+        puts.increment();
+        evictions.add(stripeFor(key).put(key, move));
+    }
+
+    /**
+     * Drops every move, the counts are kept
+     */
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            stripe.clear();
+        }
+    }
+
+    /**
+     * Gets how many moves are kept
+     * @return the number of entries
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    /**
+     * Gets the weight of the moves kept
+     * @return roughly how many bytes the entries take up
+     */
+    public long getWeight() {
+        long weight = 0;
+        for (Stripe stripe : stripes) {
+            weight += stripe.getWeight();
+        }
+        return weight;
+    }
+
+    /**
+     * Gets the most the entries can weigh
+     * @return the max weight in bytes
+     */
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * Gets how many lookups found a move
+     * @return the number of hits
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets how many lookups did not find a move
+     * @return the number of misses
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets how many moves were added
+     * @return the number of puts
+     */
+    public long getPuts() {
+        return puts.sum();
+    }
+
+    /**
+     * Gets how many moves were dropped to make room
+     * @return the number of evictions
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Gets the share of lookups that found a move
+     * @return the hit rate from 0 to 1, 0 before any lookup
+     */
+    public double getHitRate() {
+        long hit = hits.sum();
+        long total = hit + misses.sum();
+        return (total == 0 ? 0 : (double) hit / total);
+    }
+
+    /**
+     * Display the counts of the cache
+     * @return the counts as a string
+     */
+    @Override
+    public String toString() {
+        return String.format("hits=%d misses=%d rate=%.3f puts=%d "
+                        + "evictions=%d size=%d weight=%d/%d", getHits(),
+                getMisses(), getHitRate(), getPuts(), getEvictions(),
+                size(), getWeight(), maxWeight);
+    }
+
+    /**
+     * Gets the stripe a key lives in
+     * @param key the key
+     * @return the stripe
+     */
+    private Stripe stripeFor(Key key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    }
+
+    /**
+     * Gets roughly how many bytes an entry takes up
+     * @param key the key of the entry
+     * @param move the move of the entry
+     * @return the weight
+     */
+    private static int weigh(Key key, Move move) {
+        return ENTRY_BYTES + 2 * (key.rack.length() + move.getLength());
+    }
+
+    /**
+     * The key of a position, the board hashes and the sorted rack
+     */
+    public static final class Key {
+        private final long board;
+        private final long layout;
+        private final String rack;
+        private final boolean equity;
+
+        /**
+         * Create a key
+         * @param board the hash of the tiles on the board
+         * @param layout the layout hash of the board, empty boards
+         *               all have the same tile hash
+         * @param rack the letters of the rack sorted, blanks last
+         * @param equity true if moves are picked by equity
+         */
+        public Key(long board, long layout, String rack, boolean equity) {
+            this.board = board;
+            this.layout = layout;
+            this.rack = rack;
+            this.equity = equity;
+        }
+
+        /**
+         * Check if two keys are for the same position
+         * @param o the other key
+         * @return true if the board, rack and way of picking match
+         */
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return board == other.board && layout == other.layout
+                    && equity == other.equity
+                    && rack.equals(other.rack);
+        }
+
+        /**
+         * Hash of the key, the board hash is already well mixed
+         * @return the hash code
+         */
+        @Override
+        public int hashCode() {
+            return (Long.hashCode(board) * 31 + Long.hashCode(layout)) * 31
+                    + rack.hashCode()
+                    + (equity ? 1 : 0);
+        }
+
+        /**
+         * Display the key
+         * @return the key as a string
+         */
+        @Override
+        public String toString() {
+            return String.format("%016x %016x %s%s", board, layout, rack,
+                    equity ? " equity" : "");
+        }
+    }
+
+    /**
+     * One lock's worth of the cache, the two segments are kept from
+     * least recently used to most recently used
+     */
+    private static class Stripe {
+        private final long maxWeight;
+        private final long maxProtected;
+        private final LinkedHashMap<Key, Move> probation;
+        private final LinkedHashMap<Key, Move> protectedMoves;
+        private long probationWeight;
+        private long protectedWeight;
+
+        /**
+         * Create an empty stripe
+         * @param maxWeight the most the stripe's entries can weigh
+         */
+        Stripe(long maxWeight) {
+            this.maxWeight = maxWeight;
+            maxProtected = (long) (maxWeight * PROTECTED_SHARE);
+            probation = new LinkedHashMap<>(16, 0.75f, true);
+            protectedMoves = new LinkedHashMap<>(16, 0.75f, true);
+        }
+
+        /**
+         * Gets a move, a move hit in probation is protected
+         * @param key the key of the position
+         * @return the move or null
+         */
+        synchronized Move get(Key key) {
+            Move move = protectedMoves.get(key);
+            if (move != null) {
+                return move;
+            }
+            move = probation.remove(key);
+            if (move == null) {
+                return null;
+            }
+            int weight = weigh(key, move);
+            probationWeight -= weight;
+            protectedMoves.put(key, move);
+            protectedWeight += weight;
+            //The oldest protected moves go back on probation
+            Iterator<Map.Entry<Key, Move>> it =
+                    protectedMoves.entrySet().iterator();
+            while (protectedWeight > maxProtected && it.hasNext()) {
+                Map.Entry<Key, Move> oldest = it.next();
+                it.remove();
+                int w = weigh(oldest.getKey(), oldest.getValue());
+                protectedWeight -= w;
+                probation.put(oldest.getKey(), oldest.getValue());
+                probationWeight += w;
+            }
+            return move;
+        }
+
+        /**
+         * Adds a move on probation and drops moves until
+         * the stripe fits its weight
+         * @param key the key of the position
+         * @param move the move
+         * @return how many moves were dropped
+         */
+        synchronized int put(Key key, Move move) {
+            Move old = protectedMoves.get(key);
+            if (old != null) {
+                protectedWeight += weigh(key, move) - weigh(key, old);
+                protectedMoves.put(key, move);
+            } else {
+                old = probation.put(key, move);
+                probationWeight += weigh(key, move)
+                        - (old == null ? 0 : weigh(key, old));
+            }
+            int evicted = 0;
+            while (probationWeight + protectedWeight > maxWeight) {
+                //Probation goes first, then the oldest protected moves
+                LinkedHashMap<Key, Move> segment = (probation.isEmpty()
+                        ? protectedMoves : probation);
+                Iterator<Map.Entry<Key, Move>> it =
+                        segment.entrySet().iterator();
+                Map.Entry<Key, Move> oldest = it.next();
+                it.remove();
+                int w = weigh(oldest.getKey(), oldest.getValue());
+                if (segment == probation) {
+                    probationWeight -= w;
+                } else {
+                    protectedWeight -= w;
+                }
+                evicted++;
+            }
+            return evicted;
+        }
+
+        /**
+         * Drops every move
+         */
+        synchronized void clear() {
+            probation.clear();
+            protectedMoves.clear();
+            probationWeight = 0;
+            protectedWeight = 0;
+        }
+
+        /**
+         * Gets how many moves the stripe holds
+         * @return the number of entries
+         */
+        synchronized int size() {
+            return probation.size() + protectedMoves.size();
+        }
+
+        /**
+         * Gets the weight of the stripe's moves
+         * @return the weight in bytes
+         */
+        synchronized long getWeight() {
+            return probationWeight + protectedWeight;
+        }
+    }
+}
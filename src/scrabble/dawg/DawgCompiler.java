@@ -0,0 +1,86 @@
+/**
+ * @author Elijah Johnson
+ * @description Compiles a word list into a binary packed dawg file
+ * that can be memory mapped by MappedDawg instead of rebuilding
+ * the dawg every time a program starts
+ */
+
+package scrabble.dawg;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class DawgCompiler {
+    /**
+     * File header, every value is a big endian int
+     * magic, version, flags, root node, edge count
+     */
+    public static final int MAGIC = 0x44415747;
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 5 * Integer.BYTES;
+
+    /**
+     * Writes a packed dawg to a file
+     * @param dawg the dawg to write
+     * @param path the file to write to
+     * @throws IOException if the file could not be written
+     */
+    public static void write(PackedDawg dawg, Path path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(path.toFile())))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(0);
+            out.writeInt(dawg.getRootIndex());
+            out.writeInt(dawg.getEdgeCount());
+            for (int i = 0; i < dawg.getEdgeCount(); i++) {
+                out.writeInt(dawg.edgeAt(i));
+            }
+        }
+    }
+
+    /**
+     * Check if a file is a compiled dawg by looking at the magic number
+     * @param file the file to check
+     * @return true if the file starts with the magic number
+     */
+    public static boolean isCompiled(File file) {
+        if (!file.isFile() || file.length() < HEADER_SIZE) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(header, 0);
+            header.flip();
+            return header.getInt() == MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Compiles a dictionary file into a dawg file
+     * @param args the word list to read and the file to write to
+     */
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.out.println("Usage: java DawgCompiler [DICT FILE] [OUTPUT FILE]");
+            return;
+        }
+        long start = System.currentTimeMillis();
+        PackedDawg dawg = new PackedDawg();
+        try {
+            dawg.insert(new BufferedReader(new FileReader(new File(args[0]))));
+            write(dawg, new File(args[1]).toPath());
+        } catch (IOException e) {
+            System.out.println("Could not compile dictionary file");
+            return;
+        }
+        System.out.println("Wrote " + dawg.getEdgeCount() + " edges in "
+                + (System.currentTimeMillis() - start) + "ms");
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * @author Elijah Johnson
+ * @description Packed dawg that reads its edges straight out of a
+ * memory mapped file written by DawgCompiler. Nothing is copied onto
+ * the heap so loading is instant and every process that maps the
+ * same file shares the same pages
+ */
+
+package scrabble.dawg;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class MappedDawg extends PackedDawg {
+    private final IntBuffer mapped;
+    private final int edgeCount;
+
+    /**
+     * Maps a compiled dawg file
+     * @param path the file written by DawgCompiler
+     * @throws IOException if the file cannot be mapped or is not
+     * a compiled dawg of the current version
+     */
+    public MappedDawg(Path path) throws IOException {
+        this(map(path));
+    }
+
+    /**
+     * Reads the header of the mapped file and creates the dawg
+     * @param buffer the mapped file
+     * @throws IOException if the header is incorrect
+     */
+    private MappedDawg(MappedByteBuffer buffer) throws IOException {
+        super(null, readRoot(buffer));
+        edgeCount = buffer.getInt(4 * Integer.BYTES);
+        buffer.position(DawgCompiler.HEADER_SIZE);
+        mapped = buffer.slice().asIntBuffer();
+        if (mapped.limit() < edgeCount) {
+            throw new IOException("Dictionary file is truncated");
+        }
+    }
+
+    /**
+     * Maps the whole file read only, the mapping stays valid
+     * after the channel is closed
+     * @param path the file to map
+     * @return the mapped file
+     * @throws IOException if the file cannot be mapped
+     */
+    private static MappedByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    channel.size());
+        }
+    }
+
+    /**
+     * Checks the magic number and version and gets the root node
+     * @param buffer the mapped file
+     * @return the root node
+     * @throws IOException if it is not a file this version can read
+     */
+    private static int readRoot(MappedByteBuffer buffer) throws IOException {
+        if (buffer.limit() < DawgCompiler.HEADER_SIZE
+                || buffer.getInt(0) != DawgCompiler.MAGIC) {
+            throw new IOException("Not a compiled dictionary file");
+        }
+        if (buffer.getInt(Integer.BYTES) != DawgCompiler.VERSION) {
+            throw new IOException("Unsupported dictionary file version "
+                    + buffer.getInt(Integer.BYTES));
+        }
+        return buffer.getInt(3 * Integer.BYTES);
+    }
+
+    /**
+     * Reads an edge from the mapped file
+     * @param index the index of the edge
+     * @return the packed edge
+     */
+    @Override
+    protected int edgeAt(int index) {
+        return mapped.get(index);
+    }
+
+    /**
+     * Get the amount of ints used to store the graph
+     * @return the edge count from the file header
+     */
+    @Override
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * A mapped dawg is already built, it cannot be inserted into
+     * @param br ignored
+     */
+    @Override
+    public void insert(BufferedReader br) {
+        throw new UnsupportedOperationException(
+                "Mapped dictionaries are read only, use DawgCompiler");
+    }
+}
@@ -0,0 +1,462 @@
+/**
+ * @author Elijah Johnson
+ * @description Frozen, read only version of the dawg.
+ * Every edge of the minimized graph is packed into one int
+ * of a flat array so walking the graph never touches a map
+ * or boxes a character
+ */
+
+package scrabble.dawg;
+
+import scrabble.DictNode;
+import scrabble.Dictionary;
+
+import java.io.BufferedReader;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+public class PackedDawg extends Dictionary {
+    /**
+     * Layout of a single edge, the low bits hold the letter,
+     * then whether the target is a word, then whether this is the
+     * last edge leaving the node, the rest is the target node
+     */
+    public static final int LETTER_MASK = 0x1F;
+    public static final int WORD_BIT = 1 << 5;
+    public static final int LAST_BIT = 1 << 6;
+    public static final int TARGET_SHIFT = 7;
+
+    /**
+     * A node is the index of its first edge, node 0 is
+     * reserved for nodes that have no edges
+     */
+    public static final int NO_EDGES = 0;
+
+    /**
+     * Edges can be labeled 'A' to 'Z' or the separator used by
+     * the gaddag, which is stored as letter 26
+     */
+    public static final char SEPARATOR = '^';
+    public static final int SEPARATOR_INDEX = 26;
+    public static final int ALPHABET_SIZE = 27;
+    public static final int LETTERS = (1 << 26) - 1;
+
+    protected int[] edges;
+    protected int rootNode;
+
+    /**
+     * Creates an empty packed dawg, insert needs to be
+     * called before it can be searched
+     */
+    public PackedDawg() {
+        edges = new int[1];
+        rootNode = NO_EDGES;
+        root = new PackedDawgNode(this, getRootState());
+    }
+
+    /**
+     * Creates a packed dawg from an already built dictionary
+     * @param source the dictionary to pack, nodes that are shared
+     *               in the source are shared in the packed version
+     */
+    public PackedDawg(Dictionary source) {
+        pack(source.getRootNode());
+    }
+
+    /**
+     * Creates a packed dawg directly from an edge array
+     * @param edges the packed edges
+     * @param rootNode the index of the first edge of the root
+     */
+    protected PackedDawg(int[] edges, int rootNode) {
+        this.edges = edges;
+        this.rootNode = rootNode;
+        root = new PackedDawgNode(this, getRootState());
+    }
+
+    /**
+     * Packs the graph reachable from start into the edge array
+     * @param start the root of the graph to pack
+     */
+    private void pack(DictNode start) {
+        Map<DictNode, Integer> packed = new IdentityHashMap<>();
+        int[] size = {1};
+        countEdges(start, packed, size);
+        edges = new int[size[0]];
+        packed.clear();
+        int[] next = {1};
+        rootNode = packNode(start, packed, next);
+        root = new PackedDawgNode(this, getRootState());
+    }
+
+    /**
+     * Counts the edges needed for every distinct node under node
+     * @param node the node to count from
+     * @param seen the nodes already counted
+     * @param size the running total of edges
+     */
+    private void countEdges(DictNode node, Map<DictNode, Integer> seen,
+                            int[] size) {
+        if (seen.containsKey(node)) {
+            return;
+        }
+        seen.put(node, 0);
+        size[0] += node.getCharacterNodeMap().size();
+        for (DictNode child : node.getCharacterNodeMap().values()) {
+            countEdges(child, seen, size);
+        }
+    }
+
+    /**
+     * Writes the edges of node, and every node under it,
+     * children are written before their parents
+     * @param node the node to write
+     * @param packed the nodes already written mapped to their index
+     * @param next the next free index in the edge array
+     * @return the index of the first edge of node
+     */
+    private int packNode(DictNode node, Map<DictNode, Integer> packed,
+                         int[] next) {
+        Integer index = packed.get(node);
+        if (index != null) {
+            return index;
+        }
+        Map<Character, DictNode> map = node.getCharacterNodeMap();
+        if (map.isEmpty()) {
+            packed.put(node, NO_EDGES);
+            return NO_EDGES;
+        }
+        //Edges are written in letter order
+        int count = 0;
+        int[] letters = new int[map.size()];
+        int[] targets = new int[map.size()];
+        boolean[] words = new boolean[map.size()];
+        for (char c = 0; c < 128 && count < letters.length; c++) {
+            DictNode child = map.get(c);
+            if (child != null) {
+                int letter = toIndex(c);
+                if (letter < 0) {
+                    throw new IllegalArgumentException(
+                            "Cannot pack the character " + c);
+                }
+                letters[count] = letter;
+                targets[count] = packNode(child, packed, next);
+                words[count] = child.isWord();
+                count++;
+            }
+        }
+        int first = next[0];
+        for (int i = 0; i < count; i++) {
+            edges[first + i] = makeEdge(letters[i], targets[i], words[i],
+                    i == count - 1);
+        }
+        next[0] += count;
+        packed.put(node, first);
+        return first;
+    }
+
+    /**
+     * Builds a single packed edge
+     * @param letter the letter index of the edge
+     * @param target the node the edge goes to
+     * @param isWord whether the target is a word
+     * @param last whether this is the last edge of its node
+     * @return the packed edge
+     */
+    protected static int makeEdge(int letter, int target, boolean isWord,
+                                  boolean last) {
+        return letter | (isWord ? WORD_BIT : 0) | (last ? LAST_BIT : 0)
+                | (target << TARGET_SHIFT);
+    }
+
+    /**
+     * Converts a character to the letter index used in the edges
+     * @param c the character to convert
+     * @return 0 to 25 for 'A' to 'Z', 26 for the separator, otherwise -1
+     */
+    public static int toIndex(char c) {
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        }
+        if (c == SEPARATOR) {
+            return SEPARATOR_INDEX;
+        }
+        return -1;
+    }
+
+    /**
+     * Converts a letter index back to its character
+     * @param index the letter index
+     * @return the character the index represents
+     */
+    public static char toChar(int index) {
+        return (index == SEPARATOR_INDEX ? SEPARATOR : (char) ('A' + index));
+    }
+
+    /**
+     * Gets the state of the root node, a state is the node shifted
+     * left by one with the low bit set if the node is a word
+     * @return the root state
+     */
+    public int getRootState() {
+        return rootNode << 1;
+    }
+
+    /**
+     * Check if a state represents a word
+     * @param state the state to check
+     * @return true if stopping at this state is a word
+     */
+    public static boolean isWord(int state) {
+        return (state & 1) != 0;
+    }
+
+    /**
+     * Transition from a state along a letter
+     * @param state the state to transition from
+     * @param c the character of the transition
+     * @return the new state or -1 if there is no transition
+     */
+    public int transition(int state, char c) {
+        int letter = toIndex(c);
+        int edge = state >>> 1;
+        if (letter < 0 || edge == NO_EDGES) {
+            return -1;
+        }
+        //Edges are sorted so we can stop once we pass the letter
+        while (true) {
+            int e = edgeAt(edge);
+            int l = e & LETTER_MASK;
+            if (l == letter) {
+                return getEdgeState(e);
+            }
+            if (l > letter || (e & LAST_BIT) != 0) {
+                return -1;
+            }
+            edge++;
+        }
+    }
+
+    /**
+     * Transition from a state along every character of trans
+     * @param state the state to start at
+     * @param trans the characters to transition along
+     * @return the state reached or -1 if a transition is missing
+     */
+    public int transition(int state, CharSequence trans) {
+        for (int i = 0; i < trans.length() && state != -1; i++) {
+            state = transition(state, trans.charAt(i));
+        }
+        return state;
+    }
+
+    /**
+     * Finds the letters that make a word when placed between
+     * prefix and suffix without creating any nodes
+     * @param prefix the letters before the square
+     * @param suffix the letters after the square
+     * @return the mask of valid letters, bit i is 'A' + i
+     */
+    @Override
+    public int crossCheck(String prefix, String suffix) {
+        int state = transition(getRootState(), prefix);
+        return (state == -1 ? 0 : crossCheckFrom(state, suffix));
+    }
+
+    /**
+     * Tries every letter leaving a state followed by the suffix
+     * @param state the state reached by everything before the square
+     * @param suffix the letters after the square
+     * @return the mask of letters that end on a word
+     */
+    protected int crossCheckFrom(int state, CharSequence suffix) {
+        int mask = 0;
+        for (int edge = getFirstEdge(state); edge != -1;
+             edge = getNextEdge(edge)) {
+            int letter = getEdgeLetter(edge);
+            if (letter == SEPARATOR_INDEX) {
+                continue;
+            }
+            int end = transition(getEdgeTarget(edge), suffix);
+            if (end != -1 && isWord(end)) {
+                mask |= 1 << letter;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Get the mask of letters leaving a state
+     * @param state the state to get the mask of
+     * @return bit i is set if there is an edge for letter i,
+     * bit 26 is set if there is an edge for the separator
+     */
+    public int getChildMask(int state) {
+        int edge = state >>> 1;
+        if (edge == NO_EDGES) {
+            return 0;
+        }
+        int mask = 0;
+        int e;
+        do {
+            e = edgeAt(edge++);
+            mask |= 1 << (e & LETTER_MASK);
+        } while ((e & LAST_BIT) == 0);
+        return mask;
+    }
+
+    /**
+     * Get the first edge leaving a state, edges can then
+     * be walked with getNextEdge
+     * @param state the state to get the edges of
+     * @return the index of the first edge or -1 if there are none
+     */
+    public int getFirstEdge(int state) {
+        int edge = state >>> 1;
+        return (edge == NO_EDGES ? -1 : edge);
+    }
+
+    /**
+     * Get the edge after edge that leaves the same node
+     * @param edge the index of the current edge
+     * @return the index of the next edge or -1 if edge was the last
+     */
+    public int getNextEdge(int edge) {
+        return ((edgeAt(edge) & LAST_BIT) != 0 ? -1 : edge + 1);
+    }
+
+    /**
+     * Get the letter index of an edge
+     * @param edge the index of the edge
+     * @return the letter index the edge is labeled with
+     */
+    public int getEdgeLetter(int edge) {
+        return edgeAt(edge) & LETTER_MASK;
+    }
+
+    /**
+     * Get the state an edge leads to
+     * @param edge the index of the edge
+     * @return the state at the end of the edge
+     */
+    public int getEdgeTarget(int edge) {
+        return getEdgeState(edgeAt(edge));
+    }
+
+    /**
+     * Reads a packed edge, subclasses can override this to
+     * read the edges from somewhere other than the array
+     * @param index the index of the edge
+     * @return the packed edge
+     */
+    protected int edgeAt(int index) {
+        return edges[index];
+    }
+
+    /**
+     * Gets the index of the first edge of the root node
+     * @return the root node
+     */
+    public int getRootIndex() {
+        return rootNode;
+    }
+
+    /**
+     * Converts a packed edge into the state it leads to
+     * @param e the packed edge
+     * @return the state of the target
+     */
+    private static int getEdgeState(int e) {
+        return ((e >>> TARGET_SHIFT) << 1) | ((e & WORD_BIT) != 0 ? 1 : 0);
+    }
+
+    /**
+     * Get the amount of ints used to store the graph
+     * @return the length of the edge array
+     */
+    public int getEdgeCount() {
+        return edges.length;
+    }
+
+    /**
+     * Gets a hash of the words in the graph. Every word is hashed on
+     * its own and the hashes are added up, so the same words give the
+     * same hash however the graph stores them
+     * @return the hash of every word
+     */
+    public long getWordHash() {
+        return hashWords(rootNode, 0, 1, false);
+    }
+
+    /**
+     * Adds up the hashes of the words under a node, separator edges
+     * are not followed
+     * @param node the first edge of the node
+     * @param prefix the hash of the letters walked so far
+     * @param power 31 to the power of the letters walked so far
+     * @param reversed true if the letters of a word are walked
+     *                 from its last letter to its first
+     * @return the sum of the hashes of the words
+     */
+    protected long hashWords(int node, long prefix, long power,
+                             boolean reversed) {
+        if (node == NO_EDGES) {
+            return 0;
+        }
+        long sum = 0;
+        int e;
+        int edge = node;
+        do {
+            e = edgeAt(edge++);
+            int letter = e & LETTER_MASK;
+            if (letter != SEPARATOR_INDEX) {
+                //Either way a word hashes to the sum of its letters
+                //times 31 to the power of the letters after them
+                long hash = (reversed ? prefix + (letter + 1) * power
+                        : prefix * 31 + letter + 1);
+                if ((e & WORD_BIT) != 0) {
+                    sum += mix(hash);
+                }
+                sum += hashWords(e >>> TARGET_SHIFT, hash, power * 31,
+                        reversed);
+            }
+        } while ((e & LAST_BIT) == 0);
+        return sum;
+    }
+
+    /**
+     * Spreads the bits of a word hash so that sums of them collide
+     * no more than random numbers would
+     * @param hash the hash of a word
+     * @return the mixed hash
+     */
+    private static long mix(long hash) {
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        return hash ^ (hash >>> 31);
+    }
+
+    /**
+     * Check if a word is in the graph
+     * @param word the word to check
+     * @return true if the word is in the graph otherwise false
+     */
+    @Override
+    public boolean search(String word) {
+        int state = transition(getRootState(), word);
+        return (state != -1 && isWord(state));
+    }
+
+    /**
+     * Builds a dawg from the dictionary file then packs it,
+     * the dawg is thrown away afterwards
+     * @param br the file containing the dictionary each word
+     *           is separated by new lines
+     */
+    @Override
+    public void insert(BufferedReader br) {
+        Dawg dawg = new Dawg();
+        dawg.insert(br);
+        pack(dawg.getRootNode());
+    }
+}
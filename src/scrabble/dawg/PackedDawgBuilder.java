@@ -0,0 +1,235 @@
+/**
+ * @author Elijah Johnson
+ * @description Builds a minimized packed graph straight from
+ * sorted strings. Only the nodes along the last added string are
+ * kept as objects, every other node is already packed and shared
+ * through a register of equivalent nodes
+ */
+
+package scrabble.dawg;
+
+import java.util.Arrays;
+
+public class PackedDawgBuilder {
+    private static final int MAX_LENGTH = 64;
+
+    //Packed output
+    private int[] edges;
+    private int size;
+
+    //Register of packed nodes, open addressing on the node edges
+    private int[] register;
+    private int registered;
+
+    //Unpacked nodes along the last string, node i is the
+    //node reached after the first i characters
+    private final int[][] letters;
+    private final int[][] targets;
+    private final boolean[][] words;
+    private final int[] counts;
+    private final boolean[] isWord;
+    private final char[] previous;
+    private int previousLength;
+    private int[] scratch;
+    private int rootIndex;
+
+    /**
+     * Creates a new builder with nothing added
+     */
+    public PackedDawgBuilder() {
+        edges = new int[1 << 16];
+        //Index 0 is reserved for nodes with no edges
+        size = 1;
+        register = new int[1 << 16];
+        registered = 0;
+        letters = new int[MAX_LENGTH + 1][PackedDawg.ALPHABET_SIZE];
+        targets = new int[MAX_LENGTH + 1][PackedDawg.ALPHABET_SIZE];
+        words = new boolean[MAX_LENGTH + 1][PackedDawg.ALPHABET_SIZE];
+        counts = new int[MAX_LENGTH + 1];
+        isWord = new boolean[MAX_LENGTH + 1];
+        previous = new char[MAX_LENGTH];
+        previousLength = 0;
+        scratch = new int[PackedDawg.ALPHABET_SIZE];
+        rootIndex = -1;
+    }
+
+    /**
+     * Adds a string to the graph, strings have to be added in
+     * sorted order, adding the same string twice does nothing
+     * @param str the string to add
+     */
+    public void add(CharSequence str) {
+        if (str.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("String is too long " + str);
+        }
+        //Find how much is shared with the last string
+        int common = 0;
+        int min = Math.min(previousLength, str.length());
+        while (common < min && previous[common] == str.charAt(common)) {
+            common++;
+        }
+        if (common == str.length() && common == previousLength
+                && previousLength > 0) {
+            return;
+        }
+        if ((common < min && str.charAt(common) < previous[common])
+                || (common == str.length() && common < previousLength)) {
+            throw new IllegalArgumentException("Strings are not sorted " + str);
+        }
+        //Everything past the shared part can never change again
+        packPath(common);
+        for (int i = common; i < str.length(); i++) {
+            int letter = PackedDawg.toIndex(str.charAt(i));
+            if (letter < 0) {
+                throw new IllegalArgumentException(
+                        "Cannot pack the character " + str.charAt(i));
+            }
+            letters[i][counts[i]] = letter;
+            counts[i]++;
+            counts[i + 1] = 0;
+            isWord[i + 1] = false;
+            previous[i] = str.charAt(i);
+        }
+        isWord[str.length()] = true;
+        previousLength = str.length();
+    }
+
+    /**
+     * Packs every node on the current path deeper than depth
+     * @param depth the depth to stop at
+     */
+    private void packPath(int depth) {
+        for (int i = previousLength; i > depth; i--) {
+            int node = packNode(i);
+            targets[i - 1][counts[i - 1] - 1] = node;
+            words[i - 1][counts[i - 1] - 1] = isWord[i];
+        }
+        previousLength = Math.min(previousLength, depth);
+    }
+
+    /**
+     * Packs a node, reusing an equivalent node if one is registered
+     * @param depth the depth of the node on the current path
+     * @return the index of the packed node
+     */
+    private int packNode(int depth) {
+        int count = counts[depth];
+        if (count == 0) {
+            return PackedDawg.NO_EDGES;
+        }
+        int hash = 0;
+        for (int i = 0; i < count; i++) {
+            scratch[i] = PackedDawg.makeEdge(letters[depth][i],
+                    targets[depth][i], words[depth][i], i == count - 1);
+            hash = hash * 31 + scratch[i];
+        }
+        //Look for an equivalent node
+        int mask = register.length - 1;
+        int slot = mix(hash) & mask;
+        while (register[slot] != 0) {
+            int node = register[slot];
+            if (sameEdges(node, count)) {
+                return node;
+            }
+            slot = (slot + 1) & mask;
+        }
+        //Not registered, append it
+        if (size + count > edges.length) {
+            edges = Arrays.copyOf(edges, edges.length * 2);
+        }
+        int node = size;
+        System.arraycopy(scratch, 0, edges, node, count);
+        size += count;
+        register[slot] = node;
+        registered++;
+        if (registered * 2 > register.length) {
+            growRegister();
+        }
+        return node;
+    }
+
+    /**
+     * Check if a packed node has exactly the edges in scratch
+     * @param node the packed node
+     * @param count the number of edges in scratch
+     * @return true if they are the same
+     */
+    private boolean sameEdges(int node, int count) {
+        for (int i = 0; i < count; i++) {
+            if (edges[node + i] != scratch[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Doubles the register and puts every node back in
+     */
+    private void growRegister() {
+        int[] old = register;
+        register = new int[old.length * 2];
+        int mask = register.length - 1;
+        for (int node : old) {
+            if (node != 0) {
+                int slot = mix(hashNode(node)) & mask;
+                while (register[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                register[slot] = node;
+            }
+        }
+    }
+
+    /**
+     * Hashes the edges of a packed node the same way as packNode
+     * @param node the packed node
+     * @return the hash of its edges
+     */
+    private int hashNode(int node) {
+        int hash = 0;
+        int i = node;
+        do {
+            hash = hash * 31 + edges[i];
+        } while ((edges[i++] & PackedDawg.LAST_BIT) == 0);
+        return hash;
+    }
+
+    /**
+     * Spreads the bits of a hash so linear probing works well
+     * @param hash the hash to spread
+     * @return the spread hash
+     */
+    private static int mix(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Packs whatever is left and gets the finished edges,
+     * the builder should not be used afterwards
+     * @return the edges, trimmed to size
+     */
+    public int[] getEdges() {
+        finish();
+        return Arrays.copyOf(edges, size);
+    }
+
+    /**
+     * Gets the root node, only valid once the edges have been taken
+     * @return the index of the first edge of the root
+     */
+    public int getRootIndex() {
+        return rootIndex;
+    }
+
+    /**
+     * Packs the remaining path and the root
+     */
+    private void finish() {
+        if (rootIndex == -1) {
+            packPath(0);
+            rootIndex = packNode(0);
+        }
+    }
+}
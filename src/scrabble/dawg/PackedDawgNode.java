@@ -0,0 +1,118 @@
+/**
+ * @author Elijah Johnson
+ * @description Light weight node for a packed dawg,
+ * only holds a state of the packed graph so it can be used
+ * anywhere a dict node is expected
+ */
+
+package scrabble.dawg;
+
+import scrabble.DictNode;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class PackedDawgNode extends DictNode {
+    private final PackedDawg dawg;
+    private final int state;
+
+    /**
+     * Creates a node for a state of a packed dawg
+     * @param dawg the packed dawg the state belongs to
+     * @param state the state this node represents
+     */
+    public PackedDawgNode(PackedDawg dawg, int state) {
+        super(PackedDawg.isWord(state));
+        this.dawg = dawg;
+        this.state = state;
+    }
+
+    /**
+     * Gets the state of the packed dawg this node represents
+     * @return the state
+     */
+    public int getState() {
+        return state;
+    }
+
+    /**
+     * Transition along a single letter
+     * @param c the character representing the transition
+     * @return the node reached or null if there is no transition
+     */
+    @Override
+    public PackedDawgNode transition(char c) {
+        int next = dawg.transition(state, c);
+        return (next == -1 ? null : new PackedDawgNode(dawg, next));
+    }
+
+    /**
+     * Transition along every character of trans
+     * @param trans the string of chars representing the transition
+     * @return the node reached or null if a transition is missing
+     */
+    @Override
+    public PackedDawgNode transition(String trans) {
+        int next = dawg.transition(state, trans);
+        return (next == -1 ? null : new PackedDawgNode(dawg, next));
+    }
+
+    /**
+     * Get the letters leaving this node, the separator of a
+     * gaddag is left out
+     * @return the child mask of the state
+     */
+    @Override
+    public int getChildMask() {
+        return dawg.getChildMask(state) & PackedDawg.LETTERS;
+    }
+
+    /**
+     * Builds a read only map of the transitions, only here
+     * for code that still walks the map, it is built every call
+     * @return the map of characters to the nodes they reach
+     */
+    @Override
+    public Map<Character, DictNode> getCharacterNodeMap() {
+        Map<Character, DictNode> map = new LinkedHashMap<>();
+        for (int edge = dawg.getFirstEdge(state); edge != -1;
+             edge = dawg.getNextEdge(edge)) {
+            map.put(PackedDawg.toChar(dawg.getEdgeLetter(edge)),
+                    new PackedDawgNode(dawg, dawg.getEdgeTarget(edge)));
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * The packed dawg is read only
+     * @param word ignored
+     */
+    @Override
+    public void setWord(boolean word) {
+        throw new UnsupportedOperationException("Packed dawg is read only");
+    }
+
+    /**
+     * Two nodes are equal if they are the same state of the same dawg
+     * @param obj the obj to check equals this one
+     * @return true if they represent the same state
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof PackedDawgNode)) return false;
+
+        PackedDawgNode other = (PackedDawgNode) obj;
+        return (dawg == other.dawg && state == other.state);
+    }
+
+    /**
+     * The state is unique in the dawg so it is the hash code
+     * @return the state
+     */
+    @Override
+    public int hashCode() {
+        return state;
+    }
+}
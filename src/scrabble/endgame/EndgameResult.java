@@ -0,0 +1,95 @@
+/**
+ * @author Elijah Johnson
+ * @description The move picked by the endgame solver and the
+ * spread it leads to with both players playing their best
+ */
+
+package scrabble.endgame;
+
+import scrabble.player.Move;
+
+public class EndgameResult {
+    private final Move move;
+    private final int spread;
+    private final int depth;
+    private final long nodes;
+    private final boolean exact;
+
+    /**
+     * Create a result
+     * @param move the move to play, null to pass
+     * @param spread how many points the player ends up ahead of what
+     *               the scores are now, behind if negative
+     * @param depth how many turns deep the search went
+     * @param nodes how many positions were searched
+     * @param exact true if every line was searched to the end of the game
+     */
+    EndgameResult(Move move, int spread, int depth, long nodes,
+                  boolean exact) {
+        this.move = move;
+        this.spread = spread;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.exact = exact;
+    }
+
+    /**
+     * Gets the move to play
+     * @return the move, null if passing is best
+     */
+    public Move getMove() {
+        return move;
+    }
+
+    /**
+     * Check if the best thing to do is pass
+     * @return true if the player should pass
+     */
+    public boolean isPass() {
+        return move == null;
+    }
+
+    /**
+     * Gets the points gained on the opponent by the end of the game
+     * @return the spread, negative if the opponent gains more
+     */
+    public int getSpread() {
+        return spread;
+    }
+
+    /**
+     * Gets how many turns deep the last finished search went
+     * @return the depth in turns of either player
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Gets how many positions were searched
+     * @return the number of positions
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Check if the result is the exact value of the game, otherwise
+     * the search ran out of time and some lines were cut short
+     * @return true if the result is exact
+     */
+    public boolean isExact() {
+        return exact;
+    }
+
+    /**
+     * Display the move and its spread
+     * @return the result as a string
+     */
+    @Override
+    public String toString() {
+        return String.format("%s spread=%d depth=%d nodes=%d%s",
+                move == null ? "pass" : move, spread, depth, nodes,
+                exact ? " exact" : "");
+    }
+}
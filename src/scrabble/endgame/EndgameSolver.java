@@ -0,0 +1,1055 @@
+/**
+ * @author Elijah Johnson
+ * @description Solves the end of the game once the bag is empty and
+ * both racks are known. Negamax with alpha beta searches every move of
+ * both players, deepening one turn at a time until the whole game is
+ * searched or the time budget is used. Moves going out are tried
+ * first, then the rest by their score plus the tiles they get rid of,
+ * after the best move from the last search of the position and the
+ * moves that cut off other searches at the same ply. The best move is
+ * kept in a transposition table under the Zobrist hash the board
+ * keeps, the hashes of both racks and whose turn it is. Moves are made
+ * and taken back on one copy of the board instead of copying it for
+ * each move, and the moves of both racks are found once at the root.
+ * A move stays legal and scores the same as long as nothing was played
+ * on or next to its squares and the words across it did not change, so
+ * each turn keeps the moves of the player's last turn and only searches
+ * the anchors near the two moves made since
+ */
+
+package scrabble.endgame;
+
+import scrabble.*;
+import scrabble.Dictionary;
+import scrabble.player.Move;
+import scrabble.player.MoveGenerator;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Consumer;
+
+public class EndgameSolver {
+    private final static Duration DEFAULT_BUDGET = Duration.ofSeconds(1);
+    //The table has 1 << TABLE_BITS entries, deeper searches replace
+    //shallower ones
+    private final static int TABLE_BITS = 20;
+    //What the value stored in the table is
+    private final static byte EXACT = 0;
+    private final static byte LOWER = 1;
+    private final static byte UPPER = 2;
+    //Turns searched at most, a value searched to the end of the game
+    //is stored as this deep so it is used at any depth
+    private final static int MAX_DEPTH = 32;
+    private final static int INFINITY = 1 << 20;
+    private final static int RACK_SIZE = 7;
+    //Keys for the second player to move and the last turn being a pass
+    private final static long SIDE_KEY = 0x6A09E667F3BCC908L;
+    private final static long PASS_KEY = 0xBB67AE8584CAA73BL;
+    //Order keys of the table move, the killers and moves going out,
+    //above what any other move can score
+    private final static int HASH_ORDER = 1 << 29;
+    private final static int KILLER_ORDER = 1 << 28;
+    private final static int OUT_ORDER = 1 << 27;
+    //Moves remembered per ply for cutting off a search
+    private final static int KILLERS = 2;
+
+    private final Dictionary dict;
+    private Duration budget;
+
+    //The transposition table
+    private final long[] tableKeys;
+    private final int[] tableValues;
+    private final byte[] tableDepths;
+    private final byte[] tableFlags;
+    private final Move[] tableMoves;
+
+    //The position being searched
+    private Board board;
+    private int size;
+    private int[] letterValues;
+    private Tray[] trays;
+    private Rack[] racks;
+    private MoveGenerator[] generators;
+    //Moves found, the order they are tried in and the tiles they
+    //took at each ply, and where the path was when each ply began
+    private final List<List<PooledMove>> moveLists;
+    private final Collector collector;
+    private final PooledMove[][] ordered;
+    private final Tile[][] removed;
+    private final Move[][] killers;
+    private final int[] pathStarts;
+    //The moves the last turn searched is guessed from at each ply, and
+    //the move of the last guess
+    private final Frontier[] frontiers;
+    private Move guessed;
+    private long[] orderKeys;
+    //Every move of both racks at the root by player, and the squares
+    //filled since the root in the order they were filled
+    private final List<List<PooledMove>> pool;
+    private int[] path;
+    private int pathLength;
+    //Bit sets of row * size + col, the squares filled since the last
+    //turn of the player to move and by orientation the squares whose
+    //cross words changed
+    private long[] filled;
+    private long[][] crossed;
+    //The squares of each view next to a change, by row * size + col
+    //of the view, and the rows of each view with any of them
+    private boolean[][] near;
+    private boolean[][] nearRows;
+    private int[] anchors;
+
+    //Search progress
+    private long nodes;
+    private long deadline;
+    private boolean timeUp;
+    private boolean cutShort;
+    private Move rootBest;
+
+    /**
+     * Create a solver
+     * @param dict the dictionary to generate words from
+     */
+    public EndgameSolver(Dictionary dict) {
+        this.dict = MoveGenerator.searchable(dict);
+        budget = DEFAULT_BUDGET;
+        int entries = 1 << TABLE_BITS;
+        tableKeys = new long[entries];
+        tableValues = new int[entries];
+        tableDepths = new byte[entries];
+        tableFlags = new byte[entries];
+        tableMoves = new Move[entries];
+        moveLists = new ArrayList<>();
+        for (int i = 0; i <= MAX_DEPTH; i++) {
+            moveLists.add(new ArrayList<>());
+        }
+        collector = new Collector();
+        ordered = new PooledMove[MAX_DEPTH + 1][0];
+        removed = new Tile[MAX_DEPTH + 1][RACK_SIZE];
+        killers = new Move[MAX_DEPTH + 1][KILLERS];
+        pathStarts = new int[MAX_DEPTH + 1];
+        frontiers = new Frontier[MAX_DEPTH + 2];
+        for (int i = 0; i < frontiers.length; i++) {
+            frontiers[i] = new Frontier();
+        }
+        orderKeys = new long[0];
+        pool = new ArrayList<>();
+    }
+
+    /**
+     * Set how long a solve can take before it plays the best move
+     * from the deepest search it finished
+     * @param budget the time budget
+     */
+    public void setTimeBudget(Duration budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Finds the best move for a player when the bag is empty. The
+     * board is copied once and is not changed
+     * @param board the board to play on
+     * @param tray the tiles of the player to move
+     * @param opponent the tiles of the other player
+     * @return the best move and the spread it leads to
+     */
+    public EndgameResult solve(Board board, List<Tile> tray,
+                               List<Tile> opponent) {
+        return solve(board, tray, opponent, budget);
+    }
+
+    /**
+     * Finds the best move for a player when the bag is empty within
+     * a time budget given for this solve alone
+     * @param board the board to play on
+     * @param tray the tiles of the player to move
+     * @param opponent the tiles of the other player
+     * @param budget how long the solve can take
+     * @return the best move from the deepest search that finished
+     */
+    public EndgameResult solve(Board board, List<Tile> tray,
+                               List<Tile> opponent, Duration budget) {
+        //Finding the moves of both racks counts against the budget
+        deadline = System.nanoTime() + budget.toNanos();
+        setUp(board, tray, opponent);
+        timeUp = false;
+        nodes = 0;
+        Move best = null;
+        int bestValue = 0;
+        int depthDone = 0;
+        boolean exact = false;
+        //Each search orders moves with what the last one stored
+        for (int depth = 1; depth <= MAX_DEPTH && !exact; depth++) {
+            cutShort = false;
+            int value = negamax(0, depth, -INFINITY, INFINITY, 0, 0);
+            if (timeUp) {
+                break;
+            }
+            best = rootBest;
+            bestValue = value;
+            depthDone = depth;
+            exact = !cutShort;
+        }
+        if (depthDone == 0) {
+            //Not even one turn was searched, play the highest score
+            best = highestPooled();
+        }
+        this.board = null;
+        return new EndgameResult(best, bestValue, depthDone, nodes, exact);
+    }
+
+    /**
+     * Copies the position into the solver
+     * @param board the board to play on
+     * @param tray the tiles of the player to move
+     * @param opponent the tiles of the other player
+     */
+    private void setUp(Board board, List<Tile> tray, List<Tile> opponent) {
+        this.board = new Board(board);
+        size = board.getSize();
+        letterValues = new int[26];
+        for (char c = 'A'; c <= 'Z'; c++) {
+            letterValues[c - 'A'] = board.getTileManager().getTileValue(c);
+        }
+        trays = new Tray[] {new Tray(), new Tray()};
+        trays[0].setTiles(new ArrayList<>(tray));
+        trays[1].setTiles(new ArrayList<>(opponent));
+        racks = new Rack[2];
+        generators = new MoveGenerator[2];
+        for (int side = 0; side < 2; side++) {
+            racks[side] = new Rack(trays[side].getTiles());
+            generators[side] = MoveGenerator.create(dict, trays[side]);
+        }
+        path = new int[2 * RACK_SIZE];
+        pathLength = 0;
+        int area = size * size;
+        filled = new long[(area + 63) >>> 6];
+        crossed = new long[2][filled.length];
+        near = new boolean[2][area];
+        nearRows = new boolean[2][size];
+        anchors = new int[area];
+        for (Move[] plyKillers : killers) {
+            Arrays.fill(plyKillers, null);
+        }
+        fillPool();
+    }
+
+    /**
+     * Searches a position
+     * @param ply how many turns have been made since the root
+     * @param depth how many more turns to search
+     * @param alpha the spread the player to move already has
+     * @param beta the spread the opponent already has, as a cap
+     * @param side 0 for the player solving, 1 for the opponent
+     * @param passes 1 if the last turn was a pass otherwise 0
+     * @return the spread the player to move gets from here
+     */
+    private int negamax(int ply, int depth, int alpha, int beta, int side,
+                        int passes) {
+        nodes++;
+        if (timeUp || System.nanoTime() > deadline) {
+            timeUp = true;
+            return 0;
+        }
+        int other = 1 - side;
+        if (depth == 0) {
+            //Guess the game ends here, both lose what they hold
+            cutShort = true;
+            return leftover(other) - leftover(side);
+        }
+        //The opponent's rack is rotated so holding the same tiles
+        //as the player does not cancel out
+        long key = board.getHash(racks[0])
+                ^ Long.rotateLeft(racks[1].getHash(), 32)
+                ^ (side == 1 ? SIDE_KEY : 0) ^ (passes == 1 ? PASS_KEY : 0);
+        int index = (int) key & (tableKeys.length - 1);
+        Move hashMove = null;
+        if (tableKeys[index] == key) {
+            hashMove = tableMoves[index];
+            if (ply > 0 && tableDepths[index] >= depth) {
+                int value = tableValues[index];
+                byte flag = tableFlags[index];
+                if (flag == EXACT || (flag == LOWER && value >= beta)
+                        || (flag == UPPER && value <= alpha)) {
+                    if (tableDepths[index] < MAX_DEPTH) {
+                        cutShort = true;
+                    }
+                    return value;
+                }
+            }
+        }
+        if (depth == 1 && ply >= 2 && trays[side].size() > 1) {
+            int value = guess(ply, side, leftover(side), leftover(other));
+            store(index, key, depth, value, EXACT, guessed);
+            cutShort = true;
+            return value;
+        }
+        boolean wasCutShort = cutShort;
+        cutShort = false;
+        int originalAlpha = alpha;
+        //Only the guess is taken after the last turn searched, so its
+        //moves are not put in order and the new ones are not found
+        //unless every move goes out
+        boolean last = depth == 1 && trays[side].size() > 1;
+        int count = order(ply, side, generate(ply, side, !last),
+                hashMove, !last);
+        PooledMove[] moves = ordered[ply];
+        int tiles = trays[side].size();
+        int best = -INFINITY;
+        Move bestMove = null;
+        for (int i = 0; i < count; i++) {
+            Move move = moves[i].move;
+            int score = move.getScore();
+            int value;
+            if (moves[i].kinds.length == tiles) {
+                //Going out ends the game, the opponent's tiles come off
+                //their score and go on the player's
+                value = score + 2 * leftover(other);
+            } else if (depth == 1) {
+                //The guess after the move only needs what the move uses,
+                //so the move is not made
+                cutShort = true;
+                value = score + leftover(other) - leftover(side)
+                        + moves[i].tileValue;
+            } else if (depth == 2 && ply >= 1
+                    && trays[other].size() > 1) {
+                //The reply is only guessed, so the move is not made
+                cutShort = true;
+                value = score - guessReply(ply, side, moves[i]);
+            } else {
+                //The move's score is taken off the window of the reply
+                play(ply, side, move);
+                if (bestMove == null) {
+                    value = score - negamax(ply + 1, depth - 1,
+                            score - beta, score - alpha, other, 0);
+                } else {
+                    //Only check the move beats the best so far, and
+                    //search it again if it does
+                    value = score - negamax(ply + 1, depth - 1,
+                            score - alpha - 1, score - alpha, other, 0);
+                    if (value > alpha && value < beta && !timeUp) {
+                        value = score - negamax(ply + 1, depth - 1,
+                                score - beta, score - alpha, other, 0);
+                    }
+                }
+                unplay(ply, side, move);
+                if (timeUp) {
+                    return 0;
+                }
+            }
+            if (value > best) {
+                best = value;
+                bestMove = move;
+            }
+            alpha = Math.max(alpha, value);
+            if (alpha >= beta) {
+                addKiller(ply, move);
+                break;
+            }
+        }
+        if (alpha < beta) {
+            //Two passes in a row end the game
+            int value = (passes == 1 ? leftover(other) - leftover(side)
+                    : -negamax(ply + 1, depth - 1, -beta, -alpha, other, 1));
+            if (timeUp) {
+                return 0;
+            }
+            if (value > best) {
+                best = value;
+                bestMove = null;
+            }
+        }
+        if (ply == 0) {
+            rootBest = bestMove;
+        }
+        store(index, key, cutShort ? depth : MAX_DEPTH, best,
+                best <= originalAlpha ? UPPER
+                        : best >= beta ? LOWER : EXACT, bestMove);
+        cutShort |= wasCutShort;
+        return best;
+    }
+
+    /**
+     * Guesses the spread of the last turn searched from the moves the
+     * player had on their last turn, without searching any anchors. The
+     * moves the rack still has the tiles for are put in order once and
+     * shared by every reply the opponent tries, so the best guess is
+     * the first move nothing was played near since
+     * @param ply the ply of the turn
+     * @param side the player to move
+     * @param held the score of the tiles the player holds
+     * @param opponent the score of the tiles the opponent holds
+     * @return the spread guessed, the move it is for is put in guessed
+     */
+    private int guess(int ply, int side, int held, int opponent) {
+        nodes++;
+        Frontier frontier = frontiers[ply];
+        if (!frontier.ready) {
+            frontier.fill(moveLists.get(ply - 2), racks[side],
+                    trays[side].size());
+        }
+        markChanges(pathStarts[ply - 2]);
+        //Passing ends the game or leaves it to the opponent's guess,
+        //both lose what they hold either way
+        int best = opponent - held;
+        guessed = null;
+        PooledMove out = frontier.first(frontier.outs, frontier.outCount,
+                filled, crossed);
+        if (out != null) {
+            best = out.move.getScore() + 2 * opponent;
+            guessed = out.move;
+        }
+        PooledMove rest = frontier.first(frontier.rest, frontier.restCount,
+                filled, crossed);
+        if (rest != null && rest.move.getScore() + rest.tileValue
+                + opponent - held > best) {
+            best = rest.move.getScore() + rest.tileValue + opponent - held;
+            guessed = rest.move;
+        }
+        return best;
+    }
+
+    /**
+     * Guesses the spread of the opponent's reply to a move without
+     * making it, the guess only needs the squares it fills
+     * @param ply the ply the move is made at
+     * @param side the player making the move
+     * @param pooled the move
+     * @return the spread the opponent is guessed to get
+     */
+    private int guessReply(int ply, int side, PooledMove pooled) {
+        Move move = pooled.move;
+        int start = pathLength;
+        for (int i = 0; i < move.getLength(); i++) {
+            if (move.isPlaced(i)) {
+                path[pathLength++] = square(move, i);
+            }
+        }
+        int value = guess(ply + 1, 1 - side, leftover(1 - side),
+                leftover(side) - pooled.tileValue);
+        pathLength = start;
+        return value;
+    }
+
+    /**
+     * Generates every move of a player. A move the player could make
+     * on their last turn is still legal and scores the same if the
+     * rack has its tiles and nothing was played on or next to it and
+     * the words across it did not change since then, so those are
+     * kept and only the anchors that reach a square next to what was
+     * played are searched again. The first turn of each player starts
+     * from the moves at the root
+     * @param ply the ply to generate into
+     * @param side the player to move
+     * @param complete false to only keep the moves found before,
+     *                 which leaves the search cut short
+     * @return the moves
+     */
+    private List<PooledMove> generate(int ply, int side, boolean complete) {
+        List<PooledMove> moves = moveLists.get(ply);
+        pathStarts[ply] = pathLength;
+        frontiers[ply + 1].ready = false;
+        if (ply >= 2) {
+            collect(moves, moveLists.get(ply - 2), side,
+                    pathStarts[ply - 2], complete);
+        } else {
+            collect(moves, pool.get(side), side, 0, complete);
+        }
+        return moves;
+    }
+
+    /**
+     * Collects the moves of a player from the moves they had at an
+     * earlier point on the path
+     * @param moves the list to put the moves in
+     * @param source the moves at the earlier point
+     * @param side the player the moves are for
+     * @param from the index of the path the earlier point was at
+     * @param complete false to only keep the moves from source,
+     *                 which leaves the search cut short
+     */
+    private void collect(List<PooledMove> moves, List<PooledMove> source,
+                         int side, int from, boolean complete) {
+        moves.clear();
+        markChanges(from);
+        for (PooledMove pooled : source) {
+            if (pooled.fits(racks[side]) && !pooled.touches(filled,
+                    crossed[pooled.move.getOrientation()])) {
+                moves.add(pooled);
+            }
+        }
+        if (pathLength > from && !complete) {
+            cutShort = true;
+        } else if (pathLength > from) {
+            MoveGenerator generator = generators[side];
+            generator.reset();
+            generator.setMoveConsumer(collector);
+            collector.moves = moves;
+            collector.onlyTouched = true;
+            for (int o = Board.ACROSS; o <= Board.DOWN; o++) {
+                BoardView view = board.getView(o);
+                int count = nearAnchors(view, o, trays[side].size());
+                if (count > 0) {
+                    generator.calcMoves(view, anchors, 0, count);
+                }
+            }
+            collector.onlyTouched = false;
+            generator.setMoveConsumer(null);
+        }
+    }
+
+    /**
+     * Puts the moves of a ply in the order to try them, the table
+     * move, the killers, moves going out highest first and then the
+     * rest by their score plus the value of the tiles they place,
+     * which is what they are worth if the game ends after them
+     * @param ply the ply the moves are for
+     * @param side the player to move
+     * @param moves the moves
+     * @param hashMove the best move last time, null if there is none
+     * @param sort false to keep the moves in the order they were found
+     * @return how many moves there are
+     */
+    private int order(int ply, int side, List<PooledMove> moves,
+                      Move hashMove, boolean sort) {
+        int count = moves.size();
+        if (ordered[ply].length < count) {
+            ordered[ply] = new PooledMove[count * 2];
+        }
+        PooledMove[] plyOrder = ordered[ply];
+        if (!sort) {
+            moves.toArray(plyOrder);
+            return count;
+        }
+        if (orderKeys.length < count) {
+            orderKeys = new long[count * 2];
+        }
+        int tiles = trays[side].size();
+        int out = 2 * leftover(1 - side);
+        Move[] plyKillers = killers[ply];
+        for (int i = 0; i < count; i++) {
+            Move move = moves.get(i).move;
+            int key;
+            if (move.equals(hashMove)) {
+                key = HASH_ORDER;
+            } else if (move.equals(plyKillers[0])) {
+                key = KILLER_ORDER + 1;
+            } else if (move.equals(plyKillers[1])) {
+                key = KILLER_ORDER;
+            } else if (moves.get(i).kinds.length == tiles) {
+                key = OUT_ORDER + move.getScore() + out;
+            } else {
+                key = move.getScore() + moves.get(i).tileValue;
+            }
+            //Highest key first, found first on a tie
+            orderKeys[i] = (long) -key << 32 | i;
+        }
+        Arrays.sort(orderKeys, 0, count);
+        for (int i = 0; i < count; i++) {
+            plyOrder[i] = moves.get((int) orderKeys[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Remembers a move that cut off a search at a ply, the two most
+     * recent are tried early in the other positions at that ply
+     * @param ply the ply of the cut off
+     * @param move the move
+     */
+    private void addKiller(int ply, Move move) {
+        Move[] plyKillers = killers[ply];
+        if (!move.equals(plyKillers[0])) {
+            plyKillers[1] = plyKillers[0];
+            plyKillers[0] = move;
+        }
+    }
+
+    /**
+     * Generates every move of both racks on the root board into
+     * the pool, by player
+     */
+    private void fillPool() {
+        pool.clear();
+        for (int side = 0; side < 2; side++) {
+            List<PooledMove> moves = new ArrayList<>();
+            MoveGenerator generator = generators[side];
+            generator.reset();
+            generator.setMoveConsumer(collector);
+            collector.moves = moves;
+            generator.calcMoves(board.getView(Board.ACROSS));
+            generator.calcMoves(board.getView(Board.DOWN));
+            generator.setMoveConsumer(null);
+            pool.add(moves);
+        }
+        collector.moves = null;
+    }
+
+    /**
+     * Gets the highest scoring move of the player solving from the
+     * pool, which is filled before the search can run out of time
+     * @return the move, null if the player has no moves
+     */
+    private Move highestPooled() {
+        Move best = null;
+        for (PooledMove pooled : pool.get(0)) {
+            if (best == null || pooled.move.getScore() > best.getScore()) {
+                best = pooled.move;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Marks what changed since a point on the path, the squares on
+     * the path are filled whether or not they are on the board yet.
+     * A square filled
+     * changes the moves next to it along both views, and the empty
+     * squares at the ends of the runs of tiles through it get new
+     * cross words, which changes the moves across them in the other
+     * view
+     * @param from the index of the path to mark the squares from
+     */
+    private void markChanges(int from) {
+        Arrays.fill(filled, 0);
+        for (int o = Board.ACROSS; o <= Board.DOWN; o++) {
+            Arrays.fill(crossed[o], 0);
+            Arrays.fill(near[o], false);
+            Arrays.fill(nearRows[o], false);
+        }
+        for (int i = from; i < pathLength; i++) {
+            setBit(filled, path[i]);
+        }
+        for (int i = from; i < pathLength; i++) {
+            int row = path[i] / size;
+            int col = path[i] % size;
+            markNear(Board.ACROSS, row, col);
+            markNear(Board.DOWN, col, row);
+            //Moves across make words down the columns
+            int top = row;
+            while (top >= 0 && occupied(top, col)) {
+                top--;
+            }
+            markCrossed(Board.ACROSS, top, col);
+            int bottom = row;
+            while (bottom < size && occupied(bottom, col)) {
+                bottom++;
+            }
+            markCrossed(Board.ACROSS, bottom, col);
+            //Moves down make words along the rows
+            int left = col;
+            while (left >= 0 && occupied(row, left)) {
+                left--;
+            }
+            markCrossed(Board.DOWN, row, left);
+            int right = col;
+            while (right < size && occupied(row, right)) {
+                right++;
+            }
+            markCrossed(Board.DOWN, row, right);
+        }
+    }
+
+    /**
+     * Check if a square has a tile on the board or is filled by a
+     * move that is only being guessed after
+     * @param row the row of the square
+     * @param col the col of the square
+     * @return true if the square is filled
+     */
+    private boolean occupied(int row, int col) {
+        return !board.isEmpty(row, col) || getBit(filled, row * size + col);
+    }
+
+    /**
+     * Marks a square whose cross word changed for moves of an
+     * orientation
+     * @param orientation the orientation of the moves
+     * @param row the row of the square on the board, can be off it
+     * @param col the col of the square on the board, can be off it
+     */
+    private void markCrossed(int orientation, int row, int col) {
+        if (row < 0 || row >= size || col < 0 || col >= size) {
+            return;
+        }
+        setBit(crossed[orientation], row * size + col);
+        if (orientation == Board.ACROSS) {
+            markNear(orientation, row, col);
+        } else {
+            markNear(orientation, col, row);
+        }
+    }
+
+    /**
+     * Marks a square of a view that moves near it have to be found
+     * again for
+     * @param orientation the orientation of the view
+     * @param row the row of the view
+     * @param col the col of the view
+     */
+    private void markNear(int orientation, int row, int col) {
+        near[orientation][row * size + col] = true;
+        nearRows[orientation][row] = true;
+    }
+
+    /**
+     * Finds the anchors of a view that have a move next to a change.
+     * A move is made from the leftmost anchor it covers, so it starts
+     * after the anchor before that one and places at most the rack to
+     * the right of it
+     * @param view the view of the board
+     * @param orientation the orientation of the view
+     * @param tiles how many tiles the player has
+     * @return how many anchors were put in anchors
+     */
+    private int nearAnchors(BoardView view, int orientation, int tiles) {
+        boolean[] nearView = near[orientation];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (!nearRows[orientation][row]) {
+                continue;
+            }
+            int line = row * size;
+            int previous = -1;
+            for (int col = 0; col < size; col++) {
+                if (!view.isAnchor(row, col)) {
+                    continue;
+                }
+                boolean reaches = false;
+                for (int d = Math.max(previous, 0); d < col && !reaches;
+                     d++) {
+                    reaches = nearView[line + d];
+                }
+                int empties = 0;
+                for (int d = col; d < size && !reaches && empties <= tiles;
+                     d++) {
+                    reaches = nearView[line + d];
+                    if (view.isEmpty(row, d)) {
+                        empties++;
+                    }
+                }
+                if (reaches) {
+                    anchors[count++] = line + col;
+                }
+                previous = col;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Sets a bit of a bit set
+     * @param bits the bit set
+     * @param index the bit
+     */
+    private static void setBit(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    /**
+     * Gets a bit of a bit set
+     * @param bits the bit set
+     * @param index the bit
+     * @return true if it is set
+     */
+    private static boolean getBit(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Stores a searched position in the table unless a deeper
+     * search of another position is there
+     * @param index the index of the entry
+     * @param key the hash of the position
+     * @param depth how deep the position was searched
+     * @param value the spread found
+     * @param flag EXACT, LOWER if the value is at least the spread or
+     *             UPPER if it is at most the spread
+     * @param move the best move found, null for a pass
+     */
+    private void store(int index, long key, int depth, int value, byte flag,
+                       Move move) {
+        if (tableKeys[index] != key && tableDepths[index] > depth) {
+            return;
+        }
+        tableKeys[index] = key;
+        tableDepths[index] = (byte) depth;
+        tableValues[index] = value;
+        tableFlags[index] = flag;
+        tableMoves[index] = move;
+    }
+
+    /**
+     * Makes a move on the board and takes its tiles from a rack
+     * @param ply the ply the move is made at
+     * @param side the player making the move
+     * @param move the move
+     */
+    private void play(int ply, int side, Move move) {
+        List<Tile> rack = trays[side].getTiles();
+        int taken = 0;
+        String word = move.getWord();
+        for (int i = 0; i < move.getLength(); i++) {
+            if (!move.isPlaced(i)) {
+                continue;
+            }
+            char c = word.charAt(i);
+            boolean blank = move.isBlank(i);
+            for (int j = 0; j < rack.size(); j++) {
+                Tile t = rack.get(j);
+                if (blank ? t.isBlank()
+                        : (!t.isBlank() && t.getCharacter() == c)) {
+                    removed[ply][taken++] = rack.remove(j);
+                    racks[side].take(kind(t));
+                    break;
+                }
+            }
+            path[pathLength++] = square(move, i);
+        }
+        board.makeMove(move);
+    }
+
+    /**
+     * Takes back a move made by play
+     * @param ply the ply the move was made at
+     * @param side the player that made the move
+     * @param move the move
+     */
+    private void unplay(int ply, int side, Move move) {
+        board.unmakeMove();
+        List<Tile> rack = trays[side].getTiles();
+        int taken = 0;
+        for (int i = 0; i < move.getLength(); i++) {
+            if (!move.isPlaced(i)) {
+                continue;
+            }
+            Tile t = removed[ply][taken];
+            removed[ply][taken++] = null;
+            rack.add(t);
+            racks[side].put(kind(t));
+            pathLength--;
+        }
+    }
+
+    /**
+     * Gets the total score of the tiles a player holds
+     * @param side the player
+     * @return the score of their rack
+     */
+    private int leftover(int side) {
+        return trays[side].getTrayScore();
+    }
+
+    /**
+     * Gets the square a letter of a move is on
+     * @param move the move
+     * @param index the index of the letter
+     * @return row * size + col of the square
+     */
+    private int square(Move move, int index) {
+        return (move.getOrientation() == Board.DOWN
+                ? (move.getRow() + index) * size + move.getCol()
+                : move.getRow() * size + move.getCol() + index);
+    }
+
+    /**
+     * Gets the kind of a tile in a rack
+     * @param t the tile
+     * @return 0 to 25 for letters, Rack.BLANK for blanks
+     */
+    private static int kind(Tile t) {
+        return (t.isBlank() ? Rack.BLANK : t.getCharacter() - 'A');
+    }
+
+    /**
+     * Collects the moves of one ply. A move placing one tile is found
+     * both across and down when it makes words both ways, only the
+     * across one is kept
+     */
+    private class Collector implements Consumer<Move> {
+        private List<PooledMove> moves;
+        //Moves nothing changed near are kept from the last turn, only
+        //the others are added when this is set
+        private boolean onlyTouched;
+
+        /**
+         * Adds a move unless it was already found across
+         * @param move the move
+         */
+        @Override
+        public void accept(Move move) {
+            if (move.getOrientation() == Board.DOWN
+                    && Long.bitCount(move.getPlaced()) == 1) {
+                int row = move.getRow()
+                        + Long.numberOfTrailingZeros(move.getPlaced());
+                int col = move.getCol();
+                if ((col > 0 && !board.isEmpty(row, col - 1))
+                        || (col + 1 < size && !board.isEmpty(row, col + 1))) {
+                    return;
+                }
+            }
+            PooledMove pooled = new PooledMove(move, size, filled.length,
+                    letterValues);
+            if (!onlyTouched || pooled.touches(filled,
+                    crossed[move.getOrientation()])) {
+                moves.add(pooled);
+            }
+        }
+    }
+
+    /**
+     * A move that was found, the tiles it takes from the rack and the
+     * squares that have to stay the same for it to stay legal
+     */
+    private static class PooledMove {
+        private final Move move;
+        //The kind of each tile placed, smallest first, and their score
+        private final int[] kinds;
+        private final int tileValue;
+        //The squares of the word and the ones before and after it,
+        //and the squares it places on
+        private final long[] span;
+        private final long[] placed;
+
+        /**
+         * Create a pooled move
+         * @param move the move
+         * @param size the size of the board
+         * @param words how many longs a bit set of the board takes
+         * @param letterValues the score of each letter
+         */
+        PooledMove(Move move, int size, int words, int[] letterValues) {
+            this.move = move;
+            kinds = new int[Long.bitCount(move.getPlaced())];
+            span = new long[words];
+            placed = new long[words];
+            boolean down = move.getOrientation() == Board.DOWN;
+            int along = (down ? move.getRow() : move.getCol());
+            int n = 0;
+            int value = 0;
+            for (int i = -1; i <= move.getLength(); i++) {
+                if (along + i < 0 || along + i >= size) {
+                    continue;
+                }
+                int square = (down ? (move.getRow() + i) * size
+                        + move.getCol() : move.getRow() * size
+                        + move.getCol() + i);
+                setBit(span, square);
+                if (i >= 0 && i < move.getLength() && move.isPlaced(i)) {
+                    setBit(placed, square);
+                    kinds[n] = (move.isBlank(i) ? Rack.BLANK
+                            : move.getWord().charAt(i) - 'A');
+                    value += (move.isBlank(i) ? 0 : letterValues[kinds[n]]);
+                    n++;
+                }
+            }
+            Arrays.sort(kinds);
+            tileValue = value;
+        }
+
+        /**
+         * Check if a rack still has the tiles for the move
+         * @param rack the tiles the player has left
+         * @return true if the move can be made from the rack
+         */
+        boolean fits(Rack rack) {
+            for (int i = 0; i < kinds.length; ) {
+                int j = i;
+                while (j < kinds.length && kinds[j] == kinds[i]) {
+                    j++;
+                }
+                if (rack.getCount(kinds[i]) < j - i) {
+                    return false;
+                }
+                i = j;
+            }
+            return true;
+        }
+
+        /**
+         * Check if anything played since the move was found changed it
+         * @param filled the squares filled since it was found
+         * @param crossed the squares whose cross words changed for
+         *                moves of the orientation of this one
+         * @return true if a square of the word or next to it was
+         * filled or a square it places on has a new cross word
+         */
+        boolean touches(long[] filled, long[] crossed) {
+            for (int i = 0; i < span.length; i++) {
+                if ((span[i] & filled[i]) != 0
+                        || (placed[i] & crossed[i]) != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * The moves of a player's last turn the rack still has the tiles
+     * for, the ones going out by score and the rest by score plus the
+     * tiles they place
+     */
+    private static class Frontier {
+        private final static Comparator<PooledMove> BY_SCORE =
+                Comparator.comparingInt(pooled -> -pooled.move.getScore());
+        private final static Comparator<PooledMove> BY_GUESS =
+                Comparator.comparingInt(pooled -> -pooled.move.getScore()
+                        - pooled.tileValue);
+        private PooledMove[] outs = new PooledMove[0];
+        private PooledMove[] rest = new PooledMove[0];
+        private int outCount;
+        private int restCount;
+        //False when the moves are for a turn that is no longer searched
+        private boolean ready;
+
+        /**
+         * Fills the moves from the last turn of the player
+         * @param moves the moves of the last turn
+         * @param rack the tiles the player has left
+         * @param tiles how many tiles the player has left
+         */
+        void fill(List<PooledMove> moves, Rack rack, int tiles) {
+            if (outs.length < moves.size()) {
+                outs = new PooledMove[moves.size()];
+                rest = new PooledMove[moves.size()];
+            }
+            outCount = 0;
+            restCount = 0;
+            for (PooledMove pooled : moves) {
+                if (!pooled.fits(rack)) {
+                    continue;
+                }
+                if (pooled.kinds.length == tiles) {
+                    outs[outCount++] = pooled;
+                } else {
+                    rest[restCount++] = pooled;
+                }
+            }
+            Arrays.sort(outs, 0, outCount, BY_SCORE);
+            Arrays.sort(rest, 0, restCount, BY_GUESS);
+            ready = true;
+        }
+
+        /**
+         * Gets the first move nothing was played near since it was found
+         * @param moves the moves in order
+         * @param count how many moves there are
+         * @param filled the squares filled since the moves were found
+         * @param crossed the squares whose cross words changed since
+         *                then, by orientation
+         * @return the move, null if every move was changed
+         */
+        PooledMove first(PooledMove[] moves, int count, long[] filled,
+                         long[][] crossed) {
+            for (int i = 0; i < count; i++) {
+                PooledMove pooled = moves[i];
+                if (!pooled.touches(filled,
+                        crossed[pooled.move.getOrientation()])) {
+                    return pooled;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/**
+ * @author Elijah Johnson
+ * @description Plays whole games between two cpu players without the
+ * gui, so no JavaFX classes are ever loaded. Each player is a
+ * CPUPlayer set up by a strategy, such as a leave table or a
+ * simulator. The tiles of a game are drawn with a seed so a game can
+ * be played again, and games share nothing but the dictionary so any
+ * number of them are played at once. Made for tuning players and
+ * generating leave tables from self play
+ */
+
+package scrabble.engine;
+
+import scrabble.*;
+import scrabble.Dictionary;
+import scrabble.leave.LeaveTable;
+import scrabble.player.CPUPlayer;
+import scrabble.player.MoveGenerator;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+public class GameEngine {
+    private final static String LETTER_DIS
+            = "/default_letter_distributions.txt";
+    private final static String DEFAULT_BOARD = "/default_board.txt";
+    private final static int RACK_SIZE = 7;
+    //A game ends after this many turns in a row without a move
+    private final static int MAX_PASSES = 6;
+    private final static long SEED = 0;
+
+    private final Dictionary dict;
+    private final String letters;
+    private final String layout;
+    private final List<Consumer<CPUPlayer>> strategies;
+
+    /**
+     * Create an engine for the default board and tiles, both
+     * players play the highest score until a strategy is set
+     * @param dict the dictionary to generate words from
+     * @throws IOException if the default board or tiles could not be read
+     */
+    public GameEngine(Dictionary dict) throws IOException {
+        this.dict = MoveGenerator.searchable(dict);
+        letters = readResource(LETTER_DIS);
+        layout = readResource(DEFAULT_BOARD);
+        strategies = new ArrayList<>();
+        strategies.add(null);
+        strategies.add(null);
+    }
+
+    /**
+     * Sets how a player is set up at the start of every game
+     * @param player 0 or 1
+     * @param strategy sets up the cpu player, null to play the
+     *                 highest score
+     */
+    public void setStrategy(int player, Consumer<CPUPlayer> strategy) {
+        strategies.set(player, strategy);
+    }
+
+    /**
+     * Plays a game on the current thread
+     * @param first the player that moves first, 0 or 1
+     * @param seed the seed to draw tiles with
+     * @return the result of the game
+     */
+    public GameResult play(int first, long seed) {
+        TileManager manager = new TileManager();
+        manager.initialize(new BufferedReader(new StringReader(letters)));
+        manager.setRandom(new Random(seed));
+        Board board = new Board();
+        if (!board.initialize(new BufferedReader(new StringReader(layout)),
+                manager)) {
+            throw new IllegalStateException("Default board is incorrect");
+        }
+        CPUPlayer[] players = new CPUPlayer[2];
+        for (int i = 0; i < 2; i++) {
+            players[i] = new CPUPlayer(manager, board,
+                    manager.drawTray(RACK_SIZE));
+            Consumer<CPUPlayer> strategy = strategies.get(i);
+            if (strategy != null) {
+                strategy.accept(players[i]);
+            }
+        }
+        int[] scores = new int[2];
+        int player = first;
+        int passes = 0;
+        int turns = 0;
+        while (passes < MAX_PASSES) {
+            CPUPlayer cpu = players[player];
+            cpu.takeTurn(dict);
+            turns++;
+            //Trading in the tray or passing leaves no word
+            if (cpu.getLastWordPlayed() == null) {
+                passes++;
+            } else {
+                scores[player] += cpu.getLastWordPlayedScore();
+                passes = 0;
+                if (cpu.isHandEmpty()) {
+                    break;
+                }
+            }
+            player = 1 - player;
+        }
+        //Tiles left count against their player, going out earns them
+        for (int i = 0; i < 2; i++) {
+            int left = players[i].getLeftoverTileScore();
+            scores[i] -= left;
+            if (players[1 - i].isHandEmpty()) {
+                scores[1 - i] += left;
+            }
+        }
+        return new GameResult(scores, first, turns, seed);
+    }
+
+    /**
+     * Plays games in parallel, the players take turns going first
+     * @param games how many games to play
+     * @param seed the seed of the first game, each game after
+     *             it uses the next seed
+     * @return the results in the order the games were started
+     */
+    public GameResult[] playGames(int games, long seed) {
+        return IntStream.range(0, games).parallel()
+                .mapToObj(i -> play(i % 2, seed + i))
+                .toArray(GameResult[]::new);
+    }
+
+    /**
+     * Reads one of the resource files
+     * @param name the name of the resource
+     * @return the whole resource
+     * @throws IOException if it could not be read
+     */
+    private static String readResource(String name) throws IOException {
+        InputStream in = GameEngine.class.getResourceAsStream(name);
+        if (in == null) {
+            throw new IOException("Missing resource " + name);
+        }
+        StringBuilder sb = new StringBuilder();
+        try (BufferedReader br = new BufferedReader(
+                new InputStreamReader(in))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                sb.append(line).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Makes the strategy of a player that picks moves by equity
+     * @param file the leave table file, null to play the highest score
+     * @return the strategy, null for the highest score
+     * @throws IOException if the leave table could not be read
+     */
+    private static Consumer<CPUPlayer> leaveStrategy(String file)
+            throws IOException {
+        if (file == null) {
+            return null;
+        }
+        LeaveTable leaves = new LeaveTable(new File(file).toPath());
+        return cpu -> cpu.setLeaveTable(leaves);
+    }
+
+    /**
+     * Plays games between two cpu players and prints how they did
+     * @param args the dictionary file, how many games to play and
+     *             optionally a leave table for each player, a player
+     *             without one plays the highest score
+     */
+    public static void main(String[] args) {
+        if (args.length < 2 || args.length > 4) {
+            System.out.println("Usage: java GameEngine [DICT FILE] [GAMES] "
+                    + "[LEAVE FILE] [LEAVE FILE]");
+            return;
+        }
+        int games;
+        try {
+            games = Integer.parseInt(args[1]);
+        } catch (NumberFormatException e) {
+            System.out.println("Games must be a number");
+            return;
+        }
+        GameEngine engine;
+        try {
+            engine = new GameEngine(DictionaryFactory.loadDict(
+                    new File(args[0])));
+            for (int i = 0; i < 2; i++) {
+                engine.setStrategy(i, leaveStrategy(
+                        args.length > i + 2 ? args[i + 2] : null));
+            }
+        } catch (IOException e) {
+            System.out.println("Could not read dictionary or leave file");
+            return;
+        }
+        long start = System.nanoTime();
+        GameResult[] results = engine.playGames(games, SEED);
+        long elapsed = System.nanoTime() - start;
+        int[] wins = new int[2];
+        long[] totals = new long[2];
+        long turns = 0;
+        for (GameResult result : results) {
+            if (result.getWinner() != -1) {
+                wins[result.getWinner()]++;
+            }
+            totals[0] += result.getScore(0);
+            totals[1] += result.getScore(1);
+            turns += result.getTurns();
+        }
+        int played = Math.max(results.length, 1);
+        System.out.println("Played " + results.length + " games in "
+                + elapsed / 1000000 + "ms, "
+                + results.length * 60000000000L / Math.max(elapsed, 1)
+                + " games a minute");
+        System.out.println("Player 1 won " + wins[0] + ", player 2 won "
+                + wins[1] + ", tied " + (results.length - wins[0] - wins[1]));
+        System.out.println("Average score " + totals[0] / played + " to "
+                + totals[1] / played + ", " + turns / played
+                + " turns a game");
+    }
+}
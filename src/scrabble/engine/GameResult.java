@@ -0,0 +1,90 @@
+/**
+ * @author Elijah Johnson
+ * @description The result of one game played by the game engine, the
+ * final scores of both players after the tiles left in their trays
+ * are counted
+ */
+
+package scrabble.engine;
+
+public class GameResult {
+    private final int[] scores;
+    private final int first;
+    private final int turns;
+    private final long seed;
+
+    /**
+     * Create a result
+     * @param scores the final score of each player
+     * @param first the player that moved first, 0 or 1
+     * @param turns how many turns were taken, passes included
+     * @param seed the seed the tiles were drawn with
+     */
+    GameResult(int[] scores, int first, int turns, long seed) {
+        this.scores = scores;
+        this.first = first;
+        this.turns = turns;
+        this.seed = seed;
+    }
+
+    /**
+     * Gets the final score of a player
+     * @param player 0 or 1
+     * @return the score
+     */
+    public int getScore(int player) {
+        return scores[player];
+    }
+
+    /**
+     * Gets how far ahead player 0 finished
+     * @return the score of player 0 minus the score of player 1
+     */
+    public int getSpread() {
+        return scores[0] - scores[1];
+    }
+
+    /**
+     * Gets the player that won
+     * @return 0 or 1, -1 for a tie
+     */
+    public int getWinner() {
+        int spread = getSpread();
+        return (spread == 0 ? -1 : (spread > 0 ? 0 : 1));
+    }
+
+    /**
+     * Gets the player that moved first
+     * @return 0 or 1
+     */
+    public int getFirst() {
+        return first;
+    }
+
+    /**
+     * Gets how many turns the game took
+     * @return the turns, passes included
+     */
+    public int getTurns() {
+        return turns;
+    }
+
+    /**
+     * Gets the seed the tiles were drawn with, playing the seed again
+     * with the same players plays the same game
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Display the result as a string
+     * @return the scores, who went first and how long the game was
+     */
+    @Override
+    public String toString() {
+        return scores[0] + " to " + scores[1] + ", player " + (first + 1)
+                + " first, " + turns + " turns, seed " + seed;
+    }
+}
@@ -0,0 +1,150 @@
+/**
+ * @author Elijah Johnson
+ * @description Packed gaddag, every word is stored once for each
+ * letter it can be played through. A word a1..an is stored as
+ * ai..a1 ^ ai+1..an for every i, with no separator when i is n,
+ * so move generation can start at an anchor and grow left
+ * then right without walking prefixes that go nowhere
+ */
+
+package scrabble.gaddag;
+
+import scrabble.dawg.PackedDawg;
+import scrabble.dawg.PackedDawgBuilder;
+import scrabble.dawg.PackedDawgNode;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class Gaddag extends PackedDawg {
+    /**
+     * Creates an empty gaddag, insert needs to be
+     * called before it can be searched
+     */
+    public Gaddag() {
+        super();
+    }
+
+    /**
+     * Check if a word is in the gaddag, a word is found by
+     * walking it backwards without a separator
+     * @param word the word to check
+     * @return true if the word is in the gaddag otherwise false
+     */
+    @Override
+    public boolean search(String word) {
+        int state = getRootState();
+        for (int i = word.length() - 1; i >= 0 && state != -1; i--) {
+            state = transition(state, word.charAt(i));
+        }
+        return (state != -1 && isWord(state));
+    }
+
+    /**
+     * Gets a hash of the words in the gaddag, the same as the hash of
+     * a dawg of the same words. The paths without a separator are the
+     * words walked backwards
+     * @return the hash of every word
+     */
+    @Override
+    public long getWordHash() {
+        return hashWords(rootNode, 0, 1, true);
+    }
+
+    /**
+     * Finds the letters that make a word when placed between
+     * prefix and suffix. The reversed prefix and the separator are
+     * walked once, then every letter is tried with the suffix. With
+     * no prefix the reversed suffix is walked and every letter that
+     * ends a word is valid
+     * @param prefix the letters before the square
+     * @param suffix the letters after the square
+     * @return the mask of valid letters, bit i is 'A' + i
+     */
+    @Override
+    public int crossCheck(String prefix, String suffix) {
+        int state = getRootState();
+        if (prefix.isEmpty()) {
+            for (int i = suffix.length() - 1; i >= 0 && state != -1; i--) {
+                state = transition(state, suffix.charAt(i));
+            }
+            return (state == -1 ? 0 : crossCheckFrom(state, ""));
+        }
+        for (int i = prefix.length() - 1; i >= 0 && state != -1; i--) {
+            state = transition(state, prefix.charAt(i));
+        }
+        if (state != -1) {
+            state = transition(state, SEPARATOR);
+        }
+        return (state == -1 ? 0 : crossCheckFrom(state, suffix));
+    }
+
+    /**
+     * Insert words from a dictionary file into the gaddag
+     * @param br the file containing the dictionary each word
+     *           is separated by new lines
+     */
+    @Override
+    public void insert(BufferedReader br) {
+        List<String> words = new ArrayList<>();
+        try {
+            String curr;
+            //Read all lines of dictionary
+            while ((curr = br.readLine()) != null) {
+                if (!curr.isEmpty()) {
+                    words.add(curr.toUpperCase());
+                }
+            }
+            br.close();
+        } catch (IOException e) {
+            System.out.println("Could not read dictionary file");
+        }
+
+        PackedDawgBuilder builder = new PackedDawgBuilder();
+        List<String> paths = new ArrayList<>();
+        StringBuilder sb = new StringBuilder();
+        //Every path starts with a letter of a word, adding one
+        //starting letter at a time keeps the paths sorted without
+        //holding every path in memory at once
+        for (char first = 'A'; first <= 'Z'; first++) {
+            paths.clear();
+            for (String word : words) {
+                for (int i = 0; i < word.length(); i++) {
+                    if (word.charAt(i) == first) {
+                        paths.add(buildPath(sb, word, i + 1));
+                    }
+                }
+            }
+            Collections.sort(paths);
+            for (String path : paths) {
+                builder.add(path);
+            }
+        }
+        edges = builder.getEdges();
+        rootNode = builder.getRootIndex();
+        root = new PackedDawgNode(this, getRootState());
+    }
+
+    /**
+     * Builds the path stored for a word played through the
+     * split'th letter
+     * @param sb the string builder to reuse
+     * @param word the word
+     * @param split how many letters are reversed before the separator
+     * @return the reversed prefix, the separator and the suffix
+     */
+    private static String buildPath(StringBuilder sb, String word, int split) {
+        sb.setLength(0);
+        for (int i = split - 1; i >= 0; i--) {
+            sb.append(word.charAt(i));
+        }
+        if (split < word.length()) {
+            sb.append(SEPARATOR);
+            sb.append(word, split, word.length());
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,196 @@
+/**
+ * @author Elijah Johnson
+ * @description Values of the tiles a player keeps after a move. Every
+ * sorted leave of up to MAX_LEAVE tiles has a rank in the combinatorial
+ * number system, and the table is a flat array of floats indexed by
+ * that rank so a lookup is a few adds and one read. Tables built by
+ * LeaveTableBuilder are memory mapped instead of read onto the heap
+ */
+
+package scrabble.leave;
+
+import scrabble.Rack;
+
+import java.io.*;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class LeaveTable {
+    /**
+     * The most tiles a leave can have, a move places at least one
+     */
+    public static final int MAX_LEAVE = 6;
+
+    /**
+     * File header, every value is a big endian int
+     * magic, version, max leave, entry count
+     */
+    public static final int MAGIC = 0x4C454156;
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 4 * Integer.BYTES;
+
+    //Kinds of tile, the letters and the blank
+    private static final int KINDS = Rack.BLANK + 1;
+    //STEP[i * KINDS + t] is what tile t adds to the rank as the
+    //i'th smallest tile, (t + i) choose (i + 1)
+    private static final int[] STEP;
+    //Rank of the first leave of each size
+    private static final int[] OFFSET;
+
+    /**
+     * How many leaves the table has a value for
+     */
+    public static final int ENTRIES;
+
+    static {
+        int maxN = KINDS + MAX_LEAVE;
+        int[][] choose = new int[maxN + 1][MAX_LEAVE + 2];
+        for (int n = 0; n <= maxN; n++) {
+            choose[n][0] = 1;
+            for (int k = 1; k <= Math.min(n, MAX_LEAVE + 1); k++) {
+                choose[n][k] = choose[n - 1][k - 1]
+                        + (k < n ? choose[n - 1][k] : 0);
+            }
+        }
+        STEP = new int[MAX_LEAVE * KINDS];
+        for (int i = 0; i < MAX_LEAVE; i++) {
+            for (int t = 0; t < KINDS; t++) {
+                STEP[i * KINDS + t] = choose[t + i][i + 1];
+            }
+        }
+        OFFSET = new int[MAX_LEAVE + 2];
+        for (int k = 0; k <= MAX_LEAVE; k++) {
+            //Multisets of k tiles out of KINDS kinds
+            OFFSET[k + 1] = OFFSET[k] + choose[KINDS + k - 1][k];
+        }
+        ENTRIES = OFFSET[MAX_LEAVE + 1];
+    }
+
+    private final FloatBuffer values;
+
+    /**
+     * Maps a table file written by LeaveTableBuilder
+     * @param path the table file
+     * @throws IOException if the file cannot be mapped or is not
+     * a leave table of the current version
+     */
+    public LeaveTable(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    channel.size());
+        }
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a leave table file");
+        }
+        if (buffer.getInt(Integer.BYTES) != VERSION
+                || buffer.getInt(2 * Integer.BYTES) != MAX_LEAVE
+                || buffer.getInt(3 * Integer.BYTES) != ENTRIES) {
+            throw new IOException("Unsupported leave table version "
+                    + buffer.getInt(Integer.BYTES));
+        }
+        buffer.position(HEADER_SIZE);
+        values = buffer.slice().asFloatBuffer();
+        if (values.limit() < ENTRIES) {
+            throw new IOException("Leave table file is truncated");
+        }
+    }
+
+    /**
+     * Create a table from values already in memory
+     * @param values the value of every leave by rank, ENTRIES long
+     */
+    public LeaveTable(float[] values) {
+        if (values.length != ENTRIES) {
+            throw new IllegalArgumentException("Leave table needs "
+                    + ENTRIES + " values");
+        }
+        this.values = FloatBuffer.wrap(values);
+    }
+
+    /**
+     * Gets the rank of the tiles in a rack
+     * @param rack the tiles that are left
+     * @return the rank or -1 if there are more than MAX_LEAVE tiles
+     */
+    public static int rank(Rack rack) {
+        int size = rack.size();
+        if (size > MAX_LEAVE) {
+            return -1;
+        }
+        int rank = OFFSET[size];
+        int step = 0;
+        for (int mask = rack.getLetterMask(); mask != 0; mask &= mask - 1) {
+            int letter = Integer.numberOfTrailingZeros(mask);
+            for (int c = rack.getCount(letter); c > 0; c--) {
+                rank += STEP[step + letter];
+                step += KINDS;
+            }
+        }
+        for (int c = rack.getBlanks(); c > 0; c--) {
+            rank += STEP[step + Rack.BLANK];
+            step += KINDS;
+        }
+        return rank;
+    }
+
+    /**
+     * Gets the rank of a sorted leave
+     * @param tiles the tiles 0 to 25 for letters or Rack.BLANK,
+     *              smallest first
+     * @param size how many tiles are in the leave
+     * @return the rank or -1 if there are more than MAX_LEAVE tiles
+     */
+    public static int rank(int[] tiles, int size) {
+        if (size > MAX_LEAVE) {
+            return -1;
+        }
+        int rank = OFFSET[size];
+        for (int i = 0; i < size; i++) {
+            rank += STEP[i * KINDS + tiles[i]];
+        }
+        return rank;
+    }
+
+    /**
+     * Gets the value of keeping the tiles in a rack
+     * @param rack the tiles that are left after a move
+     * @return the value in points, 0 for a full rack
+     */
+    public float getValue(Rack rack) {
+        int rank = rank(rack);
+        return (rank == -1 ? 0 : values.get(rank));
+    }
+
+    /**
+     * Gets the value of a leave by its rank
+     * @param rank the rank of the leave
+     * @return the value in points
+     */
+    public float getValue(int rank) {
+        return values.get(rank);
+    }
+
+    /**
+     * Writes a table of values to a file that can be mapped
+     * @param values the value of every leave by rank
+     * @param path the file to write to
+     * @throws IOException if the file could not be written
+     */
+    public static void write(float[] values, Path path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(path.toFile())))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(MAX_LEAVE);
+            out.writeInt(values.length);
+            for (float value : values) {
+                out.writeFloat(value);
+            }
+        }
+    }
+}
@@ -0,0 +1,274 @@
+/**
+ * @author Elijah Johnson
+ * @description Builds a leave table from cpu self play. The games are
+ * played by the GameEngine and watched turn by turn. After every
+ * move the tiles kept are recorded along with what the player scores
+ * on their next turn, the value of a leave is how much more it goes
+ * on to score than other leaves of the same size. Comparing within a
+ * size keeps out how crowded the board was, a player keeping six
+ * tiles usually had nothing better to play. Leaves that were rarely
+ * kept lean on the sum of single tile values fitted over every game
+ */
+
+package scrabble.leave;
+
+import scrabble.*;
+import scrabble.Dictionary;
+import scrabble.engine.GameEngine;
+import scrabble.player.CPUPlayer;
+
+import java.io.*;
+import java.util.*;
+import java.util.function.Consumer;
+
+public class LeaveTableBuilder {
+    //How many times a leave has to be seen before its own average
+    //counts as much as the sum of its tiles
+    private final static double SMOOTHING = 20;
+    //Passes over the leaves when fitting single tile values
+    private final static int FIT_PASSES = 25;
+    private final static int KINDS = Rack.BLANK + 1;
+    private final static long SEED = 0;
+
+    private final GameEngine engine;
+    private final Map<Integer, Observed> observed;
+    //Next turn scores by the size of the leave
+    private final double[] totalScore;
+    private final long[] totalTurns;
+
+    /**
+     * Create a builder
+     * @param dict the dictionary the games are played with
+     * @param playTable the table the players pick moves with,
+     *                  null to play the highest score
+     * @throws IOException if the default board or tiles could not be read
+     */
+    public LeaveTableBuilder(Dictionary dict, LeaveTable playTable)
+            throws IOException {
+        observed = new HashMap<>();
+        totalScore = new double[LeaveTable.MAX_LEAVE + 1];
+        totalTurns = new long[LeaveTable.MAX_LEAVE + 1];
+        engine = new GameEngine(dict);
+        for (int i = 0; i < 2; i++) {
+            engine.setStrategy(i, cpu -> {
+                cpu.setLeaveTable(playTable);
+                cpu.setTurnListener(new Recorder());
+            });
+        }
+    }
+
+    /**
+     * Plays games between two cpu players and records every leave
+     * @param games how many games to play
+     * @param seed the seed of the first game
+     */
+    public void playGames(int games, long seed) {
+        engine.playGames(games, seed);
+    }
+
+    /**
+     * Records what a player scored on the turn after keeping a leave
+     * @param rank the rank of the leave
+     * @param counts how many of each tile the leave has
+     * @param nextScore the score of the next turn
+     */
+    private synchronized void record(int rank, int[] counts, int nextScore) {
+        Observed o = observed.get(rank);
+        if (o == null) {
+            o = new Observed(counts.clone());
+            observed.put(rank, o);
+        }
+        totalScore[o.size] += nextScore;
+        totalTurns[o.size]++;
+        o.sum += nextScore;
+        o.count++;
+    }
+
+    /**
+     * Gets how many different leaves have been seen
+     * @return the number of leaves
+     */
+    public synchronized int getObservedLeaves() {
+        return observed.size();
+    }
+
+    /**
+     * Builds the value of every leave from the games played so far
+     * @return the values by rank, LeaveTable.ENTRIES long
+     */
+    public synchronized float[] build() {
+        //How much better than its size each leave did
+        for (Observed o : observed.values()) {
+            o.residual = o.sum / o.count
+                    - totalScore[o.size] / totalTurns[o.size];
+        }
+        double[] tileValues = fitTiles();
+        float[] values = new float[LeaveTable.ENTRIES];
+        int[] tiles = new int[LeaveTable.MAX_LEAVE];
+        for (int size = 0; size <= LeaveTable.MAX_LEAVE; size++) {
+            fill(values, tiles, 0, size, 0, 0, tileValues);
+        }
+        return values;
+    }
+
+    /**
+     * Fits a value to every kind of tile so the sum of the values of
+     * the tiles in a leave is as close as possible to how it did
+     * @return the value of each kind of tile
+     */
+    private double[] fitTiles() {
+        double[] tileValues = new double[KINDS];
+        for (int pass = 0; pass < FIT_PASSES; pass++) {
+            for (int t = 0; t < KINDS; t++) {
+                double numerator = 0;
+                double denominator = 0;
+                for (Observed o : observed.values()) {
+                    if (o.counts[t] == 0) {
+                        continue;
+                    }
+                    double others = 0;
+                    for (int u = 0; u < KINDS; u++) {
+                        if (u != t) {
+                            others += o.counts[u] * tileValues[u];
+                        }
+                    }
+                    double residual = o.residual - others;
+                    numerator += o.count * o.counts[t] * residual;
+                    denominator += o.count * o.counts[t] * o.counts[t];
+                }
+                tileValues[t] = (denominator == 0 ? 0
+                        : numerator / denominator);
+            }
+        }
+        return tileValues;
+    }
+
+    /**
+     * Fills in the value of every sorted leave of a size
+     * @param values the values by rank
+     * @param tiles the tiles chosen so far, smallest first
+     * @param index how many tiles have been chosen
+     * @param size the size of the leaves being filled
+     * @param smallest the smallest tile that can be chosen next
+     * @param sum the sum of the tile values chosen so far
+     * @param tileValues the value of each kind of tile
+     */
+    private void fill(float[] values, int[] tiles, int index, int size,
+                      int smallest, double sum, double[] tileValues) {
+        if (index == size) {
+            int rank = LeaveTable.rank(tiles, size);
+            double value = sum;
+            Observed o = observed.get(rank);
+            if (o != null) {
+                //Trust the leave's own average more the more it was seen
+                double weight = o.count / (o.count + SMOOTHING);
+                value += weight * (o.residual - sum);
+            }
+            values[rank] = (float) value;
+            return;
+        }
+        for (int t = smallest; t < KINDS; t++) {
+            tiles[index] = t;
+            fill(values, tiles, index + 1, size, t, sum + tileValues[t],
+                    tileValues);
+        }
+    }
+
+    /**
+     * Plays games and writes the leave table they make
+     * @param args the dictionary file, the file to write, how many
+     *             games to play and optionally a leave table for the
+     *             players to use, so tables can be refined in rounds
+     */
+    public static void main(String[] args) {
+        if (args.length < 3 || args.length > 4) {
+            System.out.println("Usage: java LeaveTableBuilder [DICT FILE] "
+                    + "[OUTPUT FILE] [GAMES] [LEAVE FILE]");
+            return;
+        }
+        int games;
+        try {
+            games = Integer.parseInt(args[2]);
+        } catch (NumberFormatException e) {
+            System.out.println("Games must be a number");
+            return;
+        }
+        LeaveTableBuilder builder;
+        try {
+            LeaveTable playTable = (args.length == 4
+                    ? new LeaveTable(new File(args[3]).toPath()) : null);
+            builder = new LeaveTableBuilder(
+                    DictionaryFactory.loadDict(new File(args[0])), playTable);
+        } catch (IOException e) {
+            System.out.println("Could not read dictionary or leave file");
+            return;
+        }
+        long start = System.currentTimeMillis();
+        builder.playGames(games, SEED);
+        try {
+            LeaveTable.write(builder.build(), new File(args[1]).toPath());
+        } catch (IOException e) {
+            System.out.println("Could not write leave table file");
+            return;
+        }
+        System.out.println("Played " + games + " games and saw "
+                + builder.getObservedLeaves() + " leaves in "
+                + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    /**
+     * Watches the turns of one player in one game, the leave kept on
+     * a turn is recorded with the score of the turn after it
+     */
+    private class Recorder implements Consumer<CPUPlayer> {
+        private final int[] keptCounts = new int[KINDS];
+        private int kept = -1;
+
+        /**
+         * Records the leave kept before this turn and keeps this one
+         * @param cpu the player that took the turn
+         */
+        @Override
+        public void accept(CPUPlayer cpu) {
+            //Trading in the tray or passing scores nothing
+            int score = (cpu.getLastWordPlayed() == null
+                    ? 0 : cpu.getLastWordPlayedScore());
+            if (kept != -1) {
+                record(kept, keptCounts, score);
+                kept = -1;
+            }
+            List<Tile> left = cpu.getLastLeave();
+            if (left != null) {
+                Rack leave = new Rack(left);
+                kept = LeaveTable.rank(leave);
+                for (int i = 0; i < KINDS; i++) {
+                    keptCounts[i] = leave.getCount(i);
+                }
+            }
+        }
+    }
+
+    /**
+     * What a leave went on to score
+     */
+    private static class Observed {
+        private final int[] counts;
+        private final int size;
+        private double sum;
+        private long count;
+        private double residual;
+
+        /**
+         * Create an empty record for a leave
+         * @param counts how many of each tile the leave has
+         */
+        Observed(int[] counts) {
+            this.counts = counts;
+            int total = 0;
+            for (int c : counts) {
+                total += c;
+            }
+            size = total;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/**
+ * @author Elijah Johnson
+ * @description Counts of nanosecond timings in buckets that double in
+ * width, bucket i holds the timings from 2^(i-1) up to 2^i nanoseconds.
+ * Recording is a few adds with no locks or allocation so it can be
+ * shared by every thread of a search
+ */
+
+package scrabble.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+public class Histogram {
+    /**
+     * One bucket for 0 and one for every bit of a long
+     */
+    public static final int BUCKETS = Long.SIZE + 1;
+
+    private final String name;
+    private final LongAdder[] buckets;
+    private final LongAdder count;
+    private final LongAdder total;
+    private final LongAccumulator max;
+
+    /**
+     * Create an empty histogram
+     * @param name what the timings are of
+     */
+    public Histogram(String name) {
+        this.name = name;
+        buckets = new LongAdder[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+        count = new LongAdder();
+        total = new LongAdder();
+        max = new LongAccumulator(Math::max, 0);
+    }
+
+    /**
+     * Adds a timing
+     * @param nanos how long it took, negative times count as 0
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        buckets[Long.SIZE - Long.numberOfLeadingZeros(nanos)].increment();
+        count.increment();
+        total.add(nanos);
+        max.accumulate(nanos);
+    }
+
+    /**
+     * Drops every timing
+     */
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        count.reset();
+        total.reset();
+        max.reset();
+    }
+
+    /**
+     * Gets what the timings are of
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets how many timings were added
+     * @return the count
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Gets the sum of the timings
+     * @return the total in nanoseconds
+     */
+    public long getTotal() {
+        return total.sum();
+    }
+
+    /**
+     * Gets the longest timing
+     * @return the max in nanoseconds, 0 if there are none
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Gets how many timings are in a bucket
+     * @param bucket the bucket from 0 to BUCKETS - 1
+     * @return the count of the bucket
+     */
+    public long getBucket(int bucket) {
+        return buckets[bucket].sum();
+    }
+
+    /**
+     * Gets the top of a bucket
+     * @param bucket the bucket from 0 to BUCKETS - 1
+     * @return the most nanoseconds a timing in the bucket can take
+     */
+    public static long upperBound(int bucket) {
+        return (bucket == 0 ? 0 : bucket >= Long.SIZE ? Long.MAX_VALUE
+                : (1L << bucket) - 1);
+    }
+
+    /**
+     * Gets a timing that a share of the timings are at or under,
+     * rounded up to the top of its bucket
+     * @param fraction the share from 0 to 1, 0.99 for the 99th percentile
+     * @return the timing in nanoseconds, 0 if there are none
+     */
+    public long getPercentile(double fraction) {
+        long[] counts = new long[BUCKETS];
+        long n = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            n += counts[i];
+        }
+        long rank = (long) Math.ceil(fraction * n);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank && seen > 0) {
+                return Math.min(upperBound(i), getMax());
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Display the summary of the timings on one line
+     * @return the count, total, mean, percentiles and max
+     */
+    @Override
+    public String toString() {
+        long n = getCount();
+        return String.format("%-14s count=%d total=%.3fms mean=%.1fus "
+                        + "p50=%.1fus p90=%.1fus p99=%.1fus max=%.1fus",
+                name, n, getTotal() / 1e6,
+                (n == 0 ? 0 : getTotal() / 1e3 / n),
+                getPercentile(0.5) / 1e3, getPercentile(0.9) / 1e3,
+                getPercentile(0.99) / 1e3, getMax() / 1e3);
+    }
+
+    /**
+     * Display the summary and a line for every bucket with timings
+     * @return the histogram as a string
+     */
+    public String toHistogram() {
+        StringBuilder sb = new StringBuilder(toString());
+        long n = getCount();
+        for (int i = 0; i < BUCKETS; i++) {
+            long c = getBucket(i);
+            if (c == 0) {
+                continue;
+            }
+            sb.append(String.format("%n  <= %12dns %10d %5.1f%%",
+                    upperBound(i), c, 100.0 * c / n));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,165 @@
+/**
+ * @author Elijah Johnson
+ * @description Timings and counts for each phase of solving a position
+ * so a slowdown can be traced to the phase that caused it. Recording is
+ * off until enable is called, then every phase keeps a histogram of
+ * how long it took in nanoseconds. The phases overlap, generating
+ * includes the scoring of the moves it finds
+ */
+
+package scrabble.metrics;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class Metrics {
+    /**
+     * The phases that are timed
+     */
+    public enum Phase {
+        //Board.initialize reading a board
+        PARSE("parse"),
+        //Board.generateCrossChecks for one orientation
+        CROSS_CHECKS("cross checks"),
+        //Board scanning for anchor squares
+        ANCHORS("anchors"),
+        //MoveGenerator searching the anchors of one view
+        GENERATE("generate"),
+        //Board.getValue scoring one move
+        SCORE("score");
+
+        private final String label;
+
+        /**
+         * Create a phase
+         * @param label the name shown when dumping
+         */
+        Phase(String label) {
+            this.label = label;
+        }
+
+        /**
+         * Gets the name shown when dumping
+         * @return the label
+         */
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private static volatile boolean enabled = false;
+    private final static Histogram[] HISTOGRAMS;
+    private final static LongAdder NODES = new LongAdder();
+    private final static LongAdder MOVES = new LongAdder();
+
+    static {
+        Phase[] phases = Phase.values();
+        HISTOGRAMS = new Histogram[phases.length];
+        for (Phase phase : phases) {
+            HISTOGRAMS[phase.ordinal()] = new Histogram(phase.getLabel());
+        }
+    }
+
+    /**
+     * Only has static state
+     */
+    private Metrics() {
+    }
+
+    /**
+     * Turns recording on or off, what was recorded is kept
+     * @param on true to record
+     */
+    public static void enable(boolean on) {
+        enabled = on;
+    }
+
+    /**
+     * Check if timings are being recorded
+     * @return true if recording is on
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts timing a phase
+     * @return the start time to pass to stop, 0 when recording is off
+     */
+    public static long start() {
+        return (enabled ? System.nanoTime() : 0);
+    }
+
+    /**
+     * Stops timing a phase and records how long it took
+     * @param phase the phase that was timed
+     * @param start what start returned
+     */
+    public static void stop(Phase phase, long start) {
+        if (enabled && start != 0) {
+            HISTOGRAMS[phase.ordinal()].record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Counts the work done by a search
+     * @param nodes how many states the search visited
+     * @param moves how many legal moves it found
+     */
+    public static void countSearch(long nodes, long moves) {
+        if (enabled) {
+            NODES.add(nodes);
+            MOVES.add(moves);
+        }
+    }
+
+    /**
+     * Gets the timings of a phase
+     * @param phase the phase
+     * @return the histogram of the phase
+     */
+    public static Histogram get(Phase phase) {
+        return HISTOGRAMS[phase.ordinal()];
+    }
+
+    /**
+     * Gets how many states searches visited while recording
+     * @return the number of states
+     */
+    public static long getNodes() {
+        return NODES.sum();
+    }
+
+    /**
+     * Gets how many legal moves searches found while recording
+     * @return the number of moves
+     */
+    public static long getMoves() {
+        return MOVES.sum();
+    }
+
+    /**
+     * Drops every timing and count
+     */
+    public static void reset() {
+        for (Histogram histogram : HISTOGRAMS) {
+            histogram.reset();
+        }
+        NODES.reset();
+        MOVES.reset();
+    }
+
+    /**
+     * Prints the histogram of every phase that was timed
+     * and the search counts
+     * @param out where to print
+     */
+    public static void dump(PrintStream out) {
+        for (Histogram histogram : HISTOGRAMS) {
+            if (histogram.getCount() > 0) {
+                out.println(histogram.toHistogram());
+            }
+        }
+        out.println("nodes=" + getNodes() + " moves=" + getMoves());
+    }
+}
@@ -0,0 +1,338 @@
+/**
+ * @author Elijah Johnson
+ * @description The best first move for every rack. On an empty board
+ * the only anchor is the middle square so the best move only depends
+ * on the rack and the layout of the board. Every sorted rack of
+ * RACK_SIZE tiles has a rank in the combinatorial number system and
+ * the book is a flat array of moves packed into longs indexed by that
+ * rank, so a first move is a few adds and one read. Books built by
+ * OpeningBookBuilder are memory mapped instead of read onto the heap.
+ * A book also records the words it was searched with and if it picked
+ * moves by equity, a book built for another dictionary or way of
+ * picking moves is refused
+ */
+
+package scrabble.opening;
+
+import scrabble.Board;
+import scrabble.Dictionary;
+import scrabble.Rack;
+import scrabble.Tile;
+import scrabble.dawg.PackedDawg;
+import scrabble.player.Move;
+import scrabble.player.MoveGenerator;
+
+import java.io.*;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+public class OpeningBook {
+    /**
+     * How many tiles a rack in the book has
+     */
+    public static final int RACK_SIZE = 7;
+
+    /**
+     * File header, big endian ints then the hashes as longs
+     * magic, version, rack size, entry count, board size, flags,
+     * layout hash, word hash
+     */
+    public static final int MAGIC = 0x4F50454E;
+    public static final int VERSION = 2;
+    public static final int HEADER_SIZE = 6 * Integer.BYTES
+            + 2 * Long.BYTES;
+    //Set in the flags when moves were picked by equity
+    private static final int EQUITY_FLAG = 1;
+
+    //Kinds of tile, the letters and the blank
+    private static final int KINDS = Rack.BLANK + 1;
+    //STEP[i * KINDS + t] is what tile t adds to the rank as the
+    //i'th smallest tile, (t + i) choose (i + 1)
+    private static final int[] STEP;
+
+    /**
+     * How many racks the book has a move for, some of them
+     * can not be drawn from the bag and have no move
+     */
+    public static final int ENTRIES;
+
+    /**
+     * Layout of a packed move from the lowest bit up, a length
+     * of 0 means the rack has no move
+     */
+    private static final int SCORE_BITS = 9;
+    private static final int LENGTH_SHIFT = SCORE_BITS;
+    private static final int START_SHIFT = LENGTH_SHIFT + 3;
+    private static final int DOWN_SHIFT = START_SHIFT + 4;
+    private static final int BLANKS_SHIFT = DOWN_SHIFT + 1;
+    private static final int LETTERS_SHIFT = BLANKS_SHIFT + RACK_SIZE;
+
+    /**
+     * The biggest board a book can be built for, the start
+     * of a move has to fit in its bits
+     */
+    public static final int MAX_SIZE = 16;
+
+    static {
+        int maxN = KINDS + RACK_SIZE;
+        long[][] choose = new long[maxN + 1][RACK_SIZE + 2];
+        for (int n = 0; n <= maxN; n++) {
+            choose[n][0] = 1;
+            for (int k = 1; k <= Math.min(n, RACK_SIZE + 1); k++) {
+                choose[n][k] = choose[n - 1][k - 1]
+                        + (k < n ? choose[n - 1][k] : 0);
+            }
+        }
+        STEP = new int[RACK_SIZE * KINDS];
+        for (int i = 0; i < RACK_SIZE; i++) {
+            for (int t = 0; t < KINDS; t++) {
+                STEP[i * KINDS + t] = (int) choose[t + i][i + 1];
+            }
+        }
+        //Multisets of RACK_SIZE tiles out of KINDS kinds
+        ENTRIES = (int) choose[KINDS + RACK_SIZE - 1][RACK_SIZE];
+    }
+
+    private final LongBuffer moves;
+    private final int size;
+    private final long layout;
+    private final long words;
+    private final boolean equity;
+
+    /**
+     * Maps a book file written by OpeningBookBuilder
+     * @param path the book file
+     * @param dict the dictionary the book will be played with
+     * @param equity true if the book will be played by a player that
+     *               picks moves by equity
+     * @throws IOException if the file cannot be mapped, is not an
+     * opening book of the current version or was built with another
+     * dictionary or way of picking moves
+     */
+    public OpeningBook(Path path, Dictionary dict, boolean equity)
+            throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    channel.size());
+        }
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not an opening book file");
+        }
+        if (buffer.getInt(Integer.BYTES) != VERSION
+                || buffer.getInt(2 * Integer.BYTES) != RACK_SIZE
+                || buffer.getInt(3 * Integer.BYTES) != ENTRIES) {
+            throw new IOException("Unsupported opening book version "
+                    + buffer.getInt(Integer.BYTES));
+        }
+        size = buffer.getInt(4 * Integer.BYTES);
+        this.equity = (buffer.getInt(5 * Integer.BYTES) & EQUITY_FLAG) != 0;
+        layout = buffer.getLong(6 * Integer.BYTES);
+        words = buffer.getLong(6 * Integer.BYTES + Long.BYTES);
+        if (words != wordHash(dict)) {
+            throw new IOException("Opening book was built with "
+                    + "another dictionary");
+        }
+        if (this.equity != equity) {
+            throw new IOException("Opening book picks moves by "
+                    + (this.equity ? "equity" : "score"));
+        }
+        buffer.position(HEADER_SIZE);
+        moves = buffer.slice().asLongBuffer();
+        if (moves.limit() < ENTRIES) {
+            throw new IOException("Opening book file is truncated");
+        }
+    }
+
+    /**
+     * Create a book from moves already in memory
+     * @param moves the packed move of every rack by rank, ENTRIES long
+     * @param size the size of the board the moves are for
+     * @param layout the layout hash of the board
+     * @param words the word hash of the dictionary the moves are from
+     * @param equity true if the moves were picked by equity
+     */
+    public OpeningBook(long[] moves, int size, long layout, long words,
+                       boolean equity) {
+        if (moves.length != ENTRIES) {
+            throw new IllegalArgumentException("Opening book needs "
+                    + ENTRIES + " moves");
+        }
+        this.moves = LongBuffer.wrap(moves);
+        this.size = size;
+        this.layout = layout;
+        this.words = words;
+        this.equity = equity;
+    }
+
+    /**
+     * Gets the hash of the words of a dictionary that a book
+     * records, dictionaries of the same words have the same hash
+     * @param dict the dictionary
+     * @return the word hash
+     */
+    public static long wordHash(Dictionary dict) {
+        return ((PackedDawg) MoveGenerator.searchable(dict)).getWordHash();
+    }
+
+    /**
+     * Check if the moves were picked by equity
+     * @return true for equity, false for the highest score
+     */
+    public boolean isByEquity() {
+        return equity;
+    }
+
+    /**
+     * Check if the book was built for a board, the board has to be
+     * empty and have the same premium squares and tile values
+     * @param board the board to play on
+     * @return true if the moves in the book are the best on the board
+     */
+    public boolean covers(Board board) {
+        return board.isEmpty() && board.getSize() == size
+                && board.getLayoutHash() == layout;
+    }
+
+    /**
+     * Gets the best first move for a tray
+     * @param board the board to play on
+     * @param tray the tiles of the player to move
+     * @return the move, null if the board is not covered, the tray
+     * does not have RACK_SIZE tiles or there is no move
+     */
+    public Move lookup(Board board, List<Tile> tray) {
+        if (tray.size() != RACK_SIZE || !covers(board)) {
+            return null;
+        }
+        return unpack(moves.get(rank(new Rack(tray))), size);
+    }
+
+    /**
+     * Gets the rank of the tiles in a full rack
+     * @param rack the tiles of the player
+     * @return the rank or -1 if the rack does not have RACK_SIZE tiles
+     */
+    public static int rank(Rack rack) {
+        if (rack.size() != RACK_SIZE) {
+            return -1;
+        }
+        int rank = 0;
+        int step = 0;
+        for (int mask = rack.getLetterMask(); mask != 0; mask &= mask - 1) {
+            int letter = Integer.numberOfTrailingZeros(mask);
+            for (int c = rack.getCount(letter); c > 0; c--) {
+                rank += STEP[step + letter];
+                step += KINDS;
+            }
+        }
+        for (int c = rack.getBlanks(); c > 0; c--) {
+            rank += STEP[step + Rack.BLANK];
+            step += KINDS;
+        }
+        return rank;
+    }
+
+    /**
+     * Gets the rank of a sorted rack
+     * @param tiles the tiles 0 to 25 for letters or Rack.BLANK,
+     *              smallest first, RACK_SIZE of them
+     * @return the rank
+     */
+    public static int rank(int[] tiles) {
+        int rank = 0;
+        for (int i = 0; i < RACK_SIZE; i++) {
+            rank += STEP[i * KINDS + tiles[i]];
+        }
+        return rank;
+    }
+
+    /**
+     * Packs a first move into a long, every letter comes from the rack
+     * @param move the move, null for a rack with no move
+     * @param size the size of the board
+     * @return the packed move, 0 for null
+     */
+    public static long pack(Move move, int size) {
+        if (move == null) {
+            return 0;
+        }
+        int length = move.getLength();
+        if (length > RACK_SIZE || move.getScore() >= (1 << SCORE_BITS)) {
+            throw new IllegalArgumentException("Move does not fit: "
+                    + move);
+        }
+        boolean down = move.getOrientation() == Board.DOWN;
+        long packed = move.getScore();
+        packed |= (long) length << LENGTH_SHIFT;
+        packed |= (long) (down ? move.getRow() : move.getCol())
+                << START_SHIFT;
+        packed |= (down ? 1L : 0L) << DOWN_SHIFT;
+        packed |= move.getBlanks() << BLANKS_SHIFT;
+        for (int i = 0; i < length; i++) {
+            packed |= (long) (move.getWord().charAt(i) - 'A')
+                    << (LETTERS_SHIFT + 5 * i);
+        }
+        return packed;
+    }
+
+    /**
+     * Unpacks a first move, it goes through the middle square
+     * @param packed the packed move
+     * @param size the size of the board
+     * @return the move, null if the rack has no move
+     */
+    public static Move unpack(long packed, int size) {
+        int length = (int) (packed >>> LENGTH_SHIFT) & 7;
+        if (length == 0) {
+            return null;
+        }
+        int score = (int) packed & ((1 << SCORE_BITS) - 1);
+        int start = (int) (packed >>> START_SHIFT) & (MAX_SIZE - 1);
+        boolean down = ((packed >>> DOWN_SHIFT) & 1) != 0;
+        long blanks = (packed >>> BLANKS_SHIFT) & ((1 << RACK_SIZE) - 1);
+        char[] word = new char[length];
+        for (int i = 0; i < length; i++) {
+            word[i] = (char) ('A' + ((packed >>> (LETTERS_SHIFT + 5 * i))
+                    & 31));
+        }
+        int middle = size / 2;
+        return new Move(new String(word), down ? start : middle,
+                down ? middle : start, down ? Board.DOWN : Board.ACROSS,
+                blanks, (1L << length) - 1, score, score);
+    }
+
+    /**
+     * Writes a book of packed moves to a file that can be mapped
+     * @param moves the packed move of every rack by rank
+     * @param size the size of the board the moves are for
+     * @param layout the layout hash of the board
+     * @param words the word hash of the dictionary the moves are from
+     * @param equity true if the moves were picked by equity
+     * @param path the file to write to
+     * @throws IOException if the file could not be written
+     */
+    public static void write(long[] moves, int size, long layout,
+                             long words, boolean equity, Path path)
+            throws IOException {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(path.toFile())))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(RACK_SIZE);
+            out.writeInt(moves.length);
+            out.writeInt(size);
+            out.writeInt(equity ? EQUITY_FLAG : 0);
+            out.writeLong(layout);
+            out.writeLong(words);
+            for (long move : moves) {
+                out.writeLong(move);
+            }
+        }
+    }
+}
@@ -0,0 +1,252 @@
+/**
+ * @author Elijah Johnson
+ * @description Builds an opening book by searching the empty board
+ * once for every rack that can be drawn from the bag. Racks are
+ * searched in parallel, every thread has its own board and generator
+ */
+
+package scrabble.opening;
+
+import scrabble.*;
+import scrabble.Dictionary;
+import scrabble.leave.LeaveTable;
+import scrabble.player.Move;
+import scrabble.player.MoveGenerator;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+public class OpeningBookBuilder {
+    private final static String LETTER_DIS
+            = "/default_letter_distributions.txt";
+    private final static String DEFAULT_BOARD = "/default_board.txt";
+    private final static int KINDS = Rack.BLANK + 1;
+    //How many racks are searched between progress lines
+    private final static int PROGRESS = 100000;
+
+    private final Dictionary dict;
+    private final LeaveTable leaves;
+    private final Board board;
+    private final int[] available;
+    private final int[] values;
+
+    /**
+     * Create a builder for the default board and tiles
+     * @param dict the dictionary to generate words from
+     * @param leaves the leave values to pick moves by, null to
+     *               pick the highest score
+     * @throws IOException if the default board could not be read
+     */
+    public OpeningBookBuilder(Dictionary dict, LeaveTable leaves)
+            throws IOException {
+        this.dict = MoveGenerator.searchable(dict);
+        this.leaves = leaves;
+        TileManager manager = new TileManager();
+        manager.initialize(resource(LETTER_DIS));
+        board = new Board();
+        if (!board.initialize(resource(DEFAULT_BOARD), manager)) {
+            throw new IOException("Could not read the default board");
+        }
+        if (board.getSize() > OpeningBook.MAX_SIZE) {
+            throw new IOException("Board is too big for an opening book");
+        }
+        //Every tile is unseen on an empty board with an empty tray
+        available = new int[KINDS];
+        values = new int[KINDS];
+        for (Tile t : manager.getUnseen(board, new ArrayList<>())) {
+            int kind = (t.isBlank() ? Rack.BLANK : t.getCharacter() - 'A');
+            available[kind]++;
+            values[kind] = t.getScore();
+        }
+    }
+
+    /**
+     * Lists every rack that can be drawn from the bag
+     * @return the racks, each packed 5 bits a tile smallest first
+     */
+    public long[] racks() {
+        List<Long> racks = new ArrayList<>();
+        addRacks(0, 0, 0, racks);
+        long[] packed = new long[racks.size()];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = racks.get(i);
+        }
+        return packed;
+    }
+
+    /**
+     * Adds every rack made by adding tiles of kind or later
+     * @param kind the smallest kind that can still be added
+     * @param size how many tiles the rack has so far
+     * @param rack the tiles so far packed 5 bits a tile
+     * @param racks where full racks go
+     */
+    private void addRacks(int kind, int size, long rack, List<Long> racks) {
+        if (size == OpeningBook.RACK_SIZE) {
+            racks.add(rack);
+            return;
+        }
+        for (int k = kind; k < KINDS; k++) {
+            long more = rack;
+            for (int c = 1; c <= available[k]
+                    && size + c <= OpeningBook.RACK_SIZE; c++) {
+                more |= (long) k << (5 * (size + c - 1));
+                addRacks(k + 1, size + c, more, racks);
+            }
+        }
+    }
+
+    /**
+     * Searches the empty board for every rack
+     * @return the packed best move of every rack by rank
+     */
+    public long[] build() {
+        long[] racks = racks();
+        System.out.println("Searching " + racks.length + " racks");
+        long[] moves = new long[OpeningBook.ENTRIES];
+        AtomicInteger done = new AtomicInteger();
+        ThreadLocal<Worker> workers = ThreadLocal.withInitial(Worker::new);
+        IntStream.range(0, racks.length).parallel().forEach(i -> {
+            Worker worker = workers.get();
+            int[] tiles = worker.unpack(racks[i]);
+            moves[OpeningBook.rank(tiles)] = OpeningBook.pack(
+                    worker.best(tiles), board.getSize());
+            if (done.incrementAndGet() % PROGRESS == 0) {
+                System.out.println(done.get() + " racks searched");
+            }
+        });
+        return moves;
+    }
+
+    /**
+     * Gets the layout hash of the board the book is for
+     * @return the layout hash
+     */
+    public long getLayoutHash() {
+        return board.getLayoutHash();
+    }
+
+    /**
+     * Gets the hash of the words the book is searched with
+     * @return the word hash
+     */
+    public long getWordHash() {
+        return OpeningBook.wordHash(dict);
+    }
+
+    /**
+     * Check if the book picks moves by equity
+     * @return true if a leave table was given
+     */
+    public boolean isByEquity() {
+        return leaves != null;
+    }
+
+    /**
+     * Gets the size of the board the book is for
+     * @return the size
+     */
+    public int getSize() {
+        return board.getSize();
+    }
+
+    /**
+     * The board, tray and generator of one thread
+     */
+    private class Worker {
+        private final Board empty;
+        private final List<Tile> rack;
+        private final Tray tray;
+        private final MoveGenerator generator;
+        private final int[] tiles;
+
+        /**
+         * Create the state for the current thread
+         */
+        Worker() {
+            empty = new Board(board);
+            rack = new ArrayList<>(OpeningBook.RACK_SIZE);
+            tray = new Tray();
+            tray.setTiles(rack);
+            generator = MoveGenerator.create(dict, tray);
+            generator.setLeaveTable(leaves);
+            tiles = new int[OpeningBook.RACK_SIZE];
+        }
+
+        /**
+         * Unpacks a rack into this thread's buffer
+         * @param packed the tiles packed 5 bits a tile
+         * @return the tiles smallest first
+         */
+        int[] unpack(long packed) {
+            for (int i = 0; i < tiles.length; i++) {
+                tiles[i] = (int) (packed >>> (5 * i)) & 31;
+            }
+            return tiles;
+        }
+
+        /**
+         * Finds the best move for a rack on the empty board
+         * @param tiles the tiles of the rack
+         * @return the move, null if there is none
+         */
+        Move best(int[] tiles) {
+            rack.clear();
+            for (int kind : tiles) {
+                rack.add(new Tile(kind == Rack.BLANK ? '*'
+                        : (char) ('A' + kind), values[kind]));
+            }
+            generator.reset();
+            generator.calcMoves(empty.getView(Board.ACROSS));
+            generator.calcMoves(empty.getView(Board.DOWN));
+            return generator.getHighest();
+        }
+    }
+
+    /**
+     * Opens one of the resource files
+     * @param name the name of the resource
+     * @return a reader for the resource
+     */
+    private static BufferedReader resource(String name) {
+        return new BufferedReader(new InputStreamReader(
+                OpeningBookBuilder.class.getResourceAsStream(name)));
+    }
+
+    /**
+     * Builds an opening book and writes it to a file
+     * @param args the dictionary file, the output file and
+     *             optionally a leave table file to pick moves by equity
+     */
+    public static void main(String[] args) {
+        if (args.length < 2 || args.length > 3) {
+            System.out.println("Usage: java OpeningBookBuilder [DICT FILE] "
+                    + "[OUTPUT FILE] [LEAVE FILE]");
+            return;
+        }
+        OpeningBookBuilder builder;
+        try {
+            LeaveTable leaves = (args.length == 3
+                    ? new LeaveTable(new File(args[2]).toPath()) : null);
+            builder = new OpeningBookBuilder(
+                    DictionaryFactory.loadDict(new File(args[0])), leaves);
+        } catch (IOException e) {
+            System.out.println("Could not read dictionary or leave file");
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            long[] moves = builder.build();
+            OpeningBook.write(moves, builder.getSize(),
+                    builder.getLayoutHash(), builder.getWordHash(),
+                    builder.isByEquity(), new File(args[1]).toPath());
+            System.out.println("Built in "
+                    + (System.currentTimeMillis() - start) + "ms");
+        } catch (IOException e) {
+            System.out.println("Could not write opening book file");
+        }
+    }
+}
@@ -1,7 +1,7 @@
 /**
  * @author Elijah Johnson
  * @description the cpu player implementation
- * uses backtracking to generate all possible moves
+ * uses a move generator to find the highest scoring move
  */
 
 package scrabble.player;
@@ -9,27 +9,46 @@ package scrabble.player;
 import javafx.scene.layout.HBox;
 import scrabble.*;
 import scrabble.Dictionary;
+import scrabble.cache.MoveCache;
+import scrabble.endgame.EndgameResult;
+import scrabble.endgame.EndgameSolver;
+import scrabble.leave.LeaveTable;
+import scrabble.opening.OpeningBook;
+import scrabble.sim.Simulator;
+import scrabble.sim.SimulatedMove;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
 public class CPUPlayer extends Player {
     /**
      * Member variables for keeping track of
-     * the current move and the current highest move
+     * the last move played
      */
-    private String highestScoringLeftOfAnchor;
     private String highestScoringWord;
     private int highestScoring;
-    private Position highestAnchorPos;
-    private Position highestStartPos;
-    private Set<String> legalMoves;
-    private List<Tile> currentMove;
-    private List<Tile> highestMove;
-    private Position currentAnchor;
-    private Position currentStartPos;
-    private Position currentEndPos;
-    private Position highestEndPos;
-    private String leftOfAnchor;
+    private MoveGenerator generator;
+    private Dictionary generatorDict;
+    //Moves are generated on this pool when it is set
+    private ForkJoinPool pool;
+    //Moves are picked by equity when this is set
+    private LeaveTable leaves;
+    //The best candidates are simulated when this is set
+    private Simulator simulator;
+    //The end of the game is searched when this is set
+    private EndgameSolver endgameSolver;
+    //Moves picked for positions seen before when this is set
+    private MoveCache cache;
+    //First moves are looked up when this is set
+    private OpeningBook book;
+    //Anchors are cut by their bounds when this is set
+    private boolean pruning;
+    //Told about every turn taken when this is set
+    private Consumer<CPUPlayer> turnListener;
+    //The tiles kept by the last move when more were drawn to them
+    private List<Tile> lastLeave;
 
     /**
      * Constructor used for command line solver
@@ -40,11 +59,7 @@ public class CPUPlayer extends Player {
      */
     public CPUPlayer(TileManager manager, Board board, List<Tile> tray) {
         super(manager, board, tray);
-        legalMoves = new HashSet<>();
-        currentMove = new ArrayList<>();
-        highestMove = new ArrayList<>();
         hand = null;
-        leftOfAnchor = null;
         resetValues();
     }
 
@@ -58,9 +73,6 @@ public class CPUPlayer extends Player {
         super(manager, board, hand);
         hand.getChildren().clear();
         tray.setTiles(manager.drawTray(7));
-        legalMoves = new HashSet<>();
-        currentMove = new ArrayList<>();
-        highestMove = new ArrayList<>();
         tray.hideTray();
         hand.getChildren().addAll(tray.getTileDisplay());
         resetValues();
@@ -70,19 +82,119 @@ public class CPUPlayer extends Player {
      * Reset all values to default values
      */
     private void resetValues() {
-        legalMoves.clear();
-        highestStartPos = null;
-        highestAnchorPos = null;
         highestScoringWord = null;
-        highestScoringLeftOfAnchor = null;
-        leftOfAnchor = null;
-        currentMove.clear();
-        highestMove.clear();
-        currentAnchor = null;
-        currentStartPos = null;
-        currentEndPos = null;
-        highestEndPos = null;
         highestScoring = 0;
+        lastLeave = null;
+    }
+
+    /**
+     * Generate moves in parallel on a pool, a single turn
+     * is then split across every thread of the pool
+     * @param pool the pool to use, null to generate on the calling thread
+     */
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+        generator = null;
+    }
+
+    /**
+     * Pick moves by equity, the score plus the value of the tiles
+     * kept, instead of by score alone
+     * @param leaves the leave values, null to pick by score
+     */
+    public void setLeaveTable(LeaveTable leaves) {
+        this.leaves = leaves;
+    }
+
+    /**
+     * Simulate the best candidate moves against random opponent
+     * racks instead of playing the best move straight away
+     * @param simulator the simulator to use, null to not simulate
+     */
+    public void setSimulator(Simulator simulator) {
+        this.simulator = simulator;
+    }
+
+    /**
+     * Search the rest of the game for the best move once the bag
+     * is empty instead of playing the highest score
+     * @param endgameSolver the solver to use, null to not search
+     */
+    public void setEndgameSolver(EndgameSolver endgameSolver) {
+        this.endgameSolver = endgameSolver;
+    }
+
+    /**
+     * Skip anchors whose moves can not beat the best move found so
+     * far, the move played is the same either way
+     * @param pruning true to cut anchors by their bounds
+     */
+    public void setPruning(boolean pruning) {
+        this.pruning = pruning;
+    }
+
+    /**
+     * Gets how many states the last search visited
+     * @return the number of states, 0 if nothing was searched yet
+     */
+    public long getNodesExplored() {
+        return (generator == null ? 0 : generator.getNodesExplored());
+    }
+
+    /**
+     * Gets how many anchors the last search went through
+     * @return the number of anchors, 0 if nothing was searched yet
+     */
+    public long getAnchorsSearched() {
+        return (generator == null ? 0 : generator.getAnchorsSearched());
+    }
+
+    /**
+     * Gets how many anchors the bounds cut in the last search
+     * @return the number of anchors, 0 if nothing was searched yet
+     */
+    public long getAnchorsCut() {
+        return (generator == null ? 0 : generator.getAnchorsCut());
+    }
+
+    /**
+     * Remember the move picked for every position searched to the
+     * end, asking again plays it without searching. A cache should
+     * only be shared by players with the same dictionary and leaves
+     * @param cache the cache to use, null to always search
+     */
+    public void setMoveCache(MoveCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Look up the first move of the game instead of searching, the
+     * book is only used on the board it was built for and when it
+     * picks moves the same way this player does
+     * @param book the opening book, null to always search
+     */
+    public void setOpeningBook(OpeningBook book) {
+        this.book = book;
+    }
+
+    /**
+     * Calls a listener after every turn, so a game can be watched
+     * without playing it in a different loop
+     * @param turnListener given this player after each turn, null to
+     *                     not be told
+     */
+    public void setTurnListener(Consumer<CPUPlayer> turnListener) {
+        this.turnListener = turnListener;
+    }
+
+    /**
+     * Gets the tiles kept by the last move, only when tiles were
+     * drawn to them since that is when a leave is worth something
+     * @return the tiles kept, null if no word was played or the bag
+     *         was empty
+     */
+    public List<Tile> getLastLeave() {
+        return lastLeave;
     }
 
     /**
@@ -91,11 +203,7 @@ public class CPUPlayer extends Player {
      */
     @Override
     public String getLastWordPlayed() {
-        if (highestScoringLeftOfAnchor != null) {
-            return highestScoringLeftOfAnchor + highestScoringWord;
-        } else {
-            return highestScoringWord;
-        }
+        return highestScoringWord;
     }
 
     /**
@@ -115,354 +223,308 @@ public class CPUPlayer extends Player {
      */
     @Override
     public int takeTurn(Dictionary dict) {
+        int result = playTurn(dict);
+        turnTaken();
+        return result;
+    }
+
+    /**
+     * Takes the turn for the cpu within a time budget and plays the
+     * best move found when the time is up. Each stage refines the move
+     * of the one before: the generator keeps the highest equity move
+     * found so far, or the highest score without a leave table, then
+     * the best candidates are simulated for the time that is left.
+     * Once the bag is empty the endgame search gets the whole budget
+     * @param dict the dictionary to use for checking valid plays
+     * @param budget how long the turn can take, null for no limit
+     * @return 0 like takeTurn
+     */
+    @Override
+    public int takeTurn(Dictionary dict, Duration budget) {
+        int result = (budget == null ? playTurn(dict)
+                : playTurn(dict, budget));
+        turnTaken();
+        return result;
+    }
+
+    /**
+     * Tells the turn listener a turn was taken
+     */
+    private void turnTaken() {
+        if (turnListener != null) {
+            turnListener.accept(this);
+        }
+    }
+
+    /**
+     * Plays a turn with every possible move generated
+     * @param dict the dictionary to use for checking valid plays
+     * @return 0 like takeTurn
+     */
+    private int playTurn(Dictionary dict) {
         resetValues();
-        //Calculate all possible moves for the across plays
-        calcMoves(board, dict);
-        board.transpose();
-        //Transpose the board and calculate all moves for across plays again.
-        //Turn into down plays from transposing back
-        calcMoves(board, dict);
-        board.transpose();
-        //No possible moves trade out hand
-        if (legalMoves.size() == 0) {
-            tray.setTiles(manager.redrawTray(tray.getTiles(), 7));
+        if (playOpening()) {
+            return 0;
+        }
+        //Simulating only helps while the opponent's rack is unknown
+        if (simulator != null && !manager.isEmpty()) {
+            return simulateTurn();
+        }
+        //Once the bag is empty both racks are known
+        if (endgameSolver != null && manager.isEmpty()) {
+            return solveTurn();
+        }
+        MoveCache.Key key = cacheKey();
+        if (playCached(key)) {
             return 0;
         }
+        MoveGenerator generator = generatorFor(dict);
+        generator.clearDeadline();
+        calcMoves(generator);
+        return playHighest(generator, key);
+    }
 
-        //Play the highestScoringWord
-        List<Tile> moves = new ArrayList<>(highestMove);
-        board.playWord(highestScoringWord, highestMove, highestStartPos, highestEndPos);
-        //Remove tiles we played
-        tray.removeAll(moves);
-        if (hand != null) {
-            hand.getChildren().clear();
+    /**
+     * Plays a turn within a time budget
+     * @param dict the dictionary to use for checking valid plays
+     * @param budget how long the turn can take
+     * @return 0 like takeTurn
+     */
+    private int playTurn(Dictionary dict, Duration budget) {
+        resetValues();
+        if (playOpening()) {
+            return 0;
         }
-        //Redraw up to seven tiles if possible
-        if (!manager.isEmpty()) {
-            tray.redrawToSeven(manager);
-            tray.hideTray();
+        long deadline = System.nanoTime() + budget.toNanos();
+        if (endgameSolver != null && manager.isEmpty()) {
+            return solveTurn(budget);
         }
-        if (hand != null) {
-            hand.getChildren().addAll(tray.getTileDisplay());
+        //Simulated moves are random so they are never cached
+        MoveCache.Key key = (simulator == null || manager.isEmpty()
+                ? cacheKey() : null);
+        if (playCached(key)) {
+            return 0;
+        }
+        MoveGenerator generator = generatorFor(dict);
+        generator.setDeadline(deadline);
+        //The candidates to simulate are kept while generating
+        TopMoves candidates = null;
+        if (simulator != null && !manager.isEmpty()) {
+            candidates = new TopMoves(simulator.getCandidates());
+            generator.setMoveConsumer(candidates);
         }
+        calcMoves(generator);
+        generator.setMoveConsumer(null);
+        long left = deadline - System.nanoTime();
+        if (candidates == null || left <= 0 || candidates.size() < 2) {
+            return playHighest(generator, key);
+        }
+        List<SimulatedMove> results = simulator.simulate(board,
+                candidates.getMoves(), manager.getUnseen(board,
+                        tray.getTiles()), Duration.ofNanos(left));
+        playMove(results.get(0).getMove());
 
         //Debug printing
         if (ScrabbleGui.DEBUG_PRINT) {
-            System.out.println(tray);
-            System.out.println(legalMoves);
-            System.out.println(highestScoringWord);
-            System.out.println(highestScoring);
-            System.out.println(highestAnchorPos);
-            System.out.println(highestStartPos);
-            System.out.println(highestEndPos);
-            //Debug printing
-            System.out.println(highestMove);
+            for (SimulatedMove result : results) {
+                System.out.println(result);
+            }
         }
-
         return 0;
     }
 
     /**
-     * Calculates all valid across moves for a board
-     * @param board the current board state
-     * @param dict the dictionary containing all of the words
+     * Gets the generator for a dictionary ready for a turn, it is
+     * only made again when the dictionary or pool changes
+     * @param dict the dictionary to use for checking valid plays
+     * @return the generator with no moves found
      */
-    private void calcMoves(Board board, Dictionary dict) {
-        //Generate cross checks for the current board
-        Map<Integer, Set<Character>> crossChecks =
-                board.generateCrossChecks(dict);
-        //Empty board, every letter can go anywhere
-        if (crossChecks == null) {
-            crossChecks = new HashMap<>();
+    private MoveGenerator generatorFor(Dictionary dict) {
+        if (generator == null || generatorDict != dict) {
+            generator = (pool == null ? MoveGenerator.create(dict, tray)
+                    : new ParallelMoveGenerator(dict, tray, pool));
+            generatorDict = dict;
         }
-        if (ScrabbleGui.DEBUG_PRINT) {
-            System.out.println(crossChecks);
+        generator.reset();
+        generator.setPruning(pruning);
+        //Kept tiles are only worth something if more will be drawn
+        generator.setLeaveTable(manager.isEmpty() ? null : leaves);
+        return generator;
+    }
+
+    /**
+     * Plays the first move of the game from the opening book
+     * @return true if the book had a move and it was played
+     */
+    private boolean playOpening() {
+        //A book of the highest scores is no use when picking by equity
+        Move move = (book == null || book.isByEquity() != (leaves != null)
+                ? null : book.lookup(board, tray.getTiles()));
+        if (move == null) {
+            return false;
         }
-        //Get all of the potential anchor squares
-        Set<Position> anchors = board.getPotentialAnchorSquares();
-        int count;
-        int currentCol;
-        for (Position p : anchors) {
-            count = 0;
-            currentCol = p.getCol() - 1;
-            //Get how many tiles to the left of current anchor
-            //p to be used in left part recursively
-            while (currentCol >= 0
-                    && !anchors.contains(new Position(p.getRow(), currentCol))) {
-                count++;
-                currentCol--;
-            }
-            //Can only play up to the amount on the tray to the left of anchor
-            count = Math.min(tray.size(), count);
-            //Copy into current anchor start and end
-            currentAnchor = new Position(p);
-            currentStartPos = new Position(p);
-            currentEndPos = new Position(p);
-            if (count > 0 && !board.isEmpty(p.getRow(), p.getCol() - 1)) {
-                StringBuilder sb = new StringBuilder();
-                currentCol = p.getCol() - 1;
-                while (count > 0 && !board.isEmpty(p.getRow(), currentCol)) {
-                    sb.insert(0, board.getTile(p.getRow(), currentCol).getCharacter());
-                    count--;
-                    currentCol--;
-                }
-                if (dict.getRootNode().transition(sb.toString()) != null) {
-                    leftOfAnchor = sb.toString();
-                    extendRight("", dict.getRootNode().transition(leftOfAnchor), p, board, crossChecks);
-                }
-            } else {
-                //Call backtracking algorithm
-                leftOfAnchor = null;
-                leftPart("", dict.getRootNode(), count, p, board, crossChecks);
-            }
+        playMove(move);
+        return true;
+    }
+
+    /**
+     * Makes the cache key of the position the cpu is in
+     * @return the key, null when there is no cache
+     */
+    private MoveCache.Key cacheKey() {
+        return (cache == null ? null : MoveCache.key(board, tray.getTiles(),
+                leaves != null && !manager.isEmpty()));
+    }
+
+    /**
+     * Plays the cached move of a position
+     * @param key the key of the position, null when there is no cache
+     * @return true if the move was cached and played
+     */
+    private boolean playCached(MoveCache.Key key) {
+        Move move = (key == null ? null : cache.get(key));
+        if (move == null) {
+            return false;
         }
+        playMove(move);
+        return true;
     }
 
     /**
-     * Generates all possible left parts of words
-     * to the left of the anchor tile, up to limit times
-     * @param partialWord the word we are currently building, starts as ""
-     * @param n the node we are currently on, starts as the root node of the
-     *          dict
-     * @param limit the amount of times we can extend left, can be any value
-     *              up to tray.size()
-     * @param anchor the current anchor tile we are generating moves for
-     * @param board the current board state
-     * @param crossChecks the crossChecks of the current board state
-     */
-    private void leftPart(String partialWord, DictNode n, int limit,
-                          Position anchor,
-                          Board board,
-                          Map<Integer, Set<Character>> crossChecks) {
-        //Make sure we are still on the board
-        if (currentStartPos.getCol() >= 0) {
-            //Try to extend this word to the right from node n in dict
-            //and the current anchor
-            //Only start right generation when it is appropriate
-            extendRight(partialWord, n, anchor, board, crossChecks);
-            if (limit > 0) {
-                //For each edge leaving n check if we can extend the word
-                for (Map.Entry<Character, DictNode> entry :
-                        n.getCharacterNodeMap().entrySet()) {
-                    char key = entry.getKey();
-                    //If we have the tile
-                    if (tray.isInTray(key)) {
-                        //Remove it but save the tile to be added back later
-                        Tile t = tray.removeFromTray(key);
-                        if (t.isBlank()) {
-                            t.setCharacter(key);
-                        }
-                        //Add to the current move we are building
-                        currentMove.add(t);
-                        //Get the correct start position for the word, based off of the limit
-                        currentStartPos = new Position(currentStartPos.getRow(),
-                                currentStartPos.getCol() - 1);
-                        //Recursively call the left part with limit - 1
-                        //The partial word + the key. and the node
-                        //transitioned to the next node
-                        leftPart(partialWord + key, n.transition(key),
-                                limit - 1, anchor, board, crossChecks);
-                        currentStartPos = new Position(currentStartPos.getRow(),
-                                currentStartPos.getCol() + 1);
-                        if (t.isBlank()) {
-                            t.setCharacter('*');
-                        }
-
-                        //Remove from the current move
-                        //and add back to the tray
-                        currentMove.remove(t);
-                        tray.addToTray(t);
-                    }
-                }
-            }
+     * Finds the moves across and down the board
+     * @param generator the generator to search with
+     */
+    private void calcMoves(MoveGenerator generator) {
+        if (generator instanceof ParallelMoveGenerator) {
+            //Across and down anchors are searched at the same time
+            ((ParallelMoveGenerator) generator).calcMoves(board);
+        } else {
+            //Calculate all possible moves for the across plays
+            generator.calcMoves(board.getView(Board.ACROSS));
+            //Down plays are across plays on the column view
+            generator.calcMoves(board.getView(Board.DOWN));
         }
     }
 
     /**
-     * Extends the partial word to the right
-     * as much as possible
-     * @param partialWord the current word we are building,
-     *                    can be empty string or string
-     *                    containing left parts
-     * @param n the current node in the dictionary we are on
-     * @param square the current position we are trying to extend to
-     * @param board the current board state
-     * @param crossChecks the crossChecks of the current board state
-     */
-    private void extendRight(String partialWord, DictNode n, Position square,
-                             Board board,
-                             Map<Integer, Set<Character>> crossChecks) {
-        //Make sure we are on the board
-        //if not check if we are at a word and return
-        if (square.getCol() >= board.getSize()) {
-            if (n.isWord()) {
-                //Add to legal moves and check if we have new highest
-                currentEndPos = new Position(square.getRow(),
-                        square.getCol() - 1);
-                legalMove(partialWord, currentAnchor, board);
-            }
-            return;
+     * Plays the highest move the generator found
+     * @param generator the generator that searched the board
+     * @param key the cache key of the position, null to not cache
+     * @return 0 like takeTurn
+     */
+    private int playHighest(MoveGenerator generator, MoveCache.Key key) {
+        //No possible moves trade out hand, a search only times out
+        //once it has a move so this is never just the clock
+        if (!generator.hasMove() && !generator.isTimedOut()) {
+            exchange();
+            return 0;
+        }
+        Move move = generator.getHighest();
+        //A search cut short may have missed the best move
+        if (key != null && !generator.isTimedOut()) {
+            cache.put(key, move);
         }
+        playMove(move);
 
-        //If the current position is empty
-        if (board.isEmpty(square.getRow(), square.getCol())) {
-            //Check if we have a word
-            if (n.isWord()) {
-                //Add it to legal moves, check if we have new highest
-                currentEndPos = new Position(square.getRow(),
-                        square.getCol() - 1);
-                legalMove(partialWord, currentAnchor, board);
-            }
-            //For every edge leaving n
-            for (Map.Entry<Character, DictNode> entry :
-                    n.getCharacterNodeMap().entrySet()) {
-                char key = entry.getKey();
-                boolean inCross = false;
-                //Check if we have it in the tray
-                if (tray.isInTray(key)) {
-                    //Get the valid characters for the cross checks
-                    Set<Character> crossSet =
-                            crossChecks.get(square.getRow() * board.getSize()
-                                    + square.getCol());
-                    //If it is null anything can go here
-                    if (crossSet == null) {
-                        inCross = true;
-                    } else {
-                        //Check if the key is in the cross set
-                        if (crossSet.contains(key)) {
-                            inCross = true;
-                        }
-                    }
-                    //If it is in cross set
-                    if (inCross) {
-                        //Save tile to be added back later
-                        Tile t = tray.removeFromTray(key);
-                        currentMove.add(t);
-
-                        if (t.isBlank()) {
-                            t.setCharacter(key);
-                        }
-                        //Call recursively on the partialWord + key the node
-                        // transitioned to the key and update the current
-                        // we are on
-                        extendRight(partialWord + key, n.transition(key),
-                                new Position(square.getRow(),
-                                        square.getCol() + 1),
-                                board, crossChecks);
-                        if (t.isBlank()) {
-                            t.setCharacter('*');
-                        }
-                        currentMove.remove(t);
-                        tray.addToTray(t);
-                    }
-                }
-            }
+        //Debug printing
+        if (ScrabbleGui.DEBUG_PRINT) {
+            System.out.println(tray);
+            System.out.println(generator.getLegalMoves());
+            System.out.println(move);
         }
-        //The space is filled
-        else {
-            //If there is an edge from n that is the character in this square
-            Tile t = board.getTile(square.getRow(), square.getCol());
-            if (n.getCharacterNodeMap().containsKey(t.getCharacter())) {
-                //Extend the word to the right
-                extendRight(partialWord + t.getCharacter(),
-                        n.transition(t.getCharacter()),
-                        new Position(square.getRow(), square.getCol() + 1),
-                        board, crossChecks);
-            }
+
+        return 0;
+    }
+
+    /**
+     * Trades the whole tray when there is no move, a tray can only be
+     * traded while the bag has a full tray left, otherwise it passes
+     */
+    private void exchange() {
+        if (manager.size() >= 7) {
+            tray.setTiles(manager.redrawTray(tray.getTiles(), 7));
         }
     }
 
     /**
-     * Add words to legal move and update highest
-     * if it is a new highest word
-     * @param word the word that is a legal move
-     * @param anchorPos the current anchor position
-     * @param board the current board state
+     * Plays the candidate with the best simulated result
+     * @return 0 like takeTurn
      */
-    private void legalMove(String word, Position anchorPos, Board board) {
-        if (word.length() < 2) {
-            return;
+    private int simulateTurn() {
+        List<SimulatedMove> results = simulator.simulate(board, tray,
+                manager.getUnseen(board, tray.getTiles()));
+        //No possible moves trade out hand
+        if (results.isEmpty()) {
+            exchange();
+            return 0;
         }
+        playMove(results.get(0).getMove());
 
-        //Make sure the word is played off of an anchor tile
-        int i;
-        for (i = currentStartPos.getCol(); i <= currentEndPos.getCol(); i++) {
-            if (anchorPos.getCol() == i && anchorPos.getRow() == currentStartPos.getRow()) {
-                break;
+        //Debug printing
+        if (ScrabbleGui.DEBUG_PRINT) {
+            for (SimulatedMove result : results) {
+                System.out.println(result);
             }
         }
-        if (i > currentEndPos.getCol()) {
-            return;
-        }
+        return 0;
+    }
 
-        //We dont have a highest word yet, make this word highest
-        if (highestScoring == 0) {
-            highestMove.clear();
-            highestScoringWord = word;
-            highestMove.addAll(currentMove);
-            highestScoringLeftOfAnchor = leftOfAnchor;
-            //Get all of the relavent posistions, based on if
-            //the board is transposed or not
-
-            //Check if the end position makes sense for this word
-            if (currentEndPos.getCol() !=
-                    currentStartPos.getCol() + word.length() - 1) {
-                currentEndPos = new Position(currentEndPos.getRow(),
-                        currentStartPos.getCol() + word.length() - 1);
-            }
+    /**
+     * Plays the move the endgame solver finds, the opponent holds
+     * every tile that is not on the board or in this tray
+     * @return 0 like takeTurn
+     */
+    private int solveTurn() {
+        return solveTurn(null);
+    }
 
-            getPositions(anchorPos, board);
-            //Get the value of this word if we played it
-            highestScoring = board.getValue(word, currentMove, currentStartPos)
-                    + (leftOfAnchor == null ? 0 : manager.getValue(leftOfAnchor));
-        }
-        else {
-            //Check if end pos makes sense
-            if (currentEndPos.getCol() !=
-                    currentStartPos.getCol() + word.length() - 1) {
-                currentEndPos = new Position(currentEndPos.getRow(),
-                        currentStartPos.getCol() + word.length() - 1);
-            }
-            //Get the score for this move minus any blanks
-            int score = board.getValue(word, currentMove, currentStartPos)
-                    + (leftOfAnchor == null ? 0 : manager.getValue(leftOfAnchor));
-            //If the score is greater than our highest this is our new highest
-            if (score > highestScoring) {
-                //Update highest values
-                highestMove.clear();
-                getPositions(anchorPos, board);
-                highestScoringWord = word;
-                highestScoring = score;
-                highestMove.addAll(currentMove);
-                highestScoringLeftOfAnchor = leftOfAnchor;
-            }
+    /**
+     * Plays the move the endgame solver finds within a time budget
+     * @param budget how long the search can take, null for the
+     *               budget of the solver
+     * @return 0 like takeTurn
+     */
+    private int solveTurn(Duration budget) {
+        List<Tile> opponent = manager.getUnseen(board, tray.getTiles());
+        EndgameResult result = (budget == null
+                ? endgameSolver.solve(board, tray.getTiles(), opponent)
+                : endgameSolver.solve(board, tray.getTiles(), opponent,
+                budget));
+        if (!result.isPass()) {
+            playMove(result.getMove());
         }
-        //Keep a set of all legal moves
-        if (leftOfAnchor != null) {
-            legalMoves.add(leftOfAnchor + word);
-        } else {
-            legalMoves.add(word);
+
+        //Debug printing
+        if (ScrabbleGui.DEBUG_PRINT) {
+            System.out.println(result);
         }
+        return 0;
     }
 
     /**
-     * Gets the positions, and transposes if needed
-     * @param anchorPos the current anchor position
-     * @param board the current board state
+     * Plays a move from the tray and draws new tiles
+     * @param move the move to play
      */
-    private void getPositions(Position anchorPos, Board board) {
-        //Position.transposed() creates new position that
-        //is transposed of old
-        if (board.isTransposed()) {
-            //Transpose the positions if the board is
-            highestEndPos = currentEndPos.transposed();
-            highestAnchorPos = anchorPos.transposed();
-            highestStartPos = currentStartPos.transposed();
-        } else {
-            //Create new positions
-            highestStartPos = new Position(currentStartPos);
-            highestEndPos = new Position(currentEndPos);
-            highestAnchorPos = new Position(anchorPos);
+    private void playMove(Move move) {
+        highestScoringWord = move.getWord();
+        highestScoring = move.getScore();
+        List<Tile> played = move.pickTiles(tray.getTiles());
+        //Remove the tiles played, other tiles with the same letter are equal
+        for (Tile t : played) {
+            tray.getTiles().removeIf(other -> other == t);
+        }
+        board.playWord(highestScoringWord, new ArrayList<>(played),
+                move.getStartPos(), move.getEndPos());
+        //Redraw up to seven tiles if possible
+        if (!manager.isEmpty()) {
+            lastLeave = new ArrayList<>(tray.getTiles());
+            tray.redrawToSeven(manager);
+        }
+        //Only the gui has a hand to show the hidden tiles in
+        if (hand != null) {
+            tray.hideTray();
+            hand.getChildren().clear();
+            hand.getChildren().addAll(tray.getTileDisplay());
         }
     }
 }
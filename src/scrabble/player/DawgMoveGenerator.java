@@ -0,0 +1,179 @@
+/**
+ * @author Elijah Johnson
+ * @description Generates moves with a forward only dictionary,
+ * uses backtracking to build every left part of an anchor and then
+ * extends each of them to the right
+ */
+
+package scrabble.player;
+
+import scrabble.*;
+import scrabble.Dictionary;
+import scrabble.dawg.PackedDawg;
+
+public class DawgMoveGenerator extends MoveGenerator {
+    private final PackedDawg dawg;
+    //The word being built, letter i of the word is at word[i]
+    private char[] word;
+    private int startCol;
+
+    /**
+     * Create a generator for the tiles in tray
+     * @param dict the dictionary to generate words from
+     * @param tray the tray to take tiles from
+     */
+    public DawgMoveGenerator(Dictionary dict, Tray tray) {
+        super(dict, tray);
+        dawg = packed(dict);
+        word = new char[0];
+    }
+
+    /**
+     * Makes sure the word buffer fits a word across the board
+     * @param size the size of the board
+     */
+    @Override
+    protected void prepare(int size) {
+        if (word.length < size) {
+            word = new char[size];
+        }
+    }
+
+    /**
+     * Generate every move for an anchor by building left parts
+     * and extending them right
+     * @param row the row of the anchor
+     * @param col the col of the anchor
+     */
+    @Override
+    protected void generate(int row, int col) {
+        int count = 0;
+        int currentCol = col - 1;
+        //Get how many tiles to the left of current anchor
+        //to be used in left part recursively
+        while (currentCol >= 0 && !board.isAnchor(row, currentCol)) {
+            count++;
+            currentCol--;
+        }
+        startCol = col;
+        if (count > 0 && !board.isEmpty(row, col - 1)) {
+            //The left part is the tiles already on the board
+            currentCol = col - 1;
+            while (currentCol >= 0 && !board.isEmpty(row, currentCol)) {
+                currentCol--;
+            }
+            int state = dawg.getRootState();
+            int length = 0;
+            for (int i = currentCol + 1; i < col && state != -1; i++) {
+                char c = board.getTile(row, i).getCharacter();
+                word[length++] = c;
+                state = dawg.transition(state, c);
+            }
+            if (state != -1) {
+                startCol = currentCol + 1;
+                extendRight(length, state, col, 0);
+            }
+        } else {
+            //Can only play up to the amount on the rack to the left of anchor
+            count = Math.min(rack.size(), count);
+            //Call backtracking algorithm
+            leftPart(0, dawg.getRootState(), count, 0);
+        }
+    }
+
+    /**
+     * Generates all possible left parts of words
+     * to the left of the anchor tile, up to limit times
+     * @param length the length of the left part built so far
+     * @param state the state of the dawg the left part reaches
+     * @param limit the amount of times we can extend left, can be any value
+     *              up to rack.size()
+     * @param blanks bit i is set if letter i of the word is a blank
+     */
+    private void leftPart(int length, int state, int limit, long blanks) {
+        nodes++;
+        if (timeUp()) {
+            return;
+        }
+        //Try to extend this word to the right from the anchor
+        extendRight(length, state, anchorCol, blanks);
+        if (limit > 0) {
+            //For each edge leaving the state that we have a tile for,
+            //squares left of the anchor have no cross checks
+            int playable = rack.getPlayableMask();
+            for (int edge = dawg.getFirstEdge(state); edge != -1;
+                 edge = dawg.getNextEdge(edge)) {
+                int letter = dawg.getEdgeLetter(edge);
+                if ((playable & (1 << letter)) == 0) {
+                    continue;
+                }
+                int used = rack.take(letter);
+                word[length] = PackedDawg.toChar(letter);
+                //The word starts one square further left
+                startCol--;
+                leftPart(length + 1, dawg.getEdgeTarget(edge), limit - 1,
+                        withBlank(blanks, used, length));
+                startCol++;
+                rack.put(used);
+            }
+        }
+    }
+
+    /**
+     * Extends the partial word to the right
+     * as much as possible
+     * @param length the length of the word built so far
+     * @param state the state of the dawg the word reaches
+     * @param col the current col we are trying to extend to
+     * @param blanks bit i is set if letter i of the word is a blank
+     */
+    private void extendRight(int length, int state, int col, long blanks) {
+        nodes++;
+        if (timeUp()) {
+            return;
+        }
+        //Make sure we are on the board
+        //if not check if we are at a word and return
+        if (col >= size) {
+            if (PackedDawg.isWord(state)) {
+                legalMove(word, 0, length, startCol, blanks);
+            }
+            return;
+        }
+
+        //If the current position is empty
+        if (board.isEmpty(anchorRow, col)) {
+            //Check if we have a word
+            if (PackedDawg.isWord(state)) {
+                legalMove(word, 0, length, startCol, blanks);
+            }
+            //For every edge leaving the state that we have in the rack
+            //and is in the cross check
+            int playable = playableMask(PackedDawg.LETTERS, anchorRow, col);
+            for (int edge = dawg.getFirstEdge(state); edge != -1;
+                 edge = dawg.getNextEdge(edge)) {
+                int letter = dawg.getEdgeLetter(edge);
+                if ((playable & (1 << letter)) == 0) {
+                    continue;
+                }
+                int used = rack.take(letter);
+                word[length] = PackedDawg.toChar(letter);
+                extendRight(length + 1, dawg.getEdgeTarget(edge), col + 1,
+                        withBlank(blanks, used, length));
+                rack.put(used);
+            }
+        }
+        //The space is filled
+        else {
+            //If there is an edge from the state that is the
+            //character in this square
+            char c = board.getTile(anchorRow, col).getCharacter();
+            int next = dawg.transition(state, c);
+            if (next != -1) {
+                //Extend the word to the right
+                word[length] = c;
+                extendRight(length + 1, next, col + 1, blanks);
+            }
+        }
+    }
+}
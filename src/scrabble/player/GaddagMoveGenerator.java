@@ -0,0 +1,142 @@
+/**
+ * @author Elijah Johnson
+ * @description Generates moves with a gaddag, every move starts
+ * at the anchor and grows left, then crosses the separator and
+ * grows right. Only prefixes that can still become a word through
+ * the anchor are ever walked
+ */
+
+package scrabble.player;
+
+import scrabble.*;
+import scrabble.dawg.PackedDawg;
+import scrabble.gaddag.Gaddag;
+
+public class GaddagMoveGenerator extends MoveGenerator {
+    private final Gaddag gaddag;
+    //The letters of the word being built by column of the anchor row
+    private char[] letters;
+
+    /**
+     * Create a generator for the tiles in tray
+     * @param gaddag the gaddag to generate words from
+     * @param tray the tray to take tiles from
+     */
+    public GaddagMoveGenerator(Gaddag gaddag, Tray tray) {
+        super(gaddag, tray);
+        this.gaddag = gaddag;
+        letters = new char[0];
+    }
+
+    /**
+     * Makes sure the letter buffer fits a row of the board
+     * @param size the size of the board
+     */
+    @Override
+    protected void prepare(int size) {
+        if (letters.length < size) {
+            letters = new char[size];
+        }
+    }
+
+    /**
+     * Generate every move through the anchor
+     * @param row the row of the anchor
+     * @param col the col of the anchor
+     */
+    @Override
+    protected void generate(int row, int col) {
+        gen(col, gaddag.getRootState(), col, 0);
+    }
+
+    /**
+     * Places a letter at a square of the anchor row, either
+     * the tile already there or every tile that fits
+     * @param col the col to place at, the anchor or less going left
+     *            and more than the anchor going right
+     * @param state the current state of the gaddag
+     * @param leftCol the leftmost col of the word so far
+     * @param blanks bit i is set if column i is played with a blank
+     */
+    private void gen(int col, int state, int leftCol, long blanks) {
+        if (!board.isEmpty(anchorRow, col)) {
+            char c = board.getTile(anchorRow, col).getCharacter();
+            letters[col] = c;
+            goOn(col, gaddag.transition(state, c), leftCol, blanks);
+            return;
+        }
+        //Squares left of the anchor that are anchors themselves
+        //get their own moves
+        if (col < anchorCol && board.isAnchor(anchorRow, col)) {
+            return;
+        }
+        int playable = playableMask(PackedDawg.LETTERS, anchorRow, col);
+        for (int edge = gaddag.getFirstEdge(state); edge != -1;
+             edge = gaddag.getNextEdge(edge)) {
+            int letter = gaddag.getEdgeLetter(edge);
+            if ((playable & (1 << letter)) == 0) {
+                continue;
+            }
+            int used = rack.take(letter);
+            letters[col] = PackedDawg.toChar(letter);
+            goOn(col, gaddag.getEdgeTarget(edge), leftCol,
+                    withBlank(blanks, used, col));
+            rack.put(used);
+        }
+    }
+
+    /**
+     * Records the word if it is one and keeps growing
+     * in the direction it is going
+     * @param col the col of the letter that was just placed
+     * @param state the state reached by the letter, -1 if there is none
+     * @param leftCol the leftmost col of the word before the letter
+     * @param blanks bit i is set if column i is played with a blank
+     */
+    private void goOn(int col, int state, int leftCol, long blanks) {
+        if (state == -1) {
+            return;
+        }
+        nodes++;
+        if (timeUp()) {
+            return;
+        }
+        if (col <= anchorCol) {
+            boolean leftEmpty = isOpen(col - 1);
+            boolean rightEmpty = isOpen(anchorCol + 1);
+            if (PackedDawg.isWord(state) && leftEmpty && rightEmpty) {
+                legalMove(letters, col, anchorCol - col + 1, col,
+                        blanks >>> col);
+            }
+            //Keep going left
+            if (col > 0) {
+                gen(col - 1, state, col, blanks);
+            }
+            //Switch to going right
+            if (leftEmpty && anchorCol + 1 < size) {
+                int sep = gaddag.transition(state, PackedDawg.SEPARATOR);
+                if (sep != -1) {
+                    gen(anchorCol + 1, sep, col, blanks);
+                }
+            }
+        } else {
+            if (PackedDawg.isWord(state) && isOpen(col + 1)) {
+                legalMove(letters, leftCol, col - leftCol + 1, leftCol,
+                        blanks >>> leftCol);
+            }
+            //Keep going right
+            if (col + 1 < size) {
+                gen(col + 1, state, leftCol, blanks);
+            }
+        }
+    }
+
+    /**
+     * Check if a column of the anchor row is off the board or empty
+     * @param col the column to check
+     * @return true if no tile is there
+     */
+    private boolean isOpen(int col) {
+        return (col < 0 || col >= size || board.isEmpty(anchorRow, col));
+    }
+}
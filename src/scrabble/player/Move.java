@@ -0,0 +1,262 @@
+/**
+ * @author Elijah Johnson
+ * @description A legal move found by a move generator. Only the
+ * word, where it starts and two bit masks are kept so millions of
+ * them can be streamed without holding on to tiles or positions
+ */
+
+package scrabble.player;
+
+import scrabble.Board;
+import scrabble.Position;
+import scrabble.Tile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+public final class Move {
+    private final String word;
+    private final int row;
+    private final int col;
+    private final int orientation;
+    private final long blanks;
+    private final long placed;
+    private final int score;
+    private final double equity;
+
+    /**
+     * Create a move
+     * @param word the whole word made, including tiles on the board
+     * @param row the row of the first letter on the board
+     * @param col the col of the first letter on the board
+     * @param orientation Board.ACROSS or Board.DOWN
+     * @param blanks bit i is set if letter i is played with a blank
+     * @param placed bit i is set if letter i comes from the rack
+     * @param score the score of the move
+     * @param equity the score plus the value of the tiles left
+     */
+    public Move(String word, int row, int col, int orientation,
+                long blanks, long placed, int score, double equity) {
+        this.word = word;
+        this.row = row;
+        this.col = col;
+        this.orientation = orientation;
+        this.blanks = blanks;
+        this.placed = placed;
+        this.score = score;
+        this.equity = equity;
+    }
+
+    /**
+     * Gets the word made by the move
+     * @return the word in upper case
+     */
+    public String getWord() {
+        return word;
+    }
+
+    /**
+     * Gets how many letters are in the word
+     * @return the length of the word
+     */
+    public int getLength() {
+        return word.length();
+    }
+
+    /**
+     * Gets the row of the first letter
+     * @return the row on the board
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * Gets the col of the first letter
+     * @return the col on the board
+     */
+    public int getCol() {
+        return col;
+    }
+
+    /**
+     * Gets the orientation of the move
+     * @return Board.ACROSS or Board.DOWN
+     */
+    public int getOrientation() {
+        return orientation;
+    }
+
+    /**
+     * Gets the direction the word is read in
+     * @return Direction.ACROSS or Direction.DOWN
+     */
+    public Position.Direction getDirection() {
+        return (orientation == Board.DOWN ? Position.Direction.DOWN
+                : Position.Direction.ACROSS);
+    }
+
+    /**
+     * Gets the first square of the word
+     * @return the start position on the board
+     */
+    public Position getStartPos() {
+        return new Position(row, col);
+    }
+
+    /**
+     * Gets the last square of the word
+     * @return the end position on the board
+     */
+    public Position getEndPos() {
+        int last = word.length() - 1;
+        return (orientation == Board.DOWN ? new Position(row + last, col)
+                : new Position(row, col + last));
+    }
+
+    /**
+     * Gets the letters played with blanks
+     * @return bit i is set if letter i is played with a blank
+     */
+    public long getBlanks() {
+        return blanks;
+    }
+
+    /**
+     * Gets the letters that come from the rack
+     * @return bit i is set if letter i is placed by the move
+     */
+    public long getPlaced() {
+        return placed;
+    }
+
+    /**
+     * Check if a letter of the word is played with a blank
+     * @param index the index of the letter
+     * @return true if the letter is a blank
+     */
+    public boolean isBlank(int index) {
+        return (blanks & (1L << index)) != 0;
+    }
+
+    /**
+     * Check if a letter of the word comes from the rack
+     * @param index the index of the letter
+     * @return true if the move places the letter
+     */
+    public boolean isPlaced(int index) {
+        return (placed & (1L << index)) != 0;
+    }
+
+    /**
+     * Gets the letters the move takes from the rack in order,
+     * blanks are lower case
+     * @return the placed letters
+     */
+    public String getTiles() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < word.length(); i++) {
+            if (isPlaced(i)) {
+                char c = word.charAt(i);
+                sb.append(isBlank(i) ? Character.toLowerCase(c) : c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Takes the tiles the move places out of a tray, in the order
+     * they go on the board. Blanks are given the letter they are
+     * played as
+     * @param tray the tiles to take from, they are not removed
+     * @return the tiles placed by the move
+     */
+    public List<Tile> pickTiles(List<Tile> tray) {
+        List<Tile> left = new ArrayList<>(tray);
+        List<Tile> move = new ArrayList<>();
+        for (int i = 0; i < word.length(); i++) {
+            if (!isPlaced(i)) {
+                continue;
+            }
+            char c = word.charAt(i);
+            boolean blank = isBlank(i);
+            for (Tile t : left) {
+                if (blank ? t.isBlank()
+                        : (!t.isBlank() && t.getCharacter() == c)) {
+                    if (blank) {
+                        t.setCharacter(c);
+                    }
+                    left.remove(t);
+                    move.add(t);
+                    break;
+                }
+            }
+        }
+        return move;
+    }
+
+    /**
+     * Gets the score of the move
+     * @return the score
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Gets the equity of the move, the score plus the value of the
+     * tiles left in the rack
+     * @return the equity, the score if leaves were not valued
+     */
+    public double getEquity() {
+        return equity;
+    }
+
+    /**
+     * Check if another move places the same word the same way
+     * @param o the object to compare to
+     * @return true if every part of the move is the same
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Move)) {
+            return false;
+        }
+        Move other = (Move) o;
+        return row == other.row && col == other.col
+                && orientation == other.orientation
+                && blanks == other.blanks && placed == other.placed
+                && score == other.score && equity == other.equity
+                && word.equals(other.word);
+    }
+
+    /**
+     * Hash the move so equal moves hash the same
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(word, row, col, orientation, blanks, placed,
+                score, equity);
+    }
+
+    /**
+     * Display the move as the word with blanks in lower case,
+     * the score, the start and the direction
+     * @return the move as a string
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            sb.append(isBlank(i) ? Character.toLowerCase(c) : c);
+        }
+        return sb + " " + score + " " + getStartPos() + " "
+                + getDirection().toString().toLowerCase();
+    }
+}
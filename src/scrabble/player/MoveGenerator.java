@@ -0,0 +1,972 @@
+/**
+ * @author Elijah Johnson
+ * @description Parent class for the cpu move generators, keeps track
+ * of the highest scoring move found. The children decide how the
+ * dictionary is walked from each anchor. Words are built in reused
+ * char buffers and squares are plain ints so the search does not
+ * create any objects
+ */
+
+package scrabble.player;
+
+import scrabble.*;
+import scrabble.Dictionary;
+import scrabble.dawg.PackedDawg;
+import scrabble.gaddag.Gaddag;
+import scrabble.leave.LeaveTable;
+import scrabble.metrics.Metrics;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public abstract class MoveGenerator {
+    /**
+     * How many dictionary states are visited between reads of the
+     * clock when there is a deadline, a power of two
+     */
+    private final static int CLOCK_INTERVAL = 1024;
+
+    protected Dictionary dict;
+    protected Tray tray;
+    protected Rack rack;
+    protected BoardView board;
+    protected int[] crossChecks;
+    protected int size;
+
+    /**
+     * The anchor moves are currently being built from
+     */
+    protected int anchorRow;
+    protected int anchorCol;
+    //Where the anchor comes in the order the view is read in
+    private int anchorOrder;
+
+    /**
+     * How many dictionary states have been visited
+     */
+    protected long nodes;
+
+    /**
+     * Values of the tiles kept after a move, null to pick
+     * moves by score alone
+     */
+    protected LeaveTable leaves;
+
+    /**
+     * When the search has to stop as a System.nanoTime, only used if
+     * timed is set. Once the time is up every search returns straight
+     * away and the best move found so far is kept. A search without a
+     * move yet goes on until it finds one, so running out of time
+     * never looks like having no move
+     */
+    private long deadline;
+    private boolean timed;
+    private boolean timedOut;
+
+    /**
+     * The move with the highest equity found so far, the score plus
+     * the value of the leave. Bit i of the blanks is set if the i'th
+     * letter of the word is a blank and bit i of placed is set if it
+     * comes from the rack
+     */
+    private char[] highestWord;
+    private int highestLength;
+    private int highestScoring;
+    private double highestEquity;
+    private long highestBlanks;
+    private long highestPlaced;
+    private BoardView highestView;
+    private int highestRow;
+    private int highestCol;
+    private int highestOrder;
+    private long legalMoveCount;
+    private Set<String> legalMoves;
+
+    /**
+     * Where every legal move is sent, null if moves are not wanted
+     */
+    protected Consumer<? super Move> moveConsumer;
+    private TopMoves topMoves;
+
+    /**
+     * When set an anchor is only searched if a bound on the equity of
+     * its moves beats the move to beat. The bound is worked out once
+     * per anchor from every word the anchor could make on the row,
+     * with the highest tiles of the rack on the best squares and the
+     * best leave the rack could keep, so no move that would have been
+     * picked is ever cut
+     */
+    private boolean pruning;
+    private boolean pruneNow;
+    private long anchorsSearched;
+    private long anchorsCut;
+    //Tile values of the rack highest first, blanks are worth nothing
+    private int[] rackValues;
+    //The highest value of a leave that keeps i tiles of the rack
+    private double[] bestLeaves;
+    //What each empty square of a word adds per point of its tile
+    private int[] weights;
+    //The anchors of a view and their bounds, searched best first
+    private int[] anchorList;
+    private double[] anchorBounds;
+
+    /**
+     * Create a generator for the tiles in tray
+     * @param dict the dictionary to generate words from
+     * @param tray the tray to take tiles from
+     */
+    public MoveGenerator(Dictionary dict, Tray tray) {
+        this.dict = dict;
+        this.tray = tray;
+        rack = new Rack();
+        highestWord = new char[0];
+        legalMoves = new HashSet<>();
+        rackValues = new int[0];
+        bestLeaves = new double[0];
+        weights = new int[0];
+        anchorList = new int[0];
+        anchorBounds = new double[0];
+        reset();
+    }
+
+    /**
+     * Creates the generator that matches the type of dictionary
+     * @param dict the dictionary to generate words from
+     * @param tray the tray to take tiles from
+     * @return a gaddag generator for a gaddag otherwise a dawg generator
+     */
+    public static MoveGenerator create(Dictionary dict, Tray tray) {
+        if (dict instanceof Gaddag) {
+            return new GaddagMoveGenerator((Gaddag) dict, tray);
+        }
+        return new DawgMoveGenerator(dict, tray);
+    }
+
+    /**
+     * Gets a packed version of a dictionary to walk, dictionaries
+     * that are not packed are packed once here
+     * @param dict the dictionary to walk
+     * @return dict if it is packed otherwise a packed copy of it
+     */
+    protected static PackedDawg packed(Dictionary dict) {
+        return (dict instanceof PackedDawg ? (PackedDawg) dict
+                : new PackedDawg(dict));
+    }
+
+    /**
+     * Streams every legal move across and down a board, the board
+     * can not change until the stream is done
+     * @param dict the dictionary to generate words from
+     * @param tray the tray to take tiles from
+     * @param board the board to generate moves on
+     * @param leaves the leave values to add to each move, null for none
+     * @param parallel true to split the anchors across threads
+     * @return the stream of moves
+     */
+    public static Stream<Move> stream(Dictionary dict, Tray tray, Board board,
+                                      LeaveTable leaves, boolean parallel) {
+        return StreamSupport.stream(
+                new MoveSpliterator(dict, tray, board, leaves), parallel);
+    }
+
+    /**
+     * Finds the moves with the highest equity across and down a board
+     * @param dict the dictionary to generate words from
+     * @param tray the tray to take tiles from
+     * @param board the board to generate moves on
+     * @param leaves the leave values to add to each move, null to
+     *               rank by score
+     * @param limit how many moves to find
+     * @return up to limit moves from highest equity to lowest
+     */
+    public static List<Move> topMoves(Dictionary dict, Tray tray, Board board,
+                                      LeaveTable leaves, int limit) {
+        TopMoves top = new TopMoves(limit);
+        MoveGenerator generator = create(dict, tray);
+        generator.setLeaveTable(leaves);
+        generator.setMoveConsumer(top);
+        generator.calcMoves(board.getView(Board.ACROSS));
+        generator.calcMoves(board.getView(Board.DOWN));
+        return top.getMoves();
+    }
+
+    /**
+     * Sends every legal move found from now on to a consumer, a
+     * TopMoves only gets the moves that would make its list
+     * @param consumer where to send moves, null to stop sending them
+     */
+    public void setMoveConsumer(Consumer<? super Move> consumer) {
+        moveConsumer = consumer;
+        topMoves = (consumer instanceof TopMoves ? (TopMoves) consumer
+                : null);
+    }
+
+    /**
+     * Picks moves by equity from now on, the score plus the
+     * value of the tiles left in the rack
+     * @param leaves the leave values, null to pick by score alone
+     */
+    public void setLeaveTable(LeaveTable leaves) {
+        this.leaves = leaves;
+    }
+
+    /**
+     * Skip anchors that can not beat the best move found so far, or
+     * make the list when moves go to a TopMoves. Other move consumers
+     * get every move no matter what this is set to
+     * @param pruning true to cut anchors by their bounds
+     */
+    public void setPruning(boolean pruning) {
+        this.pruning = pruning;
+    }
+
+    /**
+     * Check if anchors are cut by their bounds
+     * @return true if pruning is on
+     */
+    public boolean isPruning() {
+        return pruning;
+    }
+
+    /**
+     * Stops searching once a time is reached and a move has been
+     * found, the best move found by then is kept. The clock is only
+     * read every few states
+     * @param deadline the time to stop as a System.nanoTime
+     */
+    public void setDeadline(long deadline) {
+        this.deadline = deadline;
+        timed = true;
+    }
+
+    /**
+     * Searches every anchor again no matter how long it takes
+     */
+    public void clearDeadline() {
+        timed = false;
+    }
+
+    /**
+     * Gives this generator the deadline of another one
+     * @param other the generator to take the deadline of
+     */
+    protected void copyDeadline(MoveGenerator other) {
+        deadline = other.deadline;
+        timed = other.timed;
+    }
+
+    /**
+     * Check if the search stopped early since the last reset
+     * @return true if the deadline was reached
+     */
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    /**
+     * Reads the clock to see if the deadline has been reached, the
+     * search only stops once it has a move to play
+     * @return true if the search has to stop
+     */
+    protected boolean checkClock() {
+        if (timed && !timedOut && highestView != null
+                && System.nanoTime() - deadline >= 0) {
+            timedOut = true;
+        }
+        return timedOut;
+    }
+
+    /**
+     * Check if the search has to stop, called once per state
+     * visited so the clock is only read every CLOCK_INTERVAL states
+     * @return true if the search has to stop
+     */
+    protected boolean timeUp() {
+        return ((nodes & (CLOCK_INTERVAL - 1)) == 0 ? checkClock()
+                : timedOut);
+    }
+
+    /**
+     * Gets the dictionary generators should search, a gaddag is
+     * searched as is and anything else is packed
+     * @param dict the dictionary to generate words from
+     * @return the dictionary to give to every generator
+     */
+    public static Dictionary searchable(Dictionary dict) {
+        return (dict instanceof Gaddag ? dict : packed(dict));
+    }
+
+    /**
+     * Forget every move that has been found
+     */
+    public void reset() {
+        legalMoves.clear();
+        legalMoveCount = 0;
+        nodes = 0;
+        anchorsSearched = 0;
+        anchorsCut = 0;
+        timedOut = false;
+        highestLength = 0;
+        highestScoring = 0;
+        highestEquity = 0;
+        highestBlanks = 0;
+        highestPlaced = 0;
+        highestView = null;
+    }
+
+    /**
+     * Calculates all valid moves along the rows of a view of the
+     * board, the board is only read
+     * @param board the view of the board to generate moves on
+     */
+    public void calcMoves(BoardView board) {
+        begin(board);
+        long start = Metrics.start();
+        long startNodes = nodes;
+        long startMoves = legalMoveCount;
+        //The order moves are sent in only matters to a consumer
+        if (pruneNow && moveConsumer == null) {
+            searchBestFirst();
+        } else {
+            for (int row = 0; row < size && !checkClock(); row++) {
+                for (int col = 0; col < size; col++) {
+                    if (board.isAnchor(row, col) && !checkClock()) {
+                        anchorRow = row;
+                        anchorCol = col;
+                        anchorOrder = row * size + col;
+                        searchAnchor();
+                    }
+                }
+            }
+        }
+        Metrics.stop(Metrics.Phase.GENERATE, start);
+        Metrics.countSearch(nodes - startNodes, legalMoveCount - startMoves);
+    }
+
+    /**
+     * Calculates the valid moves through some of the anchors of
+     * a view of the board, the board is only read
+     * @param board the view of the board to generate moves on
+     * @param anchors the anchors of the view as row * size + col
+     * @param from the index of the first anchor to use
+     * @param to one past the index of the last anchor to use
+     */
+    public void calcMoves(BoardView board, int[] anchors, int from, int to) {
+        begin(board);
+        long start = Metrics.start();
+        long startNodes = nodes;
+        long startMoves = legalMoveCount;
+        for (int i = from; i < to && !checkClock(); i++) {
+            anchorRow = anchors[i] / size;
+            anchorCol = anchors[i] % size;
+            anchorOrder = i;
+            searchAnchor();
+        }
+        Metrics.stop(Metrics.Phase.GENERATE, start);
+        Metrics.countSearch(nodes - startNodes, legalMoveCount - startMoves);
+    }
+
+    /**
+     * Gets the generator ready to search a view of the board
+     * @param board the view of the board to generate moves on
+     */
+    protected void begin(BoardView board) {
+        this.board = board;
+        size = board.getSize();
+        if (highestWord.length < size) {
+            highestWord = Arrays.copyOf(highestWord, size);
+        }
+        prepare(size);
+        rack.setTiles(tray.getTiles());
+        //Generate cross checks for the current board
+        crossChecks = board.generateCrossChecks(dict);
+        if (ScrabbleGui.DEBUG_PRINT) {
+            System.out.println(Arrays.toString(crossChecks));
+        }
+        //Make sure the anchors are up to date
+        board.getPotentialAnchorSquares();
+        //Every move has to be found when they are all wanted
+        pruneNow = pruning && !ScrabbleGui.DEBUG_PRINT
+                && (moveConsumer == null || topMoves != null);
+        if (pruneNow) {
+            prepareBounds();
+        }
+    }
+
+    /**
+     * Generates the moves of the current anchor unless its bound
+     * shows none of them can beat the move to beat
+     */
+    private void searchAnchor() {
+        if (pruneNow && anchorBound() <= toBeat()) {
+            anchorsCut++;
+            return;
+        }
+        anchorsSearched++;
+        generate(anchorRow, anchorCol);
+    }
+
+    /**
+     * Searches the anchors of the view from the highest bound down,
+     * the best moves are found first so the rest are cut sooner. Once
+     * an anchor can not beat the highest none of the ones after it can
+     */
+    private void searchBestFirst() {
+        int count = 0;
+        if (anchorList.length < size * size) {
+            anchorList = new int[size * size];
+            anchorBounds = new double[size * size];
+        }
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (!board.isAnchor(row, col)) {
+                    continue;
+                }
+                anchorRow = row;
+                anchorCol = col;
+                double bound = anchorBound();
+                //Anchors with the same bound stay in the order read
+                int i = count++;
+                while (i > 0 && anchorBounds[i - 1] < bound) {
+                    anchorList[i] = anchorList[i - 1];
+                    anchorBounds[i] = anchorBounds[i - 1];
+                    i--;
+                }
+                anchorList[i] = row * size + col;
+                anchorBounds[i] = bound;
+            }
+        }
+        for (int i = 0; i < count && !checkClock(); i++) {
+            if (anchorBounds[i] < toBeat()) {
+                anchorsCut += count - i;
+                return;
+            }
+            anchorRow = anchorList[i] / size;
+            anchorCol = anchorList[i] % size;
+            anchorOrder = anchorList[i];
+            //A tie can only win if it comes before the highest
+            if (anchorBounds[i] == toBeat() && (highestView != board
+                    || anchorOrder > highestOrder)) {
+                anchorsCut++;
+                continue;
+            }
+            anchorsSearched++;
+            generate(anchorRow, anchorCol);
+        }
+    }
+
+    /**
+     * Gets the equity a move has to beat to be kept, the highest
+     * equity or the last place of the TopMoves if that is lower
+     * @return the equity to beat, negative infinity for any move
+     */
+    private double toBeat() {
+        double beat = (highestView == null ? Double.NEGATIVE_INFINITY
+                : highestEquity);
+        return (topMoves == null ? beat
+                : Math.min(beat, topMoves.getThreshold()));
+    }
+
+    /**
+     * Gets the tile values and best leaves of the rack ready for the
+     * bounds, done once per view since the rack does not change
+     */
+    private void prepareBounds() {
+        int tiles = rack.size();
+        if (rackValues.length < tiles) {
+            rackValues = new int[tiles];
+            bestLeaves = new double[tiles + 1];
+        }
+        if (weights.length < size) {
+            weights = new int[size];
+        }
+        int n = 0;
+        for (int letter = 0; letter < Rack.BLANK; letter++) {
+            int value = board.getLetterValue((char) ('A' + letter));
+            for (int i = rack.getCount(letter); i > 0; i--) {
+                rackValues[n++] = value;
+            }
+        }
+        while (n < tiles) {
+            rackValues[n++] = 0;
+        }
+        sortDescending(rackValues, tiles);
+        Arrays.fill(bestLeaves, 0, tiles + 1, Double.NEGATIVE_INFINITY);
+        if (leaves == null) {
+            Arrays.fill(bestLeaves, 0, tiles + 1, 0);
+        } else {
+            fillBestLeaves(0, tiles);
+        }
+    }
+
+    /**
+     * Finds the best leave of every size the rack can keep by taking
+     * tiles out of it, the rack is put back the way it was
+     * @param kind the first kind of tile that can still be taken
+     * @param kept how many tiles the rack has left
+     */
+    private void fillBestLeaves(int kind, int kept) {
+        if (kind > Rack.BLANK) {
+            bestLeaves[kept] = Math.max(bestLeaves[kept],
+                    leaves.getValue(rack));
+            return;
+        }
+        fillBestLeaves(kind + 1, kept);
+        int taken = 0;
+        while (rack.getCount(kind) > 0) {
+            rack.take(kind);
+            taken++;
+            fillBestLeaves(kind + 1, kept - taken);
+        }
+        for (; taken > 0; taken--) {
+            rack.put(kind);
+        }
+    }
+
+    /**
+     * Sorts the start of an array from highest to lowest, the arrays
+     * are never longer than a row so an insertion sort is enough
+     * @param values the array to sort
+     * @param length how many values to sort
+     */
+    private static void sortDescending(int[] values, int length) {
+        for (int i = 1; i < length; i++) {
+            int value = values[i];
+            int j = i - 1;
+            while (j >= 0 && values[j] < value) {
+                values[j + 1] = values[j];
+                j--;
+            }
+            values[j + 1] = value;
+        }
+    }
+
+    /**
+     * Gets a bound on the equity of every move through the current
+     * anchor. Each word the row allows through it is scored with the
+     * highest tiles of the rack on the squares worth the most, which
+     * is the most any letters could score there, plus the best leave
+     * of the tiles it keeps. Squares no tile of the rack can pass the
+     * cross check of end the words, and only the anchor's own squares
+     * to the left are used since other anchors make their own moves
+     * @return the highest equity a move of the anchor could have
+     */
+    private double anchorBound() {
+        int tiles = rack.size();
+        double bound = Double.NEGATIVE_INFINITY;
+        int playable = rack.getPlayableMask();
+        int leftEmpties = 0;
+        for (int start = anchorCol; start >= 0; start--) {
+            if (board.isEmpty(anchorRow, start)) {
+                //Left of the anchor only its own squares can be used
+                if (start < anchorCol && board.isAnchor(anchorRow, start)) {
+                    break;
+                }
+                if ((crossChecks[anchorRow * size + start] & playable) == 0
+                        || ++leftEmpties > tiles) {
+                    break;
+                }
+            }
+            //A word has to start after an empty square
+            if (start > 0 && !board.isEmpty(anchorRow, start - 1)) {
+                continue;
+            }
+            int empties = leftEmpties;
+            for (int end = anchorCol; end < size; end++) {
+                if (end > anchorCol && board.isEmpty(anchorRow, end)
+                        && ((crossChecks[anchorRow * size + end]
+                        & playable) == 0 || ++empties > tiles)) {
+                    break;
+                }
+                //A word has to end before an empty square
+                if ((end + 1 < size && !board.isEmpty(anchorRow, end + 1))
+                        || end == start) {
+                    continue;
+                }
+                bound = Math.max(bound, wordBound(start, end, empties));
+            }
+        }
+        return bound;
+    }
+
+    /**
+     * Gets the most a word on squares of the anchor row can be worth,
+     * scored the way the board scores it with the highest tiles of the
+     * rack on the empty squares worth the most
+     * @param start the col of the first letter
+     * @param end the col of the last letter
+     * @param empties how many of the squares are empty
+     * @return the highest equity of the word
+     */
+    private double wordBound(int start, int end, int empties) {
+        int wordMult = 1;
+        int tileSum = 0;
+        for (int col = start; col <= end; col++) {
+            if (board.isEmpty(anchorRow, col)) {
+                wordMult *= board.getWordMultiplier(anchorRow, col);
+            } else {
+                tileSum += board.getTile(anchorRow, col).getScore();
+            }
+        }
+        int[] crossSums = board.getCrossSums();
+        int fixed = tileSum * wordMult;
+        int n = 0;
+        for (int col = start; col <= end; col++) {
+            if (!board.isEmpty(anchorRow, col)) {
+                continue;
+            }
+            int letterMult = board.getLetterMultiplier(anchorRow, col);
+            int crossSum = crossSums[anchorRow * size + col];
+            int weight = letterMult * wordMult;
+            if (crossSum != 0) {
+                //The board multiplies the cross word of a word square
+                //that is an anchor by the word's multiplier
+                int crossMult = (board.isAnchor(anchorRow, col)
+                        && board.getWordMultiplier(anchorRow, col) > 1
+                        ? wordMult : 1);
+                fixed += crossSum * crossMult;
+                weight += letterMult * crossMult;
+            }
+            weights[n++] = weight;
+        }
+        sortDescending(weights, n);
+        int score = fixed + (n == 7 ? 50 : 0);
+        for (int i = 0; i < n; i++) {
+            score += weights[i] * rackValues[i];
+        }
+        return score + bestLeaves[rack.size() - n];
+    }
+
+    /**
+     * Makes sure the buffers used while searching fit the board
+     * @param size the size of the board
+     */
+    protected abstract void prepare(int size);
+
+    /**
+     * Generate every move that goes through the anchor
+     * @param row the row of the anchor
+     * @param col the col of the anchor
+     */
+    protected abstract void generate(int row, int col);
+
+    /**
+     * Gets the letters that can be played on a square, the letters
+     * leaving the node that are in the rack and pass the cross check
+     * @param childMask the child mask of the current dictionary node
+     * @param row the row of the square
+     * @param col the col of the square
+     * @return the mask of playable letters, bit i is 'A' + i
+     */
+    protected int playableMask(int childMask, int row, int col) {
+        return childMask & crossChecks[row * size + col]
+                & rack.getPlayableMask();
+    }
+
+    /**
+     * Adds a letter taken from the rack to a mask of blanks
+     * @param blanks the mask of letters played with blanks
+     * @param used what the rack gave for the letter, Rack.BLANK
+     *             if it was a blank
+     * @param bit the bit of the letter in the mask
+     * @return the mask with bit set if a blank was used
+     */
+    protected static long withBlank(long blanks, int used, int bit) {
+        return (used == Rack.BLANK ? blanks | (1L << bit) : blanks);
+    }
+
+    /**
+     * Record a legal move and update the highest if it
+     * is the new highest
+     * @param word the buffer holding the whole word being made,
+     *             including tiles already on the board
+     * @param offset the index of the first letter in word
+     * @param length the length of the word
+     * @param col the col of the first letter on the anchor row
+     * @param blanks bit i is set if letter offset + i is played
+     *               with a blank from the rack
+     */
+    protected void legalMove(char[] word, int offset, int length, int col,
+                             long blanks) {
+        if (length < 2) {
+            return;
+        }
+        //Make sure the word is played off of the anchor
+        if (anchorCol < col || anchorCol >= col + length) {
+            return;
+        }
+        //Blanks go where they cost the least
+        if (blanks != 0) {
+            blanks = bestBlanks(word, offset, length, col, blanks);
+        }
+        //Get the value of this word if we played it
+        long start = Metrics.start();
+        int score = board.getValue(word, offset, length, blanks,
+                anchorRow, col);
+        Metrics.stop(Metrics.Phase.SCORE, start);
+        //The rack holds exactly the tiles the move leaves
+        double equity = (leaves == null ? score
+                : score + leaves.getValue(rack));
+        //A tie goes to the move that comes first in the order the
+        //view is read in, however the anchors were searched
+        if (highestView == null || equity > highestEquity
+                || (equity == highestEquity && highestView == board
+                && anchorOrder < highestOrder)) {
+            System.arraycopy(word, offset, highestWord, 0, length);
+            highestLength = length;
+            highestScoring = score;
+            highestEquity = equity;
+            highestBlanks = blanks;
+            highestView = board;
+            highestRow = anchorRow;
+            highestCol = col;
+            highestOrder = anchorOrder;
+            highestPlaced = placedMask(col, length);
+        }
+        if (moveConsumer != null
+                && (topMoves == null || equity > topMoves.getThreshold())) {
+            moveConsumer.accept(makeMove(word, offset, length, col, blanks,
+                    score, equity));
+        }
+        legalMoveCount++;
+        //Keep a set of all legal moves when debugging
+        if (ScrabbleGui.DEBUG_PRINT) {
+            legalMoves.add(new String(word, offset, length));
+        }
+    }
+
+    /**
+     * Picks which copies of a letter the blanks of a move stand for.
+     * The search takes a real tile before a blank so a word is only
+     * built once however the blanks could be placed, then the blanks
+     * are moved to the copies of their letter placed from the rack that
+     * score the least
+     * @param word the buffer holding the word
+     * @param offset the index of the first letter in word
+     * @param length the length of the word
+     * @param col the col of the first letter
+     * @param blanks bit i is set if letter offset + i is a blank
+     * @return the blanks of the assignment with the highest score
+     */
+    private long bestBlanks(char[] word, int offset, int length, int col,
+                            long blanks) {
+        long done = 0;
+        for (long rest = blanks; rest != 0; rest &= rest - 1) {
+            int i = Long.numberOfTrailingZeros(rest);
+            if ((done & (1L << i)) != 0) {
+                continue;
+            }
+            //Every copy of the letter that comes from the rack
+            char c = word[offset + i];
+            long copies = 0;
+            for (int j = 0; j < length; j++) {
+                if (word[offset + j] == c
+                        && board.isEmpty(anchorRow, col + j)) {
+                    copies |= 1L << j;
+                }
+            }
+            long group = blanks & copies;
+            done |= group;
+            if (group == copies) {
+                continue;
+            }
+            //Try every way to spread the blanks over the copies
+            int count = Long.bitCount(group);
+            long others = blanks & ~copies;
+            int best = -1;
+            for (long sub = copies; sub != 0; sub = (sub - 1) & copies) {
+                if (Long.bitCount(sub) != count) {
+                    continue;
+                }
+                int score = board.getValue(word, offset, length,
+                        others | sub, anchorRow, col);
+                if (score > best) {
+                    best = score;
+                    group = sub;
+                }
+            }
+            blanks = others | group;
+        }
+        return blanks;
+    }
+
+    /**
+     * Gets which letters of a move on the anchor row come from the rack
+     * @param col the col of the first letter
+     * @param length the length of the word
+     * @return bit i is set if the square of letter i is empty
+     */
+    private long placedMask(int col, int length) {
+        long placed = 0;
+        for (int i = 0; i < length; i++) {
+            if (board.isEmpty(anchorRow, col + i)) {
+                placed |= 1L << i;
+            }
+        }
+        return placed;
+    }
+
+    /**
+     * Makes the record of a move on the anchor row in board coordinates
+     * @param word the buffer holding the whole word
+     * @param offset the index of the first letter in word
+     * @param length the length of the word
+     * @param col the col of the first letter on the anchor row
+     * @param blanks bit i is set if letter offset + i is a blank
+     * @param score the score of the move
+     * @param equity the score plus the value of the leave
+     * @return the move
+     */
+    private Move makeMove(char[] word, int offset, int length, int col,
+                          long blanks, int score, double equity) {
+        boolean down = board.isDown();
+        return new Move(new String(word, offset, length),
+                down ? col : anchorRow, down ? anchorRow : col,
+                board.getOrientation(), blanks, placedMask(col, length), score,
+                equity);
+    }
+
+    /**
+     * Adds the moves found by another generator to this one, the
+     * other highest only replaces this one if its equity is higher so
+     * merging in search order picks the same move as one generator
+     * @param other the generator to take the moves of
+     */
+    protected void merge(MoveGenerator other) {
+        nodes += other.nodes;
+        anchorsSearched += other.anchorsSearched;
+        anchorsCut += other.anchorsCut;
+        legalMoveCount += other.legalMoveCount;
+        timedOut |= other.timedOut;
+        legalMoves.addAll(other.legalMoves);
+        if (!other.hasMove()
+                || (hasMove() && other.highestEquity <= highestEquity)) {
+            return;
+        }
+        if (highestWord.length < other.highestLength) {
+            highestWord = new char[other.highestWord.length];
+        }
+        System.arraycopy(other.highestWord, 0, highestWord, 0,
+                other.highestLength);
+        highestLength = other.highestLength;
+        highestScoring = other.highestScoring;
+        highestEquity = other.highestEquity;
+        highestBlanks = other.highestBlanks;
+        highestPlaced = other.highestPlaced;
+        highestView = other.highestView;
+        highestRow = other.highestRow;
+        highestCol = other.highestCol;
+        highestOrder = other.highestOrder;
+    }
+
+    /**
+     * Check if any move has been found
+     * @return true if there is a highest move
+     */
+    public boolean hasMove() {
+        return highestView != null;
+    }
+
+    /**
+     * Gets the highest scoring word found
+     * @return the word or null if there were no moves
+     */
+    public String getHighestScoringWord() {
+        return (hasMove() ? new String(highestWord, 0, highestLength) : null);
+    }
+
+    /**
+     * Gets the score of the highest scoring word
+     * @return the highest score
+     */
+    public int getHighestScoring() {
+        return highestScoring;
+    }
+
+    /**
+     * Gets the equity of the highest move, the score plus
+     * the value of the leave
+     * @return the highest equity
+     */
+    public double getHighestEquity() {
+        return highestEquity;
+    }
+
+    /**
+     * Gets the record of the highest move in board coordinates
+     * @return the move or null if there were no moves
+     */
+    public Move getHighest() {
+        if (!hasMove()) {
+            return null;
+        }
+        boolean down = highestView.isDown();
+        return new Move(new String(highestWord, 0, highestLength),
+                down ? highestCol : highestRow, down ? highestRow : highestCol,
+                highestView.getOrientation(), highestBlanks, highestPlaced,
+                highestScoring, highestEquity);
+    }
+
+    /**
+     * Gets the start of the highest scoring move
+     * @return the first square of the word on the board
+     */
+    public Position getHighestStartPos() {
+        return (hasMove() ? highestView.toBoard(
+                new Position(highestRow, highestCol)) : null);
+    }
+
+    /**
+     * Gets the end of the highest scoring move
+     * @return the last square of the word on the board
+     */
+    public Position getHighestEndPos() {
+        return (hasMove() ? highestView.toBoard(
+                new Position(highestRow, highestCol + highestLength - 1))
+                : null);
+    }
+
+    /**
+     * Gets how many legal moves were found
+     * @return the count of legal moves
+     */
+    public long getLegalMoveCount() {
+        return legalMoveCount;
+    }
+
+    /**
+     * Gets every legal word that was found, only kept
+     * when debug printing is on
+     * @return the set of words
+     */
+    public Set<String> getLegalMoves() {
+        return legalMoves;
+    }
+
+    /**
+     * Gets how many dictionary states were visited since the last reset
+     * @return the number of states
+     */
+    public long getNodesExplored() {
+        return nodes;
+    }
+
+    /**
+     * Gets how many anchors were searched since the last reset
+     * @return the number of anchors
+     */
+    public long getAnchorsSearched() {
+        return anchorsSearched;
+    }
+
+    /**
+     * Gets how many anchors were cut by their bounds since the last
+     * reset, their moves could not beat the move to beat
+     * @return the number of anchors
+     */
+    public long getAnchorsCut() {
+        return anchorsCut;
+    }
+}
@@ -0,0 +1,183 @@
+/**
+ * @author Elijah Johnson
+ * @description Spliterator over every legal move on a board. Moves
+ * are generated one anchor at a time as they are asked for, and
+ * splitting hands half of the remaining anchors to a new spliterator
+ * with its own generator so streams can run in parallel
+ */
+
+package scrabble.player;
+
+import scrabble.*;
+import scrabble.Dictionary;
+import scrabble.leave.LeaveTable;
+
+import java.util.ArrayDeque;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+public class MoveSpliterator implements Spliterator<Move> {
+    private final Dictionary dict;
+    private final Tray tray;
+    private final Board board;
+    //Anchors as orientation * size * size + row * size + col
+    private final int[] anchors;
+    private int index;
+    private int end;
+    private final MoveGenerator generator;
+    //Moves of the last anchor that have not been given out yet
+    private final ArrayDeque<Move> buffer;
+    private final Consumer<Move> toBuffer;
+    private final int[] anchor;
+
+    /**
+     * Create a spliterator over every move across and down a board,
+     * the board can not change until it is done
+     * @param dict the dictionary to generate words from
+     * @param tray the tray to take tiles from
+     * @param board the board to generate moves on
+     * @param leaves the leave values to add to each move, null for none
+     */
+    public MoveSpliterator(Dictionary dict, Tray tray, Board board,
+                           LeaveTable leaves) {
+        this.dict = MoveGenerator.searchable(dict);
+        this.tray = tray;
+        this.board = board;
+        anchors = findAnchors(this.dict, board);
+        index = 0;
+        end = anchors.length;
+        generator = MoveGenerator.create(this.dict, tray);
+        generator.setLeaveTable(leaves);
+        buffer = new ArrayDeque<>();
+        toBuffer = buffer::add;
+        anchor = new int[1];
+    }
+
+    /**
+     * Create a spliterator over some anchors of another one
+     * @param other the spliterator being split
+     * @param index the first anchor to use
+     * @param end one past the last anchor to use
+     */
+    private MoveSpliterator(MoveSpliterator other, int index, int end) {
+        dict = other.dict;
+        tray = other.tray;
+        board = other.board;
+        anchors = other.anchors;
+        this.index = index;
+        this.end = end;
+        generator = MoveGenerator.create(dict, tray);
+        generator.setLeaveTable(other.generator.leaves);
+        buffer = new ArrayDeque<>();
+        toBuffer = buffer::add;
+        anchor = new int[1];
+    }
+
+    /**
+     * Brings the cross checks up to date and lists the anchors
+     * of both orientations
+     * @param dict the dictionary to check words with
+     * @param board the board to find anchors on
+     * @return the anchors in the order moves are generated
+     */
+    private static int[] findAnchors(Dictionary dict, Board board) {
+        int size = board.getSize();
+        int area = size * size;
+        int count = 0;
+        int[] found = new int[2 * area];
+        for (int orientation : new int[] {Board.ACROSS, Board.DOWN}) {
+            BoardView view = board.getView(orientation);
+            view.generateCrossChecks(dict);
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    if (view.isAnchor(row, col)) {
+                        found[count++] = orientation * area + row * size + col;
+                    }
+                }
+            }
+        }
+        int[] anchors = new int[count];
+        System.arraycopy(found, 0, anchors, 0, count);
+        return anchors;
+    }
+
+    /**
+     * Generates the moves through the next anchor
+     */
+    private void generateNext() {
+        int area = board.getSize() * board.getSize();
+        anchor[0] = anchors[index] % area;
+        generator.calcMoves(board.getView(anchors[index] / area), anchor,
+                0, 1);
+        index++;
+    }
+
+    /**
+     * Gives the next move to action, generating the next anchors
+     * until there is one
+     * @param action what to do with the move
+     * @return false if there are no moves left
+     */
+    @Override
+    public boolean tryAdvance(Consumer<? super Move> action) {
+        generator.setMoveConsumer(toBuffer);
+        while (buffer.isEmpty() && index < end) {
+            generateNext();
+        }
+        if (buffer.isEmpty()) {
+            return false;
+        }
+        action.accept(buffer.poll());
+        return true;
+    }
+
+    /**
+     * Gives every move left to action as it is generated
+     * @param action what to do with each move
+     */
+    @Override
+    public void forEachRemaining(Consumer<? super Move> action) {
+        while (!buffer.isEmpty()) {
+            action.accept(buffer.poll());
+        }
+        generator.setMoveConsumer(action);
+        while (index < end) {
+            generateNext();
+        }
+    }
+
+    /**
+     * Splits off the first half of the anchors that are left so
+     * moves stay in order
+     * @return the spliterator for the first half or null if there
+     * is too little left or moves of an anchor are still waiting
+     */
+    @Override
+    public Spliterator<Move> trySplit() {
+        if (!buffer.isEmpty() || end - index < 2) {
+            return null;
+        }
+        int middle = (index + end) >>> 1;
+        MoveSpliterator prefix = new MoveSpliterator(this, index, middle);
+        index = middle;
+        return prefix;
+    }
+
+    /**
+     * The number of moves is not known before generating them
+     * @return Long.MAX_VALUE
+     */
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Moves are never null and always come in the same order
+     * @return the characteristics of the spliterator
+     */
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+}
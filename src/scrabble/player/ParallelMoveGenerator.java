@@ -0,0 +1,188 @@
+/**
+ * @author Elijah Johnson
+ * @description Generates moves on a fork join pool. The anchors of
+ * both orientations are split into tasks, every task searches with
+ * its own generator so the rack and word buffers are never shared,
+ * and the best moves of the tasks are merged when they join
+ */
+
+package scrabble.player;
+
+import scrabble.*;
+import scrabble.Dictionary;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+
+public class ParallelMoveGenerator extends MoveGenerator {
+    /**
+     * Tasks with at most this many anchors are searched
+     * without splitting any further
+     */
+    private final static int ANCHORS_PER_TASK = 4;
+
+    private final ForkJoinPool pool;
+    //Passes moves from every task to the move consumer one at a time
+    private Consumer<Move> sharedConsumer;
+
+    /**
+     * Create a generator that uses the common pool
+     * @param dict the dictionary to generate words from
+     * @param tray the tray to take tiles from
+     */
+    public ParallelMoveGenerator(Dictionary dict, Tray tray) {
+        this(dict, tray, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a generator that searches on a pool
+     * @param dict the dictionary to generate words from
+     * @param tray the tray to take tiles from
+     * @param pool the pool to run the search on
+     */
+    public ParallelMoveGenerator(Dictionary dict, Tray tray,
+                                 ForkJoinPool pool) {
+        //Pack once here instead of once for every task
+        super(searchable(dict), tray);
+        this.pool = pool;
+    }
+
+    /**
+     * Calculates all valid moves along the rows of a view of the
+     * board on the pool
+     * @param board the view of the board to generate moves on
+     */
+    @Override
+    public void calcMoves(BoardView board) {
+        merge(pool.invoke(orientationTask(board)));
+    }
+
+    /**
+     * Calculates all valid moves across and down the board at once,
+     * the anchors of both orientations are searched together
+     * @param board the board to generate moves on
+     */
+    public void calcMoves(Board board) {
+        AnchorTask across = orientationTask(board.getView(Board.ACROSS));
+        AnchorTask down = orientationTask(board.getView(Board.DOWN));
+        //Both orientations are on the pool before either is joined
+        ForkJoinTask<MoveGenerator> downMoves = pool.submit(down);
+        merge(pool.invoke(across));
+        merge(downMoves.join());
+    }
+
+    /**
+     * Sends every legal move found from now on to a consumer, the
+     * tasks take turns calling it so it does not have to be thread safe,
+     * moves come in the order the tasks find them
+     * @param consumer where to send moves, null to stop sending them
+     */
+    @Override
+    public void setMoveConsumer(Consumer<? super Move> consumer) {
+        super.setMoveConsumer(consumer);
+        if (consumer == null) {
+            sharedConsumer = null;
+        } else {
+            sharedConsumer = move -> {
+                synchronized (consumer) {
+                    consumer.accept(move);
+                }
+            };
+        }
+    }
+
+    /**
+     * Does nothing, every task makes its own buffers
+     * @param size the size of the board
+     */
+    @Override
+    protected void prepare(int size) {
+    }
+
+    /**
+     * Generate every move through one anchor on the pool
+     * @param row the row of the anchor
+     * @param col the col of the anchor
+     */
+    @Override
+    protected void generate(int row, int col) {
+        int[] anchors = {row * size + col};
+        merge(pool.invoke(new AnchorTask(board, anchors, 0, 1)));
+    }
+
+    /**
+     * Makes the task that searches every anchor of a view, the
+     * cross checks and anchors are brought up to date first so
+     * the tasks only read the board
+     * @param board the view of the board to generate moves on
+     * @return the task for the view
+     */
+    private AnchorTask orientationTask(BoardView board) {
+        board.generateCrossChecks(dict);
+        board.getPotentialAnchorSquares();
+        int size = board.getSize();
+        int count = 0;
+        int[] anchors = new int[size * size];
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (board.isAnchor(row, col)) {
+                    anchors[count++] = row * size + col;
+                }
+            }
+        }
+        return new AnchorTask(board, anchors, 0, count);
+    }
+
+    /**
+     * Searches a range of the anchors of a view, splitting it in half
+     * until it is small enough to search with one generator
+     */
+    private class AnchorTask extends RecursiveTask<MoveGenerator> {
+        private final static long serialVersionUID = 1L;
+        private final BoardView board;
+        private final int[] anchors;
+        private final int from;
+        private final int to;
+
+        /**
+         * Create a task for some anchors of a view
+         * @param board the view of the board to generate moves on
+         * @param anchors the anchors of the view as row * size + col
+         * @param from the index of the first anchor to search
+         * @param to one past the index of the last anchor to search
+         */
+        AnchorTask(BoardView board, int[] anchors, int from, int to) {
+            this.board = board;
+            this.anchors = anchors;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Searches the anchors, the left half wins ties so the
+         * result is the same as searching them in order
+         * @return the generator holding the best move of the anchors
+         */
+        @Override
+        protected MoveGenerator compute() {
+            if (to - from <= ANCHORS_PER_TASK) {
+                MoveGenerator generator = MoveGenerator.create(dict, tray);
+                generator.setLeaveTable(leaves);
+                generator.setPruning(isPruning());
+                generator.copyDeadline(ParallelMoveGenerator.this);
+                generator.setMoveConsumer(sharedConsumer);
+                generator.calcMoves(board, anchors, from, to);
+                return generator;
+            }
+            int middle = (from + to) >>> 1;
+            AnchorTask right = new AnchorTask(board, anchors, middle, to);
+            right.fork();
+            MoveGenerator best = new AnchorTask(board, anchors, from, middle)
+                    .compute();
+            best.merge(right.join());
+            return best;
+        }
+    }
+}
@@ -9,6 +9,7 @@ package scrabble.player;
 import javafx.scene.layout.HBox;
 import scrabble.*;
 
+import java.time.Duration;
 import java.util.List;
 
 public abstract class Player {
@@ -67,6 +68,17 @@ public abstract class Player {
      */
     abstract public int takeTurn(Dictionary dict);
 
+    /**
+     * Takes a turn that has to be done within a time budget, players
+     * that can not stop early take their turn as usual
+     * @param dict the dictionary to use for checking valid plays
+     * @param budget how long the turn can take, null for no limit
+     * @return the same as takeTurn
+     */
+    public int takeTurn(Dictionary dict, Duration budget) {
+        return takeTurn(dict);
+    }
+
     /**
      * Gets the last word that this player played
      * @return the string that was the last word this player played
@@ -0,0 +1,119 @@
+/**
+ * @author Elijah Johnson
+ * @description Keeps the moves with the highest equity given to it
+ * in a bounded heap. Generators ask for the equity a move has to beat
+ * first so moves that would not make the list are never created
+ */
+
+package scrabble.player;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+public class TopMoves implements Consumer<Move> {
+    private final int limit;
+    //Lowest equity on top, ties are broken by the order found
+    private final PriorityQueue<Ranked> heap;
+    private long found;
+
+    /**
+     * Create a list of the best moves
+     * @param limit how many moves to keep, at least one
+     */
+    public TopMoves(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        this.limit = limit;
+        heap = new PriorityQueue<>(limit);
+        found = 0;
+    }
+
+    /**
+     * Gets the equity a move needs to be kept
+     * @return the lowest equity kept once full,
+     * otherwise negative infinity
+     */
+    public double getThreshold() {
+        return (heap.size() < limit ? Double.NEGATIVE_INFINITY
+                : heap.peek().move.getEquity());
+    }
+
+    /**
+     * Adds a move, it only stays if it is one of the best
+     * @param move the move to add
+     */
+    @Override
+    public void accept(Move move) {
+        Ranked ranked = new Ranked(move, found++);
+        if (heap.size() < limit) {
+            heap.add(ranked);
+        } else if (ranked.compareTo(heap.peek()) > 0) {
+            heap.poll();
+            heap.add(ranked);
+        }
+    }
+
+    /**
+     * Gets how many moves are being kept
+     * @return the number of moves
+     */
+    public int size() {
+        return heap.size();
+    }
+
+    /**
+     * Gets the kept moves from highest equity to lowest,
+     * moves with the same equity are in the order they were found
+     * @return the ranked moves
+     */
+    public List<Move> getMoves() {
+        List<Ranked> ranked = new ArrayList<>(heap);
+        ranked.sort(Collections.reverseOrder());
+        List<Move> moves = new ArrayList<>(ranked.size());
+        for (Ranked r : ranked) {
+            moves.add(r.move);
+        }
+        return moves;
+    }
+
+    /**
+     * Forget every kept move
+     */
+    public void clear() {
+        heap.clear();
+        found = 0;
+    }
+
+    /**
+     * A move and when it was found, higher equity ranks higher
+     * and earlier moves rank higher on a tie
+     */
+    private static class Ranked implements Comparable<Ranked> {
+        private final Move move;
+        private final long order;
+
+        /**
+         * Create a ranked move
+         * @param move the move
+         * @param order how many moves were found before it
+         */
+        Ranked(Move move, long order) {
+            this.move = move;
+            this.order = order;
+        }
+
+        /**
+         * Compare by equity then by order found
+         * @param other the move to compare to
+         * @return positive if this move ranks higher
+         */
+        @Override
+        public int compareTo(Ranked other) {
+            if (move.getEquity() != other.move.getEquity()) {
+                return Double.compare(move.getEquity(), other.move.getEquity());
+            }
+            return Long.compare(other.order, order);
+        }
+    }
+}
@@ -331,7 +331,8 @@ public class UserPlayer extends Player {
         //Make sure positions are still sorted
         Collections.sort(currentPositions);
         //Get anchor positions
-        Set<Position> anchors = board.getPotentialAnchorSquares();
+        Set<Position> anchors =
+                board.getView(Board.ACROSS).getPotentialAnchorSquares();
         boolean hasAnchorSomewhere = false;
         Position prev = null;
         //Check that there is an anchor somewhere in the play
@@ -374,65 +375,43 @@ public class UserPlayer extends Player {
         //down by this point
         dir = startPos.getDirection(endPos);
         currentWord = "";
-        Map<Integer, Set<Character>> crossChecks;
         StringBuilder sb = new StringBuilder();
+        BoardView view = null;
         switch (dir) {
             case ACROSS:
-                //Get the cross checks for the board
-                crossChecks = board.generateCrossChecks(dict);
-                for (int i = startPos.getCol(); i <= endPos.getCol(); i++) {
-                    //Check that the letter at [startPos.getRow][i] on the board is valid
-                    Set<Character> cross =
-                            crossChecks.get(startPos.getRow() * board.getSize() + i);
-                    if (cross != null &&
-                            !cross.contains(board.getTile(startPos.getRow(), i)
-                                    .getCharacter())) {
-                        currentPositions.removeAll(otherPos);
-                        otherPos.clear();
-                        //Down words made are not valid
-                        createAndShowAlert(Alert.AlertType.INFORMATION,
-                                "Invalid Move",
-                                "That is not a valid move",
-                                "All sub words are not a word");
-                        return false;
-                    }
-                    //Build up the current word
-                    sb.append(board.getTile(startPos.getRow(), i).getCharacter());
-                }
-                //Get the score of the word
-                lastScore = board.getValue(sb.toString(),
-                        new ArrayList<>(currentMove.keySet()), startPos);
+                view = board.getView(Board.ACROSS);
                 break;
             case DOWN:
-                //Transpose board for down moves
-                board.transpose();
-                //Same as above just with row and col switched because
-                //the board is transposed
-                crossChecks = board.generateCrossChecks(dict);
-                for (int i = startPos.getRow(); i <= endPos.getRow(); i++) {
-                    Set<Character> cross =
-                            crossChecks.get(startPos.getCol() * board.getSize() + i);
-                    if (cross != null &&
-                            !cross.contains(board.getTile(startPos.getCol(), i)
-                                    .getCharacter())) {
-                        currentPositions.removeAll(otherPos);
-                        otherPos.clear();
-                        createAndShowAlert(Alert.AlertType.INFORMATION,
-                                "Invalid Move",
-                                "That is not a valid move",
-                                "All sub words are not a word");
-                        return false;
-                    }
-                    sb.append(board.getTile(startPos.getCol(), i)
-                            .getCharacter());
-                }
-                lastScore = board.getValue(sb.toString(),
-                        new ArrayList<>(currentMove.keySet()),
-                        startPos.transposed());
-                //Make sure board is reset back to normal
-                board.transpose();
+                //Down plays are checked as across plays on the column view
+                view = board.getView(Board.DOWN);
                 break;
         }
+        if (view != null) {
+            Position start = view.fromBoard(startPos);
+            Position end = view.fromBoard(endPos);
+            //Get the cross checks for the view
+            int[] crossChecks = view.generateCrossChecks(dict);
+            for (int i = start.getCol(); i <= end.getCol(); i++) {
+                //Check that the letter at [start.getRow][i] on the board is valid
+                int cross = crossChecks[start.getRow() * view.getSize() + i];
+                if ((cross & Board.letterBit(view.getTile(start.getRow(), i)
+                                .getCharacter())) == 0) {
+                    currentPositions.removeAll(otherPos);
+                    otherPos.clear();
+                    //Cross words made are not valid
+                    createAndShowAlert(Alert.AlertType.INFORMATION,
+                            "Invalid Move",
+                            "That is not a valid move",
+                            "All sub words are not a word");
+                    return false;
+                }
+                //Build up the current word
+                sb.append(view.getTile(start.getRow(), i).getCharacter());
+            }
+            //Get the score of the word
+            lastScore = view.getValue(sb.toString(),
+                    new ArrayList<>(currentMove.keySet()), start);
+        }
         //Get the current word
         currentWord = sb.toString();
         //Check that the word is in the dictionary
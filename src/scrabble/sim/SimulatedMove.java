@@ -0,0 +1,106 @@
+/**
+ * @author Elijah Johnson
+ * @description A candidate move and how it did in the simulation,
+ * each sample is the equity of the move minus the best reply of an
+ * opponent holding a random rack of the unseen tiles
+ */
+
+package scrabble.sim;
+
+import scrabble.player.Move;
+
+public class SimulatedMove {
+    private final Move move;
+    private long samples;
+    private double sum;
+    private double sumOfSquares;
+    private boolean pruned;
+
+    /**
+     * Create a candidate that has not been sampled
+     * @param move the move being simulated
+     */
+    SimulatedMove(Move move) {
+        this.move = move;
+        samples = 0;
+        sum = 0;
+        sumOfSquares = 0;
+        pruned = false;
+    }
+
+    /**
+     * Adds the samples of a finished task
+     * @param samples how many samples the task took
+     * @param sum the sum of the samples
+     * @param sumOfSquares the sum of the squares of the samples
+     */
+    void add(long samples, double sum, double sumOfSquares) {
+        this.samples += samples;
+        this.sum += sum;
+        this.sumOfSquares += sumOfSquares;
+    }
+
+    /**
+     * Stop sampling the move, it can not be the best
+     */
+    void prune() {
+        pruned = true;
+    }
+
+    /**
+     * Gets the move that was simulated
+     * @return the move
+     */
+    public Move getMove() {
+        return move;
+    }
+
+    /**
+     * Gets how many samples were taken
+     * @return the number of samples
+     */
+    public long getSamples() {
+        return samples;
+    }
+
+    /**
+     * Gets the average sample, the move equity minus the reply
+     * @return the mean, the move equity if nothing was sampled
+     */
+    public double getMean() {
+        return (samples == 0 ? move.getEquity() : sum / samples);
+    }
+
+    /**
+     * Gets the standard error of the mean
+     * @return the standard error, infinite with fewer than two samples
+     */
+    public double getStandardError() {
+        if (samples < 2) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double mean = sum / samples;
+        double variance = (sumOfSquares - samples * mean * mean)
+                / (samples - 1);
+        return Math.sqrt(Math.max(variance, 0) / samples);
+    }
+
+    /**
+     * Check if the move was dropped before the simulation ended
+     * @return true if it was pruned
+     */
+    public boolean isPruned() {
+        return pruned;
+    }
+
+    /**
+     * Display the move with its mean and error
+     * @return the move as a string
+     */
+    @Override
+    public String toString() {
+        return String.format("%s mean=%.2f error=%.2f samples=%d%s", move,
+                getMean(), getStandardError(), samples,
+                pruned ? " pruned" : "");
+    }
+}
@@ -0,0 +1,406 @@
+/**
+ * @author Elijah Johnson
+ * @description Monte Carlo simulation of the best candidate moves.
+ * Every sample gives the opponent a random rack of the unseen tiles
+ * and subtracts their best reply from the candidate's equity. Samples
+ * run as small tasks on a fork join pool so idle threads steal work,
+ * and every thread keeps its own copy of the board for each candidate
+ * so nothing is shared while sampling. Rounds of samples run until the
+ * time budget is used or one candidate is clearly the best
+ */
+
+package scrabble.sim;
+
+import scrabble.*;
+import scrabble.Dictionary;
+import scrabble.leave.LeaveTable;
+import scrabble.player.Move;
+import scrabble.player.MoveGenerator;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class Simulator {
+    private final static int DEFAULT_CANDIDATES = 10;
+    private final static Duration DEFAULT_BUDGET = Duration.ofSeconds(3);
+    //Samples each candidate gets per round and per task, rounds
+    //grow so every thread of the pool gets several tasks
+    private final static int SAMPLES_PER_ROUND = 64;
+    private final static int SAMPLES_PER_TASK = 8;
+    private final static int TASKS_PER_THREAD = 4;
+    //Candidates are not pruned until they have this many samples
+    private final static int MIN_SAMPLES = 128;
+    //How many standard errors apart two candidates have to be
+    private final static double CONFIDENCE = 2.0;
+    private final static int RACK_SIZE = 7;
+
+    private final Dictionary dict;
+    private final ForkJoinPool pool;
+    private LeaveTable leaves;
+    private int candidates;
+    private Duration budget;
+    private long maxSamples;
+
+    /**
+     * Create a simulator that runs on the common pool
+     * @param dict the dictionary to generate words from
+     */
+    public Simulator(Dictionary dict) {
+        this(dict, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a simulator
+     * @param dict the dictionary to generate words from
+     * @param pool the pool to sample on
+     */
+    public Simulator(Dictionary dict, ForkJoinPool pool) {
+        this.dict = dict;
+        this.pool = pool;
+        leaves = null;
+        candidates = DEFAULT_CANDIDATES;
+        budget = DEFAULT_BUDGET;
+        maxSamples = Long.MAX_VALUE;
+    }
+
+    /**
+     * Value the tiles kept by candidates and replies
+     * @param leaves the leave values, null to use score alone
+     */
+    public void setLeaveTable(LeaveTable leaves) {
+        this.leaves = leaves;
+    }
+
+    /**
+     * Set how many of the best moves are simulated
+     * @param candidates the number of candidates, at least one
+     */
+    public void setCandidates(int candidates) {
+        this.candidates = Math.max(1, candidates);
+    }
+
+    /**
+     * Set how long a simulation can take
+     * @param budget the time budget
+     */
+    public void setTimeBudget(Duration budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Set the most samples a candidate gets
+     * @param maxSamples the most samples per candidate
+     */
+    public void setMaxSamples(long maxSamples) {
+        this.maxSamples = maxSamples;
+    }
+
+    /**
+     * Gets how many of the best moves are simulated
+     * @return the number of candidates
+     */
+    public int getCandidates() {
+        return candidates;
+    }
+
+    /**
+     * Simulates the best moves for a tray. The board can not change
+     * until the simulation is done
+     * @param board the board to play on
+     * @param tray the tiles of the player to move
+     * @param unseen the tiles the player can not see, the bag and
+     *               the opponent's tray
+     * @return the candidates from the best mean to the worst,
+     * candidates that were never sampled come last
+     */
+    public List<SimulatedMove> simulate(Board board, Tray tray,
+                                        List<Tile> unseen) {
+        long deadline = System.nanoTime() + budget.toNanos();
+        return simulate(board, MoveGenerator.topMoves(dict, tray, board,
+                leaves, candidates), unseen, deadline);
+    }
+
+    /**
+     * Simulates moves that were already found, for players that
+     * generate their own candidates. The board can not change until
+     * the simulation is done
+     * @param board the board to play on
+     * @param moves the candidates to simulate
+     * @param unseen the tiles the player can not see
+     * @param budget how long the simulation can take
+     * @return the candidates from the best mean to the worst,
+     * candidates that were never sampled come last
+     */
+    public List<SimulatedMove> simulate(Board board, List<Move> moves,
+                                        List<Tile> unseen, Duration budget) {
+        return simulate(board, moves, unseen,
+                System.nanoTime() + budget.toNanos());
+    }
+
+    /**
+     * Samples candidates until the deadline
+     * @param board the board to play on
+     * @param moves the candidates to simulate
+     * @param unseen the tiles the player can not see
+     * @param deadline when sampling has to stop as a System.nanoTime
+     * @return the candidates from the best mean to the worst
+     */
+    private List<SimulatedMove> simulate(Board board, List<Move> moves,
+                                         List<Tile> unseen, long deadline) {
+        List<SimulatedMove> results = new ArrayList<>();
+        for (Move move : moves) {
+            results.add(new SimulatedMove(move));
+        }
+        Sampler sampler = new Sampler(board, results, unseen, deadline);
+        while (System.nanoTime() - deadline < 0 && active(results) > 1) {
+            pool.invoke(new RoundTask(sampler, results));
+            prune(results);
+        }
+        //A mean without samples is not comparable to the sampled ones
+        results.sort(Comparator.comparing((SimulatedMove r) ->
+                r.getSamples() == 0).thenComparing(Comparator
+                .comparingDouble(SimulatedMove::getMean).reversed()));
+        return results;
+    }
+
+    /**
+     * Counts the candidates that are still being sampled, candidates
+     * with the most samples allowed stop counting
+     * @param results the candidates
+     * @return how many still need samples
+     */
+    private int active(List<SimulatedMove> results) {
+        int count = 0;
+        for (SimulatedMove result : results) {
+            if (!result.isPruned() && result.getSamples() < maxSamples) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Prunes every candidate whose mean is confidently below
+     * the mean of another candidate
+     * @param results the candidates
+     */
+    private void prune(List<SimulatedMove> results) {
+        double bestLower = Double.NEGATIVE_INFINITY;
+        for (SimulatedMove result : results) {
+            if (!result.isPruned() && result.getSamples() >= MIN_SAMPLES) {
+                bestLower = Math.max(bestLower, result.getMean()
+                        - CONFIDENCE * result.getStandardError());
+            }
+        }
+        for (SimulatedMove result : results) {
+            if (!result.isPruned() && result.getSamples() >= MIN_SAMPLES
+                    && result.getMean() + CONFIDENCE
+                    * result.getStandardError() < bestLower) {
+                result.prune();
+            }
+        }
+    }
+
+    /**
+     * One round of samples for every candidate still being sampled,
+     * split into small tasks for the pool to balance
+     */
+    private class RoundTask extends RecursiveAction {
+        private final static long serialVersionUID = 1L;
+        private final Sampler sampler;
+        private final List<SimulatedMove> results;
+
+        /**
+         * Create a round
+         * @param sampler the sampler for the simulation
+         * @param results the candidates
+         */
+        RoundTask(Sampler sampler, List<SimulatedMove> results) {
+            this.sampler = sampler;
+            this.results = results;
+        }
+
+        /**
+         * Runs the sample tasks and adds them to their candidates
+         */
+        @Override
+        protected void compute() {
+            List<SampleTask> tasks = new ArrayList<>();
+            int perCandidate = Math.max(SAMPLES_PER_ROUND, TASKS_PER_THREAD
+                    * SAMPLES_PER_TASK * pool.getParallelism()
+                    / active(results));
+            //Candidates take turns so they all get samples if time runs out
+            for (long n = 0; n < perCandidate; n += SAMPLES_PER_TASK) {
+                for (int i = 0; i < results.size(); i++) {
+                    SimulatedMove result = results.get(i);
+                    long wanted = Math.min(perCandidate,
+                            maxSamples - result.getSamples());
+                    if (!result.isPruned() && n < wanted) {
+                        tasks.add(new SampleTask(sampler, i, (int) Math.min(
+                                SAMPLES_PER_TASK, wanted - n)));
+                    }
+                }
+            }
+            invokeAll(tasks);
+            for (SampleTask task : tasks) {
+                double[] stats = task.join();
+                results.get(task.candidate).add((long) stats[0], stats[1],
+                        stats[2]);
+            }
+        }
+    }
+
+    /**
+     * A few samples of one candidate
+     */
+    private static class SampleTask extends RecursiveTask<double[]> {
+        private final static long serialVersionUID = 1L;
+        private final Sampler sampler;
+        private final int candidate;
+        private final int samples;
+
+        /**
+         * Create a task
+         * @param sampler the sampler for the simulation
+         * @param candidate the index of the candidate
+         * @param samples how many samples to take
+         */
+        SampleTask(Sampler sampler, int candidate, int samples) {
+            this.sampler = sampler;
+            this.candidate = candidate;
+            this.samples = samples;
+        }
+
+        /**
+         * Takes the samples, stopping early if the time is up
+         * @return the count, sum and sum of squares of the samples
+         */
+        @Override
+        protected double[] compute() {
+            Sampler.Worker worker = sampler.workers.get();
+            double[] stats = new double[3];
+            for (int i = 0; i < samples
+                    && System.nanoTime() < sampler.deadline; i++) {
+                double value = worker.sample(candidate);
+                stats[0]++;
+                stats[1] += value;
+                stats[2] += value * value;
+            }
+            return stats;
+        }
+    }
+
+    /**
+     * Everything the samples of one simulation read, and the
+     * state each thread keeps for itself
+     */
+    private class Sampler {
+        private final Board board;
+        private final List<SimulatedMove> results;
+        private final Tile[] unseen;
+        private final long deadline;
+        private final ThreadLocal<Worker> workers;
+
+        /**
+         * Create a sampler
+         * @param board the board to play on, it is only read
+         * @param results the candidates
+         * @param unseen the tiles the opponent could have
+         * @param deadline when sampling has to stop
+         */
+        Sampler(Board board, List<SimulatedMove> results, List<Tile> unseen,
+                long deadline) {
+            this.board = board;
+            this.results = results;
+            this.unseen = unseen.toArray(new Tile[0]);
+            this.deadline = deadline;
+            workers = ThreadLocal.withInitial(Worker::new);
+        }
+
+        /**
+         * The boards, generator and tiles of one thread
+         */
+        private class Worker {
+            //The board after each candidate, copied when first needed
+            private final Board[] boards;
+            private final Tile[] bag;
+            private final List<Tile> rack;
+            private final Tray tray;
+            private final MoveGenerator generator;
+
+            /**
+             * Create the state for the current thread
+             */
+            Worker() {
+                boards = new Board[results.size()];
+                bag = unseen.clone();
+                rack = new ArrayList<>(RACK_SIZE);
+                tray = new Tray();
+                tray.setTiles(rack);
+                generator = MoveGenerator.create(dict, tray);
+                generator.setLeaveTable(leaves);
+            }
+
+            /**
+             * Gets the board with a candidate played on it
+             * @param candidate the index of the candidate
+             * @return this thread's copy of the board
+             */
+            private Board boardFor(int candidate) {
+                if (boards[candidate] == null) {
+                    Move move = results.get(candidate).getMove();
+                    Board copy = new Board(board);
+                    TileManager manager = board.getTileManager();
+                    List<Tile> tiles = new ArrayList<>();
+                    for (int i = 0; i < move.getLength(); i++) {
+                        if (move.isPlaced(i)) {
+                            char c = move.getWord().charAt(i);
+                            tiles.add(new Tile(c, move.isBlank(i) ? 0
+                                    : manager.getTileValue(c)));
+                        }
+                    }
+                    copy.playWord(move.getWord(), tiles, move.getStartPos(),
+                            move.getEndPos());
+                    boards[candidate] = copy;
+                }
+                return boards[candidate];
+            }
+
+            /**
+             * Plays the opponent's best reply to a candidate with a
+             * random rack, the tiles the candidate draws are drawn first
+             * @param candidate the index of the candidate
+             * @return the candidate's equity minus the reply's score
+             */
+            private double sample(int candidate) {
+                Move move = results.get(candidate).getMove();
+                int drawn = Math.min(Long.bitCount(move.getPlaced()),
+                        bag.length);
+                int end = Math.min(drawn + RACK_SIZE, bag.length);
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                //Shuffle just the tiles that get drawn to the front
+                for (int i = 0; i < end; i++) {
+                    int j = i + random.nextInt(bag.length - i);
+                    Tile t = bag[i];
+                    bag[i] = bag[j];
+                    bag[j] = t;
+                }
+                rack.clear();
+                for (int i = drawn; i < end; i++) {
+                    rack.add(bag[i]);
+                }
+                Board after = boardFor(candidate);
+                generator.reset();
+                generator.calcMoves(after.getView(Board.ACROSS));
+                generator.calcMoves(after.getView(Board.DOWN));
+                int reply = (generator.hasMove()
+                        ? generator.getHighestScoring() : 0);
+                return move.getEquity() - reply;
+            }
+        }
+    }
+}